@@ -0,0 +1,9 @@
+package com.example.raid_hub.cache;
+
+/** 다른 노드의 로컬 캐시에 무효화를 알리는 통로. */
+public interface CacheInvalidationPublisher {
+
+  void evict(String cacheName, Object key);
+
+  void clear(String cacheName);
+}
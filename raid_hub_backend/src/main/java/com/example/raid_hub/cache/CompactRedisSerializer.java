@@ -0,0 +1,179 @@
+package com.example.raid_hub.cache;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 캐시 값용 압축 바이너리 직렬화기.
+ *
+ * <p>재생목록 응답은 {@link PlaylistBinaryCodec}으로, 그 밖의 타입은 기존 JSON 직렬화기로 인코딩한다. 결과가 임계값보다 크면 Deflate로
+ * 압축한다. 바이너리 값은 JSON이 시작할 수 없는 매직 바이트로 시작하므로, 이 직렬화기로 바꾸기 전에 저장된 JSON 값도 그대로 읽을 수 있다.
+ *
+ * <pre>
+ * [MAGIC][FORMAT] payload                      FORMAT: 1=playlist, 2=json
+ * [MAGIC][FORMAT|COMPRESSED] rawLength deflated
+ * </pre>
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+  private static final byte MAGIC = (byte) 0xB7;
+  private static final int FORMAT_PLAYLIST = 1;
+  private static final int FORMAT_JSON = 2;
+  private static final int COMPRESSED = 0x80;
+  private static final int HEADER_SIZE = 2;
+  // 압축 해제 크기 상한: 헤더의 길이를 믿고 그만큼 배열을 잡지 않도록 한다
+  static final int MAX_RAW_LENGTH = 16 * 1024 * 1024;
+
+  private final GenericJackson2JsonRedisSerializer jsonSerializer =
+      new GenericJackson2JsonRedisSerializer();
+  private final int compressionThreshold;
+
+  /**
+   * @param compressionThreshold 이 크기(byte)를 넘는 값만 압축한다. 0 이하이면 압축하지 않는다.
+   */
+  public CompactRedisSerializer(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+
+    int format;
+    byte[] payload;
+    if (value instanceof YouTubePlaylistItemsResponse response) {
+      format = FORMAT_PLAYLIST;
+      payload = PlaylistBinaryCodec.encode(response);
+    } else {
+      format = FORMAT_JSON;
+      payload = jsonSerializer.serialize(value);
+    }
+
+    if (compressionThreshold > 0 && payload.length > compressionThreshold) {
+      return compress(format, payload);
+    }
+    byte[] bytes = new byte[HEADER_SIZE + payload.length];
+    bytes[0] = MAGIC;
+    bytes[1] = (byte) format;
+    System.arraycopy(payload, 0, bytes, HEADER_SIZE, payload.length);
+    return bytes;
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes[0] != MAGIC) {
+      // 이전에 JSON으로 저장된 값
+      return jsonSerializer.deserialize(bytes);
+    }
+    if (bytes.length < HEADER_SIZE) {
+      throw new SerializationException("Truncated cache entry");
+    }
+
+    int header = bytes[1] & 0xFF;
+    int format = header & ~COMPRESSED;
+    byte[] payload;
+    int offset;
+    int length;
+    if ((header & COMPRESSED) != 0) {
+      payload = decompress(bytes);
+      offset = 0;
+      length = payload.length;
+    } else {
+      payload = bytes;
+      offset = HEADER_SIZE;
+      length = bytes.length - HEADER_SIZE;
+    }
+
+    try {
+      return switch (format) {
+        case FORMAT_PLAYLIST -> PlaylistBinaryCodec.decode(payload, offset, length);
+        case FORMAT_JSON ->
+            jsonSerializer.deserialize(
+                offset == 0 && length == payload.length
+                    ? payload
+                    : Arrays.copyOfRange(payload, offset, offset + length));
+        default -> throw new SerializationException("Unknown cache entry format: " + format);
+      };
+    } catch (IllegalArgumentException ex) {
+      throw new SerializationException("Corrupted cache entry", ex);
+    }
+  }
+
+  private byte[] compress(int format, byte[] payload) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4 + 16);
+      out.write(MAGIC);
+      out.write(format | COMPRESSED);
+      writeInt(out, payload.length);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        int n = deflater.deflate(buffer);
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private byte[] decompress(byte[] bytes) {
+    int rawLength = readInt(bytes, HEADER_SIZE);
+    if (rawLength < 0 || rawLength > MAX_RAW_LENGTH) {
+      throw new SerializationException("Invalid compressed cache entry length: " + rawLength);
+    }
+    int dataOffset = HEADER_SIZE + Integer.BYTES;
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, dataOffset, bytes.length - dataOffset);
+      byte[] raw = new byte[rawLength];
+      int read = 0;
+      while (read < rawLength) {
+        int n = inflater.inflate(raw, read, rawLength - read);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          break;
+        }
+        read += n;
+      }
+      if (read != rawLength) {
+        throw new SerializationException("Truncated compressed cache entry");
+      }
+      return raw;
+    } catch (DataFormatException ex) {
+      throw new SerializationException("Corrupted compressed cache entry", ex);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    if (bytes.length < offset + Integer.BYTES) {
+      throw new SerializationException("Truncated compressed cache entry");
+    }
+    return ((bytes[offset] & 0xFF) << 24)
+        | ((bytes[offset + 1] & 0xFF) << 16)
+        | ((bytes[offset + 2] & 0xFF) << 8)
+        | (bytes[offset + 3] & 0xFF);
+  }
+}
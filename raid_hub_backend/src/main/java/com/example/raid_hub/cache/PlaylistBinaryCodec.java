@@ -0,0 +1,155 @@
+package com.example.raid_hub.cache;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItem;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link YouTubePlaylistItemsResponse} 전용 바이너리 인코딩.
+ *
+ * <p>필드 순서가 고정된 스키마이므로 필드 이름이나 타입 정보를 쓰지 않는다. 문자열은 (길이+1) varint + UTF-8 (0은 null), 정수는 (존재 여부 +
+ * zigzag varint)로 기록한다. 스키마가 바뀌면 {@link #VERSION}을 올리고 이전 버전 값은 캐시 미스로 취급한다.
+ */
+final class PlaylistBinaryCodec {
+
+  static final int VERSION = 1;
+
+  // 항목 하나는 문자열 5개(null이면 1바이트씩)와 정수 1개(null이면 1바이트)로 최소 6바이트를 차지한다
+  private static final int MIN_ITEM_BYTES = 6;
+
+  private PlaylistBinaryCodec() {}
+
+  static byte[] encode(YouTubePlaylistItemsResponse response) {
+    Writer out = new Writer(64 + response.items().size() * 160);
+    out.varint(VERSION);
+    out.string(response.playlistId());
+    out.string(response.nextPageToken());
+    out.nullableInt(response.totalResults());
+    out.varint(response.items().size());
+    for (YouTubePlaylistItem item : response.items()) {
+      out.string(item.videoId());
+      out.string(item.title());
+      out.string(item.channelTitle());
+      out.string(item.thumbnailUrl());
+      out.nullableInt(item.position());
+      out.string(item.publishedAt());
+    }
+    return out.toByteArray();
+  }
+
+  /** 지원하지 않는 버전이면 null을 반환한다. */
+  static YouTubePlaylistItemsResponse decode(byte[] bytes, int offset, int length) {
+    Reader in = new Reader(bytes, offset, offset + length);
+    if (in.varint() != VERSION) {
+      return null;
+    }
+    String playlistId = in.string();
+    String nextPageToken = in.string();
+    Integer totalResults = in.nullableInt();
+    int count = in.varint();
+    if (count < 0 || count > in.remaining() / MIN_ITEM_BYTES) {
+      // 손상된 값의 항목 수로 큰 배열을 먼저 잡지 않도록 남은 바이트로 가능한 최대치와 비교한다
+      throw new IllegalArgumentException("Invalid item count in playlist cache entry: " + count);
+    }
+    List<YouTubePlaylistItem> items = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      items.add(
+          new YouTubePlaylistItem(
+              in.string(), in.string(), in.string(), in.string(), in.nullableInt(), in.string()));
+    }
+    return new YouTubePlaylistItemsResponse(playlistId, nextPageToken, totalResults, items);
+  }
+
+  private static final class Writer extends ByteArrayOutputStream {
+
+    private Writer(int initialSize) {
+      super(initialSize);
+    }
+
+    private void varint(int value) {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    private void string(String value) {
+      if (value == null) {
+        varint(0);
+        return;
+      }
+      byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      varint(utf8.length + 1);
+      write(utf8, 0, utf8.length);
+    }
+
+    private void nullableInt(Integer value) {
+      if (value == null) {
+        write(0);
+        return;
+      }
+      write(1);
+      varint((value << 1) ^ (value >> 31));
+    }
+  }
+
+  private static final class Reader {
+    private final byte[] bytes;
+    private final int limit;
+    private int position;
+
+    private Reader(byte[] bytes, int offset, int limit) {
+      this.bytes = bytes;
+      this.position = offset;
+      this.limit = limit;
+    }
+
+    private int remaining() {
+      return limit - position;
+    }
+
+    private int readByte() {
+      if (position >= limit) {
+        throw new IllegalArgumentException("Truncated playlist cache entry");
+      }
+      return bytes[position++] & 0xFF;
+    }
+
+    private int varint() {
+      int result = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        int b = readByte();
+        result |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in playlist cache entry");
+    }
+
+    private String string() {
+      int length = varint() - 1;
+      if (length < 0) {
+        return null;
+      }
+      if (length > limit - position) {
+        throw new IllegalArgumentException("Truncated playlist cache entry");
+      }
+      String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    private Integer nullableInt() {
+      if (readByte() == 0) {
+        return null;
+      }
+      int zigzag = varint();
+      return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+  }
+}
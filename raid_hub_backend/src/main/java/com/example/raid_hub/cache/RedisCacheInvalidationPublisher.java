@@ -0,0 +1,64 @@
+package com.example.raid_hub.cache;
+
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Redis pub/sub으로 로컬 캐시 무효화를 주고받는다.
+ *
+ * <p>메시지 형식은 {@code nodeId|cacheName|key} 이며 key가 비어 있으면 캐시 전체 무효화이다. 자기 노드가 보낸 메시지는 무시한다. pub/sub은
+ * 전달을 보장하지 않으므로, 메시지를 놓친 노드도 로컬 TTL이 지나면 Redis 값으로 돌아온다.
+ */
+@Slf4j
+public class RedisCacheInvalidationPublisher
+    implements CacheInvalidationPublisher, MessageListener {
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final StringRedisTemplate redisTemplate;
+  private final String channel;
+  private TwoLevelCacheManager cacheManager;
+
+  public RedisCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+  }
+
+  public void setCacheManager(TwoLevelCacheManager cacheManager) {
+    this.cacheManager = cacheManager;
+  }
+
+  @Override
+  public void evict(String cacheName, Object key) {
+    publish(cacheName, String.valueOf(key));
+  }
+
+  @Override
+  public void clear(String cacheName) {
+    publish(cacheName, "");
+  }
+
+  private void publish(String cacheName, String key) {
+    try {
+      redisTemplate.convertAndSend(channel, nodeId + "|" + cacheName + "|" + key);
+    } catch (RuntimeException ex) {
+      // 무효화 실패로 요청을 실패시키지는 않는다 (다른 노드는 로컬 TTL 후 회복)
+      log.warn("Failed to publish cache invalidation for {}: {}", cacheName, ex.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = redisTemplate.getStringSerializer().deserialize(message.getBody());
+    if (body == null || cacheManager == null) {
+      return;
+    }
+    String[] parts = body.split("\\|", 3);
+    if (parts.length < 3 || nodeId.equals(parts[0])) {
+      return;
+    }
+    cacheManager.onRemoteInvalidation(parts[1], parts[2].isEmpty() ? null : parts[2]);
+  }
+}
@@ -0,0 +1,172 @@
+package com.example.raid_hub.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * 로컬(L1, Caffeine) + 원격(L2, Redis) 2단계 캐시.
+ *
+ * <p>조회는 L1 → L2 순서이며 L2 적중 값은 L1에 채워 둔다. 쓰기/삭제는 L2에 먼저 반영한 뒤 L1을 갱신하고, 다른 노드의 L1이 오래된 값을 들고 있지 않도록
+ * 무효화 메시지를 발행한다.
+ */
+public class TwoLevelCache implements Cache {
+
+  private final String name;
+  private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+  private final Cache remote;
+  private final CacheInvalidationPublisher publisher;
+  private final Counter remoteHits;
+  private final Counter remoteMisses;
+
+  TwoLevelCache(
+      String name,
+      com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+      Cache remote,
+      CacheInvalidationPublisher publisher,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+    this.publisher = publisher;
+    this.remoteHits = remoteCounter(meterRegistry, name, "hit");
+    this.remoteMisses = remoteCounter(meterRegistry, name, "miss");
+  }
+
+  private static Counter remoteCounter(MeterRegistry registry, String cacheName, String result) {
+    return Counter.builder("cache.remote.gets")
+        .description("Lookups that missed the local cache and went to Redis")
+        .tag("cache", cacheName)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return local;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    Object value = local.getIfPresent(key);
+    if (value != null) {
+      return new SimpleValueWrapper(value);
+    }
+
+    ValueWrapper wrapper = remote.get(key);
+    if (wrapper == null || wrapper.get() == null) {
+      remoteMisses.increment();
+      return null;
+    }
+    remoteHits.increment();
+    local.put(key, wrapper.get());
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper != null ? wrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    Object cached = local.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+
+    AtomicBoolean loaded = new AtomicBoolean();
+    T value =
+        remote.get(
+            key,
+            () -> {
+              loaded.set(true);
+              return valueLoader.call();
+            });
+    if (value != null) {
+      local.put(key, value);
+    }
+    if (loaded.get()) {
+      remoteMisses.increment();
+      publisher.evict(name, key);
+    } else {
+      remoteHits.increment();
+    }
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    if (value == null) {
+      evict(key);
+      return;
+    }
+    remote.put(key, value);
+    local.put(key, value);
+    publisher.evict(name, key);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = remote.putIfAbsent(key, value);
+    if (existing != null && existing.get() != null) {
+      local.put(key, existing.get());
+      return existing;
+    }
+    if (value != null) {
+      local.put(key, value);
+      publisher.evict(name, key);
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    local.invalidate(key);
+    publisher.evict(name, key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean present = remote.evictIfPresent(key);
+    local.invalidate(key);
+    publisher.evict(name, key);
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    local.invalidateAll();
+    publisher.clear(name);
+  }
+
+  /** 다른 노드에서 변경된 키를 로컬 캐시에서만 제거한다. */
+  void invalidateLocal(String key) {
+    if (local.asMap().remove(key) == null) {
+      // 문자열이 아닌 키는 문자열 표현으로 비교한다
+      local.asMap().keySet().removeIf(candidate -> String.valueOf(candidate).equals(key));
+    }
+  }
+
+  void invalidateLocalAll() {
+    local.invalidateAll();
+  }
+}
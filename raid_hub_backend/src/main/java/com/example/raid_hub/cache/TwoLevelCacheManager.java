@@ -0,0 +1,103 @@
+package com.example.raid_hub.cache;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * 원격 CacheManager(Redis) 앞에 캐시 이름마다 Caffeine 로컬 캐시를 붙인다.
+ *
+ * <p>로컬 캐시는 값의 크기(재생목록 항목 수 등)를 가중치로 삼아 용량을 제한하고, 원격 TTL보다 오래 살지 않도록 expireAfterWrite를 둔다.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+  private final CacheManager remoteCacheManager;
+  private final CacheInvalidationPublisher publisher;
+  private final MeterRegistry meterRegistry;
+  private final long localMaximumWeight;
+  private final Duration localTtl;
+  private final Map<String, Duration> localTtlOverrides = new ConcurrentHashMap<>();
+  private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+  public TwoLevelCacheManager(
+      CacheManager remoteCacheManager,
+      CacheInvalidationPublisher publisher,
+      MeterRegistry meterRegistry,
+      long localMaximumWeight,
+      Duration localTtl) {
+    this.remoteCacheManager = remoteCacheManager;
+    this.publisher = publisher;
+    this.meterRegistry = meterRegistry;
+    this.localMaximumWeight = localMaximumWeight;
+    this.localTtl = localTtl;
+  }
+
+  /** 원격 TTL이 기본값보다 짧은 캐시는 로컬 TTL도 그에 맞춰 줄인다. 캐시가 처음 만들어지기 전에 호출해야 한다. */
+  public void setLocalTimeToLive(String cacheName, Duration ttl) {
+    localTtlOverrides.put(cacheName, ttl.compareTo(localTtl) < 0 ? ttl : localTtl);
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    return caches.computeIfAbsent(name, this::createCache);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return List.copyOf(caches.keySet());
+  }
+
+  /** 다른 노드에서 보낸 무효화 메시지를 반영한다. key가 null이면 캐시 전체를 비운다. */
+  public void onRemoteInvalidation(String cacheName, String key) {
+    TwoLevelCache cache = caches.get(cacheName);
+    if (cache == null) {
+      return;
+    }
+    if (key == null) {
+      cache.invalidateLocalAll();
+    } else {
+      cache.invalidateLocal(key);
+    }
+  }
+
+  private TwoLevelCache createCache(String name) {
+    Cache remote = remoteCacheManager.getCache(name);
+    if (remote == null) {
+      throw new IllegalStateException("No remote cache named " + name);
+    }
+
+    com.github.benmanes.caffeine.cache.Cache<Object, Object> local =
+        Caffeine.newBuilder()
+            .maximumWeight(localMaximumWeight)
+            .weigher((Object key, Object value) -> weigh(value))
+            .expireAfterWrite(localTtlOverrides.getOrDefault(name, localTtl))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "local"));
+
+    return new TwoLevelCache(name, local, remote, publisher, meterRegistry);
+  }
+
+  // 대략적인 크기 가중치: 재생목록은 항목 수, 컬렉션은 원소 수, 그 외는 1
+  static int weigh(Object value) {
+    if (value instanceof YouTubePlaylistItemsResponse response && response.items() != null) {
+      return 1 + response.items().size();
+    }
+    if (value instanceof Collection<?> collection) {
+      return 1 + collection.size();
+    }
+    if (value instanceof Map<?, ?> map) {
+      return 1 + map.size();
+    }
+    return 1;
+  }
+}
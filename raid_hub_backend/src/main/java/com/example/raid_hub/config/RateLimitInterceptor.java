@@ -1,5 +1,6 @@
 package com.example.raid_hub.config;
 
+import com.example.raid_hub.service.CheatSheetStorage;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
@@ -15,9 +16,15 @@ import org.springframework.web.servlet.HandlerInterceptor;
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
 
+  // 로그 묶음 전송 요청에 붙여 두는 IP별 로그 버킷 (컨트롤러가 이벤트마다 1개씩 소비)
+  public static final String LOG_BUCKET_ATTRIBUTE =
+      RateLimitInterceptor.class.getName() + ".logBucket";
+  private static final String LOG_BATCH_PATH = "/api/stats/log/batch";
+
   // IP별로 버킷을 저장하는 저장소
   private final Map<String, Bucket> generalBuckets = new ConcurrentHashMap<>();
   private final Map<String, Bucket> logBuckets = new ConcurrentHashMap<>();
+  private final Map<String, Bucket> imageBuckets = new ConcurrentHashMap<>();
 
   // 전체 API용 버킷 생성 (1분당 100회)
   private Bucket createGeneralBucket() {
@@ -33,14 +40,41 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         .build();
   }
 
+  // 이미지 전용 버킷 생성 (1분당 600회, 목록 화면 하나가 이미지를 수십 장 불러옴)
+  private Bucket createImageBucket() {
+    return Bucket.builder()
+        .addLimit(Bandwidth.classic(600, Refill.greedy(600, Duration.ofMinutes(1))))
+        .build();
+  }
+
   @Override
   public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
       throws Exception {
     String ip = getClientIP(request);
     String path = request.getRequestURI();
 
+    // 0. 이미지 요청은 API 공통 제한과 별도로 센다
+    if (path.startsWith(CheatSheetStorage.URL_PREFIX)) {
+      Bucket imageBucket = imageBuckets.computeIfAbsent(ip, k -> createImageBucket());
+      if (!imageBucket.tryConsume(1)) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.getWriter().write("Too many image requests. Please wait a minute.");
+        return false;
+      }
+      return true;
+    }
+
     // 1. 로그 수집 API 전용 제한 체크
-    if (path.startsWith("/api/stats/log")) {
+    if (path.startsWith(LOG_BATCH_PATH)) {
+      // 묶음 전송은 요청이 아니라 이벤트 수만큼 컨트롤러에서 소비한다
+      Bucket logBucket = logBuckets.computeIfAbsent(ip, k -> createLogBucket());
+      if (logBucket.getAvailableTokens() < 1) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.getWriter().write("Too many logging requests. Please wait a minute.");
+        return false;
+      }
+      request.setAttribute(LOG_BUCKET_ATTRIBUTE, logBucket);
+    } else if (path.startsWith("/api/stats/log")) {
       Bucket logBucket = logBuckets.computeIfAbsent(ip, k -> createLogBucket());
       if (!logBucket.tryConsume(1)) {
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
@@ -1,10 +1,24 @@
 package com.example.raid_hub.config;
 
+import com.example.raid_hub.cache.CompactRedisSerializer;
+import com.example.raid_hub.cache.RedisCacheInvalidationPublisher;
+import com.example.raid_hub.cache.TwoLevelCacheManager;
+import com.example.raid_hub.service.YouTubePlaylistService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -12,13 +26,95 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 @Configuration
 public class RedisCacheConfig {
 
+  @Value("${cache.local.invalidation-channel:raidhub:cache:invalidate}")
+  private String invalidationChannel;
+
   @Bean
-  public RedisCacheConfiguration redisCacheConfiguration() {
+  public RedisCacheConfiguration redisCacheConfiguration(
+      @Value("${spring.cache.redis.time-to-live:3h}") Duration ttl) {
     return RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofHours(3)) // 기본 3시간 유지
+        .entryTtl(ttl) // 기본 3시간 유지 (refresh-ahead 갱신 주기도 이 값을 기준으로 한다)
         .disableCachingNullValues()
         .serializeValuesWith(
             RedisSerializationContext.SerializationPair.fromSerializer(
                 new GenericJackson2JsonRedisSerializer()));
   }
+
+  @Bean
+  public RedisCacheInvalidationPublisher cacheInvalidationPublisher(
+      StringRedisTemplate stringRedisTemplate) {
+    return new RedisCacheInvalidationPublisher(stringRedisTemplate, invalidationChannel);
+  }
+
+  // Redis(L2) 앞에 노드별 로컬(L1) 캐시를 두는 2단계 CacheManager
+  @Bean
+  public TwoLevelCacheManager cacheManager(
+      RedisConnectionFactory connectionFactory,
+      RedisCacheConfiguration redisCacheConfiguration,
+      RedisCacheInvalidationPublisher invalidationPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${cache.local.maximum-weight:20000}") long localMaximumWeight,
+      @Value("${cache.local.time-to-live:10m}") Duration localTtl,
+      @Value("${spring.cache.redis.time-to-live:3h}") Duration remoteTtl,
+      @Value("${cache.redis.binary-caches:}") List<String> binaryCaches,
+      @Value("${cache.redis.compression-threshold:1024}") int compressionThreshold,
+      @Value("${youtube.page-cache.time-to-live:15m}") Duration pageTtl,
+      @Value("${youtube.stale-cache.time-to-live:7d}") Duration staleTtl) {
+    RedisCacheManager.RedisCacheManagerBuilder builder =
+        RedisCacheManager.builder(connectionFactory).cacheDefaults(redisCacheConfiguration);
+
+    // 지정한 캐시만 압축 바이너리 포맷으로 저장한다 (기존 JSON 값도 그대로 읽힌다)
+    RedisCacheConfiguration binaryConfiguration =
+        redisCacheConfiguration.serializeValuesWith(
+            RedisSerializationContext.SerializationPair.fromSerializer(
+                new CompactRedisSerializer(compressionThreshold)));
+    Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+    for (String cacheName : binaryCaches) {
+      if (!cacheName.isBlank()) {
+        cacheConfigurations.put(cacheName.trim(), binaryConfiguration);
+      }
+    }
+
+    // 페이지 단위 재생목록 캐시는 더 짧게 유지한다
+    cacheConfigurations.put(
+        YouTubePlaylistService.YOUTUBE_PLAYLIST_PAGE_CACHE,
+        cacheConfigurations
+            .getOrDefault(
+                YouTubePlaylistService.YOUTUBE_PLAYLIST_PAGE_CACHE, redisCacheConfiguration)
+            .entryTtl(pageTtl));
+    // 업스트림 장애 시 대신 제공할 마지막 성공 응답은 오래 보관한다
+    cacheConfigurations.put(
+        YouTubePlaylistService.YOUTUBE_PLAYLIST_STALE_CACHE,
+        cacheConfigurations
+            .getOrDefault(
+                YouTubePlaylistService.YOUTUBE_PLAYLIST_STALE_CACHE, redisCacheConfiguration)
+            .entryTtl(staleTtl));
+    builder.withInitialCacheConfigurations(cacheConfigurations);
+
+    RedisCacheManager redisCacheManager = builder.build();
+    redisCacheManager.afterPropertiesSet();
+
+    // 로컬 캐시가 Redis 값보다 오래 남지 않도록 한다
+    Duration effectiveLocalTtl = localTtl.compareTo(remoteTtl) < 0 ? localTtl : remoteTtl;
+    TwoLevelCacheManager cacheManager =
+        new TwoLevelCacheManager(
+            redisCacheManager,
+            invalidationPublisher,
+            meterRegistry,
+            localMaximumWeight,
+            effectiveLocalTtl);
+    cacheManager.setLocalTimeToLive(YouTubePlaylistService.YOUTUBE_PLAYLIST_PAGE_CACHE, pageTtl);
+    invalidationPublisher.setCacheManager(cacheManager);
+    return cacheManager;
+  }
+
+  @Bean
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      RedisCacheInvalidationPublisher invalidationPublisher) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(invalidationPublisher, new ChannelTopic(invalidationChannel));
+    return container;
+  }
 }
@@ -1,9 +1,22 @@
 package com.example.raid_hub.controller;
 
+import com.example.raid_hub.config.RateLimitInterceptor;
+import com.example.raid_hub.dto.ActivityMonthStats;
+import com.example.raid_hub.dto.ActivityWindowStats;
 import com.example.raid_hub.entity.UserActivity;
 import com.example.raid_hub.service.UserActivityService;
+import com.example.raid_hub.service.UserActivityService.LogBatchResult;
+import io.github.bucket4j.Bucket;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,11 +26,38 @@ import org.springframework.web.bind.annotation.*;
 public class AdminStatsController {
   private final UserActivityService service;
 
-  // 활동 로그 기록 (Public)
+  // 활동 로그 기록 (Public). 큐에 넣고 바로 202, 큐가 가득 차면 503
   @PostMapping("/log")
   public ResponseEntity<Void> logActivity(@RequestBody UserActivity activity) {
-    service.logActivity(activity);
-    return ResponseEntity.ok().build();
+    if (!service.logActivity(activity)) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+    return ResponseEntity.accepted().build();
+  }
+
+  /**
+   * 활동 로그 묶음 기록 (Public). JSON 배열 또는 NDJSON 본문을 받으며, rate limit은 요청이 아니라 이벤트 수로 센다.
+   *
+   * <p>한도에 걸리면 그때까지 받은 이벤트만 기록하고 결과에 truncated를 표시한다.
+   */
+  @PostMapping(
+      value = "/log/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<LogBatchResult> logActivities(HttpServletRequest request)
+      throws IOException {
+    Bucket logBucket = (Bucket) request.getAttribute(RateLimitInterceptor.LOG_BUCKET_ATTRIBUTE);
+    LogBatchResult result;
+    try (InputStream body = request.getInputStream()) {
+      result = service.logActivities(body, () -> logBucket == null || logBucket.tryConsume(1));
+    }
+
+    if (result.accepted() == 0 && result.truncated()) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(result);
+    }
+    if (result.accepted() == 0 && result.dropped() > 0) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+    }
+    return ResponseEntity.accepted().body(result);
   }
 
   // 대시보드 데이터 조회 (Admin Only)
@@ -25,4 +65,25 @@ public class AdminStatsController {
   public ResponseEntity<Map<String, Object>> getDashboardStats() {
     return ResponseEntity.ok(service.getDashboardStats());
   }
+
+  // 최근 구간 인기 대상/검색어 추정값 (Admin Only)
+  @GetMapping("/realtime")
+  public ResponseEntity<Map<String, Object>> getRealtimeStats() {
+    return ResponseEntity.ok(service.getRealtimeStats());
+  }
+
+  // 최근 1시간/24시간/7일 통계와 직전 구간 대비 변화 (Admin Only)
+  @GetMapping("/windows")
+  public ResponseEntity<List<ActivityWindowStats>> getWindowStats() {
+    return ResponseEntity.ok(service.getWindowStats());
+  }
+
+  // 월별 통계 (yyyy-MM, 최대 24개월). 보관된 달은 보관 파일에서 읽는다 (Admin Only)
+  @GetMapping("/history")
+  public ResponseEntity<List<ActivityMonthStats>> getHistory(
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to)
+      throws IOException {
+    return ResponseEntity.ok(service.getHistory(from, to));
+  }
 }
@@ -1,10 +1,16 @@
 package com.example.raid_hub.controller;
 
+import com.example.raid_hub.dto.CheatSheetCard;
+import com.example.raid_hub.dto.CursorPage;
 import com.example.raid_hub.entity.CheatSheet;
+import com.example.raid_hub.service.CatalogSnapshotService;
 import com.example.raid_hub.service.CheatSheetService;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -15,6 +21,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class CheatSheetController {
 
   private final CheatSheetService cheatSheetService;
+  private final CatalogSnapshotService catalogSnapshotService;
 
   @PostMapping
   public ResponseEntity<CheatSheet> uploadCheatSheet(
@@ -30,9 +37,57 @@ public class CheatSheetController {
     return ResponseEntity.ok(savedCheatSheet);
   }
 
+  /**
+   * 이미지 바이트를 본문 그대로 받는 업로드. 메타데이터는 쿼리 파라미터로 받는다.
+   *
+   * <p>본문이 multipart 임시 파일을 거치지 않고 저장소로 바로 흘러가며, 이미지가 아니거나 너무 크면 끝까지 받지 않고 중단한다.
+   */
+  @PostMapping(
+      value = "/stream",
+      consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+  public ResponseEntity<CheatSheet> uploadCheatSheetStream(
+      @RequestParam String title,
+      @RequestParam String raidName,
+      @RequestParam String gate,
+      @RequestParam String uploaderName,
+      HttpServletRequest request)
+      throws IOException {
+
+    StoredImage image;
+    try (InputStream body = request.getInputStream()) {
+      image = cheatSheetService.receiveImage(body, request.getContentLengthLong());
+    }
+    CheatSheet savedCheatSheet =
+        cheatSheetService.registerCheatSheet(title, raidName, gate, uploaderName, image);
+    return ResponseEntity.ok(savedCheatSheet);
+  }
+
+  // 미리 직렬화된 스냅샷을 그대로 내려준다 (raidName, gate로 좁힐 수 있음)
   @GetMapping
-  public ResponseEntity<List<CheatSheet>> getAllCheatSheets() {
-    return ResponseEntity.ok(cheatSheetService.getAllCheatSheets());
+  public ResponseEntity<byte[]> getAllCheatSheets(
+      @RequestParam(required = false) String raidName,
+      @RequestParam(required = false) String gate) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(catalogSnapshotService.getCheatSheetsJson(raidName, gate));
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<byte[]> getCheatSheet(@PathVariable Long id) {
+    return catalogSnapshotService
+        .getCheatSheetJson(id)
+        .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  // 필터 + 커서 기반 페이지 조회 (카드 표시용 컬럼만, cursor는 이전 응답의 nextCursor를 그대로 전달)
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<CheatSheetCard>> getCheatSheetPage(
+      @RequestParam(required = false) String raidName,
+      @RequestParam(required = false) String gate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    return ResponseEntity.ok(cheatSheetService.getCheatSheetPage(raidName, gate, cursor, size));
   }
 
   @DeleteMapping("/{id}")
@@ -0,0 +1,178 @@
+package com.example.raid_hub.controller;
+
+import com.example.raid_hub.service.CheatSheetStorage;
+import com.example.raid_hub.service.ImageMetadataCache;
+import com.example.raid_hub.service.ImageMetadataCache.ImageMetadata;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+/**
+ * 컨닝페이퍼 이미지 전용 서빙 경로.
+ *
+ * <ul>
+ *   <li>메타데이터(크기, ETag)는 메모리에 보관해 요청마다 파일을 확인하지 않는다
+ *   <li>내용 주소 이름은 {@code immutable}로 내려 클라이언트가 다시 받지 않도록 한다
+ *   <li>If-None-Match(304), 단일 Range(206)를 지원한다
+ *   <li>본문은 Tomcat sendfile로 커널이 바로 보내고, 지원되지 않으면 FileChannel.transferTo로 복사한다
+ * </ul>
+ */
+@Controller
+@RequiredArgsConstructor
+public class CheatSheetImageController {
+
+  // Tomcat이 서블릿 처리 후 파일을 직접 전송하도록 하는 요청 속성 (org.apache.catalina.Globals)
+  private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+  private static final String DEFAULT_CACHE_CONTROL = "public, max-age=86400";
+  private static final long[] UNSATISFIABLE = new long[0];
+
+  private final CheatSheetStorage cheatSheetStorage;
+  private final ImageMetadataCache imageMetadataCache;
+
+  @GetMapping(CheatSheetStorage.URL_PREFIX + "**")
+  public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Path path = cheatSheetStorage.resolve(request.getServletPath());
+    ImageMetadata metadata = path == null ? null : imageMetadataCache.lookup(path).orElse(null);
+    if (metadata == null) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    response.setHeader(HttpHeaders.ETAG, metadata.etag());
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL,
+        metadata.immutable() ? IMMUTABLE_CACHE_CONTROL : DEFAULT_CACHE_CONTROL);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), metadata.etag())) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    long size = metadata.size();
+    long start = 0;
+    long end = size; // exclusive
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range != null && (ifRange == null || ifRange.equals(metadata.etag()))) {
+      long[] bounds = parseRange(range, size);
+      if (bounds == UNSATISFIABLE) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      if (bounds != null) {
+        start = bounds[0];
+        end = bounds[1];
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(
+            HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+      }
+    }
+
+    response.setContentType(metadata.contentType());
+    response.setContentLengthLong(end - start);
+    if ("HEAD".equals(request.getMethod())) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+      request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      while (position < end) {
+        long written = channel.transferTo(position, end - position, out);
+        if (written <= 0) {
+          break;
+        }
+        position += written;
+      }
+    } catch (NoSuchFileException ex) {
+      // 캐시된 뒤 삭제된 파일 (응답 헤더만 나간 상태일 수 있으므로 다음 요청부터 404)
+      imageMetadataCache.evict(path);
+      if (!response.isCommitted()) {
+        response.reset();
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      }
+    }
+  }
+
+  // If-None-Match: "a", "b" 또는 *
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    if (ifNoneMatch.trim().equals("*")) {
+      return true;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * {@code bytes=a-b}, {@code bytes=a-}, {@code bytes=-n} 형태의 단일 구간만 처리한다.
+   *
+   * @return [start, end) 구간, 만족할 수 없으면 {@link #UNSATISFIABLE}, 무시해야 하면(형식 오류, 다중 구간) null
+   */
+  static long[] parseRange(String header, long size) {
+    if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+      return null;
+    }
+    String spec = header.substring("bytes=".length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return null;
+    }
+    try {
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+      if (first.isEmpty()) {
+        if (last.isEmpty()) {
+          return null;
+        }
+        long suffix = Long.parseLong(last);
+        if (suffix <= 0 || size == 0) {
+          return UNSATISFIABLE;
+        }
+        return new long[] {Math.max(0, size - suffix), size};
+      }
+      long start = Long.parseLong(first);
+      long end = last.isEmpty() ? size : Math.min(Long.parseLong(last) + 1, size);
+      if (start >= size || start >= end) {
+        return UNSATISFIABLE;
+      }
+      return new long[] {start, end};
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
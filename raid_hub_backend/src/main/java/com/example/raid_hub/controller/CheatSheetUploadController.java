@@ -0,0 +1,65 @@
+package com.example.raid_hub.controller;
+
+import com.example.raid_hub.dto.UploadSessionRequest;
+import com.example.raid_hub.dto.UploadSessionStatus;
+import com.example.raid_hub.entity.CheatSheet;
+import com.example.raid_hub.service.CheatSheetUploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 이어 올리기 업로드.
+ *
+ * <ol>
+ *   <li>POST /api/cheatsheets/uploads: 세션 생성 (메타데이터, 전체 크기, SHA-256)
+ *   <li>PUT /api/cheatsheets/uploads/{id} + Content-Range: 조각 전송 (실패한 조각만 다시 보내면 됨)
+ *   <li>GET /api/cheatsheets/uploads/{id}: 아직 받지 못한 조각 확인
+ *   <li>POST /api/cheatsheets/uploads/{id}/commit: 체크섬 확인 후 컨닝페이퍼 등록
+ * </ol>
+ */
+@RestController
+@RequestMapping("/api/cheatsheets/uploads")
+@RequiredArgsConstructor
+public class CheatSheetUploadController {
+
+  private final CheatSheetUploadSessionService uploadSessionService;
+
+  @PostMapping
+  public ResponseEntity<UploadSessionStatus> createUpload(
+      @Valid @RequestBody UploadSessionRequest request) throws IOException {
+    return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.create(request));
+  }
+
+  @PutMapping("/{uploadId}")
+  public ResponseEntity<UploadSessionStatus> uploadChunk(
+      @PathVariable String uploadId, HttpServletRequest request) throws IOException {
+    try (InputStream body = request.getInputStream()) {
+      return ResponseEntity.ok(
+          uploadSessionService.writeChunk(
+              uploadId, request.getHeader(HttpHeaders.CONTENT_RANGE), body));
+    }
+  }
+
+  @GetMapping("/{uploadId}")
+  public ResponseEntity<UploadSessionStatus> getUpload(@PathVariable String uploadId) {
+    return ResponseEntity.ok(uploadSessionService.status(uploadId));
+  }
+
+  @PostMapping("/{uploadId}/commit")
+  public ResponseEntity<CheatSheet> commitUpload(@PathVariable String uploadId) throws IOException {
+    return ResponseEntity.ok(uploadSessionService.commit(uploadId));
+  }
+
+  @DeleteMapping("/{uploadId}")
+  public ResponseEntity<Void> abortUpload(@PathVariable String uploadId) throws IOException {
+    uploadSessionService.abort(uploadId);
+    return ResponseEntity.noContent().build();
+  }
+}
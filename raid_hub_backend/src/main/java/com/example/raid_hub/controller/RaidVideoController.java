@@ -1,9 +1,11 @@
 package com.example.raid_hub.controller;
 
+import com.example.raid_hub.dto.CursorPage;
 import com.example.raid_hub.entity.RaidVideo;
+import com.example.raid_hub.service.CatalogSnapshotService;
 import com.example.raid_hub.service.RaidVideoService;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 public class RaidVideoController {
 
   private final RaidVideoService raidVideoService;
+  private final CatalogSnapshotService catalogSnapshotService;
 
   @PostMapping
   public ResponseEntity<RaidVideo> createVideo(@RequestBody RaidVideo video) {
@@ -20,9 +23,34 @@ public class RaidVideoController {
     return ResponseEntity.ok(savedVideo);
   }
 
+  // 미리 직렬화된 스냅샷을 그대로 내려준다 (raidName, gate로 좁힐 수 있음)
   @GetMapping
-  public ResponseEntity<List<RaidVideo>> getAllVideos() {
-    return ResponseEntity.ok(raidVideoService.getAllVideos());
+  public ResponseEntity<byte[]> getAllVideos(
+      @RequestParam(required = false) String raidName,
+      @RequestParam(required = false) String gate) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(catalogSnapshotService.getVideosJson(raidName, gate));
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<byte[]> getVideo(@PathVariable Long id) {
+    return catalogSnapshotService
+        .getVideoJson(id)
+        .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  // 필터 + 커서 기반 페이지 조회 (cursor는 이전 응답의 nextCursor를 그대로 전달)
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<RaidVideo>> getVideoPage(
+      @RequestParam(required = false) String raidName,
+      @RequestParam(required = false) String difficulty,
+      @RequestParam(required = false) String gate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    return ResponseEntity.ok(
+        raidVideoService.getVideoPage(raidName, difficulty, gate, cursor, size));
   }
 
   @DeleteMapping("/{id}")
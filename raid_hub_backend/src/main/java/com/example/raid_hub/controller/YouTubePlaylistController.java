@@ -1,7 +1,12 @@
 package com.example.raid_hub.controller;
 
+import com.example.raid_hub.service.YouTubePlaylistBatchService;
+import com.example.raid_hub.service.YouTubePlaylistRefresher;
 import com.example.raid_hub.service.YouTubePlaylistService;
+import com.example.raid_hub.youtube.YouTubePlaylistBatchResponse;
 import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import com.example.raid_hub.youtube.YouTubeUnavailableException;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,16 +16,41 @@ import org.springframework.web.bind.annotation.*;
 public class YouTubePlaylistController {
 
   private final YouTubePlaylistService service;
+  private final YouTubePlaylistRefresher refresher;
+  private final YouTubePlaylistBatchService batchService;
 
   @GetMapping("/playlist-items")
   public YouTubePlaylistItemsResponse getPlaylistItems(
       @RequestParam String playlistId,
       @RequestParam(required = false) Integer maxResults,
       @RequestParam(required = false) String pageToken,
-      @RequestParam(defaultValue = "false") boolean fetchAll) {
+      @RequestParam(defaultValue = "false") boolean fetchAll,
+      @RequestParam(defaultValue = "false") boolean excludeBlocked) {
     if (fetchAll) {
+      refresher.recordAccess(playlistId, maxResults);
+    }
+    YouTubePlaylistItemsResponse response =
+        fetchAll
+            ? fetchAllOrStale(playlistId, maxResults)
+            : service.fetchPlaylistItems(playlistId, maxResults, pageToken);
+    // 차단 영상 필터링은 서버에서 (클라이언트가 차단 목록을 따로 받을 필요 없음)
+    return excludeBlocked ? service.excludeBlocked(response) : response;
+  }
+
+  // 홈 화면처럼 여러 재생목록을 한 번에 불러올 때 (재생목록별로 동시에 조회)
+  @GetMapping("/playlist-items/batch")
+  public YouTubePlaylistBatchResponse getPlaylistItemsBatch(
+      @RequestParam List<String> playlistIds,
+      @RequestParam(required = false) Integer maxResults,
+      @RequestParam(defaultValue = "false") boolean excludeBlocked) {
+    return batchService.fetchAll(playlistIds, maxResults, excludeBlocked);
+  }
+
+  private YouTubePlaylistItemsResponse fetchAllOrStale(String playlistId, Integer maxResults) {
+    try {
       return service.fetchAllPlaylistItems(playlistId, maxResults);
+    } catch (YouTubeUnavailableException ex) {
+      return service.fallbackToStale(playlistId, ex);
     }
-    return service.fetchPlaylistItems(playlistId, maxResults, pageToken);
   }
 }
@@ -0,0 +1,21 @@
+package com.example.raid_hub.dto;
+
+import java.util.List;
+
+/**
+ * 월별 활동 통계.
+ *
+ * @param month yyyy-MM
+ * @param source 답한 곳: archive(보관 파일), database(활동 로그 표), 또는 둘 다(archive+database)
+ */
+public record ActivityMonthStats(
+    String month,
+    String source,
+    long totalActivities,
+    List<Count> devices,
+    List<Count> topVideos,
+    List<Count> topCheatSheets,
+    List<Count> topSearches) {
+
+  public record Count(String key, long count) {}
+}
@@ -0,0 +1,33 @@
+package com.example.raid_hub.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 최근 구간(1시간/24시간/7일) 활동 수와 바로 앞 같은 길이 구간 대비 변화.
+ *
+ * @param from 구간 시작 (버킷 경계라 구간 길이보다 조금 짧을 수 있음)
+ * @param source 답한 곳: memory(이 노드가 받은 로그만 센 시간 버킷 카운터), 재시작 직후 등 카운터가 구간을 다 덮지 못할 때는
+ *     rollup(24시간/7일, 시간 단위 집계 표) 또는 database(1시간, 원본 로그)
+ */
+public record ActivityWindowStats(
+    String window,
+    Instant from,
+    Instant to,
+    String source,
+    long totalActivities,
+    long previousTotalActivities,
+    long delta,
+    List<Count> devices,
+    List<Count> topVideos,
+    List<Count> topCheatSheets,
+    List<Count> topSearches) {
+
+  /** previous는 직전 구간의 같은 값. */
+  public record Count(String key, long count, long previous, long delta) {
+
+    public static Count of(String key, long count, long previous) {
+      return new Count(key, count, previous, count - previous);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.raid_hub.dto;
+
+import java.time.LocalDateTime;
+
+/** 컨닝페이퍼 목록 카드에 필요한 컬럼만 담은 조회 전용 projection. */
+public record CheatSheetCard(
+    Long id,
+    String title,
+    String raidName,
+    String gate,
+    String uploaderName,
+    String imageUrl,
+    String thumbnailUrl,
+    String mediumUrl,
+    LocalDateTime createdAt) {}
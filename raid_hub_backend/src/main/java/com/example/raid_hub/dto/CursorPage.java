@@ -0,0 +1,35 @@
+package com.example.raid_hub.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/** 키셋 페이지 응답. nextCursor가 null이면 마지막 페이지이다. */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+  public static final int DEFAULT_SIZE = 20;
+  public static final int MAX_SIZE = 100;
+
+  /** 요청한 페이지 크기를 1..MAX_SIZE 범위로 맞춘다. 없으면 DEFAULT_SIZE. */
+  public static int limit(Integer size) {
+    if (size == null) {
+      return DEFAULT_SIZE;
+    }
+    if (size < 1) {
+      return 1;
+    }
+    return Math.min(size, MAX_SIZE);
+  }
+
+  /**
+   * limit + 1건 조회한 결과로 페이지를 만든다. 한 건이 더 있으면 limit건만 담고 마지막 항목의 커서를 다음 페이지 커서로 쓴다.
+   *
+   * @param rows (createdAt, id) 내림차순으로 최대 limit + 1건 조회한 결과
+   */
+  public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+    if (rows.size() <= limit) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> items = List.copyOf(rows.subList(0, limit));
+    return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.raid_hub.dto;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (createdAt, id) 기준 키셋 페이지네이션 커서.
+ *
+ * <p>클라이언트에는 Base64url 문자열로만 노출되므로 내부 포맷은 언제든 바꿀 수 있다.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static KeysetCursor of(LocalDateTime createdAt, Long id) {
+    return new KeysetCursor(createdAt, id);
+  }
+
+  /**
+   * (createdAt DESC, id DESC) 정렬에서 이 커서 뒤에 오는 행의 조건. createdAt이 같으면 id로 순서를 정하므로 같은 시각에 만들어진 행도
+   * 빠지거나 중복되지 않는다.
+   */
+  public Predicate after(CriteriaBuilder cb, Path<?> root) {
+    return cb.or(
+        cb.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.<Long>get("id"), id)));
+  }
+
+  public String encode() {
+    String raw = createdAt + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** 커서 문자열을 해석한다. 비어 있으면 null(첫 페이지)을 반환한다. */
+  public static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separatorIndex = raw.lastIndexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+      }
+      LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separatorIndex));
+      Long id = Long.valueOf(raw.substring(separatorIndex + 1));
+      return new KeysetCursor(createdAt, id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+    }
+  }
+}
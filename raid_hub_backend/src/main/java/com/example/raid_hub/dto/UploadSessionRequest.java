@@ -0,0 +1,19 @@
+package com.example.raid_hub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * 이어 올리기 업로드 세션 생성 요청.
+ *
+ * @param sha256 전체 파일의 SHA-256 (hex). 완료 시 받은 파일과 비교한다.
+ */
+public record UploadSessionRequest(
+    @NotBlank String title,
+    @NotBlank String raidName,
+    @NotBlank String gate,
+    @NotBlank String uploaderName,
+    @Positive long totalSize,
+    @NotBlank @Pattern(regexp = "[0-9a-fA-F]{64}", message = "sha256은 64자리 hex여야 합니다.")
+        String sha256) {}
@@ -0,0 +1,11 @@
+package com.example.raid_hub.dto;
+
+import java.util.List;
+
+/**
+ * 업로드 세션 상태. 클라이언트는 missingChunks에 있는 조각만 다시 보내면 된다.
+ *
+ * <p>조각 i는 바이트 구간 [i * chunkSize, min((i + 1) * chunkSize, totalSize))이다.
+ */
+public record UploadSessionStatus(
+    String uploadId, long totalSize, int chunkSize, int totalChunks, List<Integer> missingChunks) {}
@@ -14,7 +14,17 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "cheat_sheets")
+@Table(
+    name = "cheat_sheets",
+    indexes = {
+      @Index(name = "idx_cheat_sheets_content_hash", columnList = "content_hash"),
+      // 키셋 페이지네이션(created_at DESC, id DESC)용 복합 인덱스
+      @Index(name = "idx_cheat_sheets_created", columnList = "created_at, id"),
+      @Index(name = "idx_cheat_sheets_raid_created", columnList = "raid_name, created_at, id"),
+      @Index(
+          name = "idx_cheat_sheets_raid_gate_created",
+          columnList = "raid_name, gate, created_at, id")
+    })
 public class CheatSheet {
 
   @Id
@@ -40,6 +50,20 @@ public class CheatSheet {
   @Column(nullable = false)
   private String imageUrl; // 이미지 접근 경로 (예: /uploads/cheatsheets/filename.png)
 
+  // 원본 이미지의 SHA-256. 같은 이미지를 올린 컨닝페이퍼는 파일 하나를 공유한다 (이전 업로드는 null)
+  @Column(nullable = true, length = 64)
+  private String contentHash;
+
+  @Column(nullable = true)
+  private String thumbnailUrl; // 목록용 축소 이미지 (없으면 imageUrl 사용)
+
+  @Column(nullable = true)
+  private String mediumUrl; // 모바일 상세 보기용 중간 크기 이미지
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = true, length = 16)
+  private DerivativeStatus derivativeStatus; // 축소 이미지 생성 상태
+
   @Column(nullable = false, updatable = false)
   private java.time.LocalDateTime createdAt;
 
@@ -47,4 +71,11 @@ public class CheatSheet {
   protected void onCreate() {
     createdAt = java.time.LocalDateTime.now();
   }
+
+  public enum DerivativeStatus {
+    PENDING, // 생성 대기 중
+    READY, // 생성 완료
+    SKIPPED, // 축소하지 않는 형식 (GIF 애니메이션, ImageIO가 읽지 못하는 WEBP 등)
+    FAILED
+  }
 }
@@ -0,0 +1,52 @@
+package com.example.raid_hub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** 로컬에 저장한 YouTube 재생목록 항목. (재생목록, 페이지, 페이지 내 순서)로 위치를 식별한다. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+    name = "youtube_playlist_items",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_youtube_playlist_items_slot",
+            columnNames = {"playlist_id", "page_index", "slot"}))
+public class PlaylistItem {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 64)
+  private String playlistId;
+
+  @Column(nullable = false)
+  private Integer pageIndex;
+
+  // 페이지 안에서의 순서
+  @Column(nullable = false)
+  private Integer slot;
+
+  private String videoId;
+
+  @Column(length = 500)
+  private String title;
+
+  private String channelTitle;
+
+  @Column(length = 500)
+  private String thumbnailUrl;
+
+  private Integer position;
+
+  private String publishedAt;
+}
@@ -0,0 +1,50 @@
+package com.example.raid_hub.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** 로컬에 저장한 YouTube 재생목록 페이지. etag로 다음 동기화 때 변경 여부를 확인한다. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+    name = "youtube_playlist_pages",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_youtube_playlist_pages_playlist_page",
+            columnNames = {"playlist_id", "page_index"}))
+public class PlaylistPage {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 64)
+  private String playlistId;
+
+  // 0부터 시작하는 페이지 순서
+  @Column(nullable = false)
+  private Integer pageIndex;
+
+  // 이 페이지를 요청할 때 사용한 pageToken (첫 페이지는 null)
+  private String pageToken;
+
+  @Column(nullable = false)
+  private Integer maxResults;
+
+  private String etag;
+
+  private String nextPageToken;
+
+  private Integer totalResults;
+
+  private LocalDateTime syncedAt;
+}
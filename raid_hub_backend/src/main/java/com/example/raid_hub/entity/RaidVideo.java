@@ -15,7 +15,19 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "raid_videos")
+@Table(
+    name = "raid_videos",
+    indexes = {
+      // 키셋 페이지네이션(created_at DESC, id DESC)용 복합 인덱스
+      @Index(name = "idx_raid_videos_created", columnList = "created_at, id"),
+      @Index(name = "idx_raid_videos_raid_created", columnList = "raid_name, created_at, id"),
+      @Index(
+          name = "idx_raid_videos_raid_gate_created",
+          columnList = "raid_name, gate, created_at, id"),
+      @Index(
+          name = "idx_raid_videos_raid_difficulty_created",
+          columnList = "raid_name, difficulty, created_at, id")
+    })
 public class RaidVideo {
 
   @Id
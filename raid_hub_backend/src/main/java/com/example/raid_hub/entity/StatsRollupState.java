@@ -0,0 +1,29 @@
+package com.example.raid_hub.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** 집계 표 준비 상태. 집계 도입 전에 쌓인 로그를 한 번만 옮기기 위한 기준점을 보관한다. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stats_rollup_state")
+public class StatsRollupState {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  // 이 id까지의 로그는 수집 시점에 집계되지 않았다 (이후 로그는 저장할 때 함께 집계)
+  @Column(nullable = false)
+  private Long watermarkId;
+
+  // 기존 로그 집계를 마친 시각 (null이면 아직)
+  private LocalDateTime completedAt;
+}
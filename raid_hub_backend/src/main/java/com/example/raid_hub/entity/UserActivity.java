@@ -5,15 +5,26 @@ import java.time.LocalDateTime;
 import lombok.*;
 
 @Entity
-@Table(name = "user_activities")
+@Table(
+    name = "user_activities",
+    indexes = {
+      // 기간 통계를 메모리 카운터로 답할 수 없을 때(재시작 직후) 기간 조회용
+      @Index(name = "idx_user_activities_created", columnList = "created_at"),
+      @Index(name = "idx_user_activities_type_created", columnList = "activity_type, created_at")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class UserActivity {
+  // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC batch가 꺼진다. 시퀀스에서 50개씩 미리 받아 batch insert 한다
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_activities_seq")
+  @SequenceGenerator(
+      name = "user_activities_seq",
+      sequenceName = "user_activities_seq",
+      allocationSize = 50)
   private Long id;
 
   // 활동 유형: VIDEO_CLICK, CHEATSHEET_CLICK, SEARCH, PAGE_VIEW
@@ -31,8 +42,11 @@ public class UserActivity {
 
   private LocalDateTime createdAt;
 
+  // 비동기 저장 시에는 요청을 받은 시각이 미리 채워져 있다
   @PrePersist
   public void prePersist() {
-    this.createdAt = LocalDateTime.now();
+    if (this.createdAt == null) {
+      this.createdAt = LocalDateTime.now();
+    }
   }
 }
@@ -0,0 +1,52 @@
+package com.example.raid_hub.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 활동 로그 집계 (활동 유형 × 대상 × 기기 × 시간 단위).
+ *
+ * <p>대시보드는 원본 로그 대신 이 표를 읽는다. 보관 기간이 지난 시간 단위 행은 하루 단위 행(자정 시작)으로 합쳐진다. 값이 없는 대상/기기는 빈 문자열로 저장한다.
+ * (unique 제약이 null을 서로 다른 값으로 보기 때문)
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+    name = "user_activity_rollups",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_user_activity_rollups_key",
+            columnNames = {"activity_type", "target", "device_type", "bucket_start"}),
+    indexes = @Index(name = "idx_user_activity_rollups_bucket", columnList = "bucket_start"))
+public class UserActivityRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String activityType;
+
+  // SEARCH는 검색어, 나머지는 targetTitle
+  @Column(nullable = false)
+  private String target;
+
+  @Column(nullable = false)
+  private String deviceType;
+
+  // 집계 구간 시작 (정시, 오래된 행은 자정)
+  @Column(nullable = false)
+  private LocalDateTime bucketStart;
+
+  @Column(nullable = false)
+  private Long eventCount;
+}
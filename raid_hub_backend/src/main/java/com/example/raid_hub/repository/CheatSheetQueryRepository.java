@@ -0,0 +1,16 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.dto.CheatSheetCard;
+import com.example.raid_hub.dto.KeysetCursor;
+import java.util.List;
+
+/** 컨닝페이퍼 목록 조회 (엔티티 대신 카드 projection을 직접 select). */
+public interface CheatSheetQueryRepository {
+
+  /**
+   * raidName, gate(null이면 조건 없음)로 거른 뒤 (createdAt, id) 내림차순으로 after 다음부터 limit건을 조회한다.
+   *
+   * @param after null이면 첫 페이지
+   */
+  List<CheatSheetCard> findCards(String raidName, String gate, KeysetCursor after, int limit);
+}
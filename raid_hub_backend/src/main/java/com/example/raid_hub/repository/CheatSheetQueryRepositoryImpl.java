@@ -0,0 +1,55 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.dto.CheatSheetCard;
+import com.example.raid_hub.dto.KeysetCursor;
+import com.example.raid_hub.entity.CheatSheet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+class CheatSheetQueryRepositoryImpl implements CheatSheetQueryRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<CheatSheetCard> findCards(
+      String raidName, String gate, KeysetCursor after, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<CheatSheetCard> query = cb.createQuery(CheatSheetCard.class);
+    Root<CheatSheet> root = query.from(CheatSheet.class);
+
+    query.select(
+        cb.construct(
+            CheatSheetCard.class,
+            root.get("id"),
+            root.get("title"),
+            root.get("raidName"),
+            root.get("gate"),
+            root.get("uploaderName"),
+            root.get("imageUrl"),
+            root.get("thumbnailUrl"),
+            root.get("mediumUrl"),
+            root.get("createdAt")));
+
+    // 조건이 있는 것만 넣어야 (raid_name, gate, created_at, id) 인덱스를 그대로 탄다
+    List<Predicate> predicates = new ArrayList<>();
+    if (raidName != null && !raidName.isBlank()) {
+      predicates.add(cb.equal(root.get("raidName"), raidName));
+    }
+    if (gate != null && !gate.isBlank()) {
+      predicates.add(cb.equal(root.get("gate"), gate));
+    }
+    if (after != null) {
+      predicates.add(after.after(cb, root));
+    }
+    query.where(predicates.toArray(Predicate[]::new));
+    query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
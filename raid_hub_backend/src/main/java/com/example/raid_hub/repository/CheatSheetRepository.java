@@ -1,9 +1,43 @@
 package com.example.raid_hub.repository;
 
 import com.example.raid_hub.entity.CheatSheet;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface CheatSheetRepository extends JpaRepository<CheatSheet, Long> {
+public interface CheatSheetRepository
+    extends JpaRepository<CheatSheet, Long>, CheatSheetQueryRepository {
   List<CheatSheet> findByRaidName(String raidName);
+
+  // 같은 이미지 파일(URL)을 참조하는 컨닝페이퍼 수
+  long countByImageUrl(String imageUrl);
+
+  // 저장소 정리: 주어진 해시 중 아직 참조되는 것
+  @Query("SELECT DISTINCT c.contentHash FROM CheatSheet c WHERE c.contentHash IN :hashes")
+  List<String> findReferencedContentHashes(@Param("hashes") Collection<String> hashes);
+
+  // 저장소 정리: 해시가 없는 이전 업로드(원본/축소 이미지) URL 중 아직 참조되는 것
+  @Query(
+      "SELECT c.imageUrl, c.thumbnailUrl, c.mediumUrl FROM CheatSheet c WHERE c.imageUrl IN :urls OR c.thumbnailUrl IN :urls OR c.mediumUrl IN :urls")
+  List<Object[]> findReferencedImageUrls(@Param("urls") Collection<String> urls);
+
+  // 기동 시 축소 이미지를 다시 만들 대상 (id, imageUrl)
+  @Query("SELECT c.id, c.imageUrl FROM CheatSheet c WHERE c.derivativeStatus = :status")
+  List<Object[]> findIdAndImageUrlByDerivativeStatus(
+      @Param("status") CheatSheet.DerivativeStatus status);
+
+  // 백그라운드 작업에서 축소 이미지 경로만 갱신 (엔티티 전체를 다시 읽지 않음)
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE CheatSheet c SET c.thumbnailUrl = :thumbnailUrl, c.mediumUrl = :mediumUrl, c.derivativeStatus = :status WHERE c.id = :id")
+  int updateDerivatives(
+      @Param("id") Long id,
+      @Param("thumbnailUrl") String thumbnailUrl,
+      @Param("mediumUrl") String mediumUrl,
+      @Param("status") CheatSheet.DerivativeStatus status);
 }
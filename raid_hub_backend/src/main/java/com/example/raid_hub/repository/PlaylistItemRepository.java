@@ -0,0 +1,21 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.entity.PlaylistItem;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PlaylistItemRepository extends JpaRepository<PlaylistItem, Long> {
+  List<PlaylistItem> findByPlaylistIdOrderByPageIndexAscSlotAsc(String playlistId);
+
+  List<PlaylistItem> findByPlaylistIdAndPageIndexOrderBySlotAsc(
+      String playlistId, Integer pageIndex);
+
+  // 재생목록이 짧아져 사라진 페이지의 항목 삭제
+  @Modifying
+  @Query(
+      "DELETE FROM PlaylistItem i WHERE i.playlistId = :playlistId AND i.pageIndex >= :pageIndex")
+  int deleteFromPage(@Param("playlistId") String playlistId, @Param("pageIndex") int pageIndex);
+}
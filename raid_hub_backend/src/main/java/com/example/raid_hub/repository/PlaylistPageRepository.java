@@ -0,0 +1,9 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.entity.PlaylistPage;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PlaylistPageRepository extends JpaRepository<PlaylistPage, Long> {
+  List<PlaylistPage> findByPlaylistIdOrderByPageIndexAsc(String playlistId);
+}
@@ -0,0 +1,26 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.entity.StatsRollupState;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface StatsRollupStateRepository extends JpaRepository<StatsRollupState, String> {
+
+  // 처음 한 번만 현재 최대 로그 id를 기준점으로 기록한다 (여러 인스턴스가 동시에 떠도 먼저 기록한 값 유지)
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO stats_rollup_state (name, watermark_id) SELECT :name, COALESCE(MAX(id), 0) FROM user_activities ON CONFLICT (name) DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(String name);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM StatsRollupState s WHERE s.name = :name")
+  Optional<StatsRollupState> findForUpdate(String name);
+}
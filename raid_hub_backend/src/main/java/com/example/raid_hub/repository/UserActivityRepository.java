@@ -1,15 +1,29 @@
 package com.example.raid_hub.repository;
 
 import com.example.raid_hub.entity.UserActivity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserActivityRepository extends JpaRepository<UserActivity, Long> {
 
+  // IDENTITY로 쌓인 기존 id와 겹치지 않도록 시퀀스를 최대 id 뒤로 옮긴다. 최대 id가 시퀀스보다 클 때만(전환 후 처음 한 번)
+  // 앞으로만 옮기므로, 이후 기동에서는 아무것도 하지 않아 다른 노드가 이미 받아 간 id 구간을 되돌리지 않는다. 옮겼으면 새 값, 아니면 null
+  @Transactional
+  @Query(
+      value =
+          "SELECT setval('user_activities_seq', m.max_id) FROM (SELECT MAX(id) AS max_id FROM user_activities) m WHERE m.max_id > (SELECT last_value FROM user_activities_seq)",
+      nativeQuery = true)
+  Long advanceIdSequencePastExistingIds();
+
   // 기기별 통계
   @Query(
       "SELECT a.deviceType as device, COUNT(a) as count FROM UserActivity a GROUP BY a.deviceType")
@@ -17,11 +31,53 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
 
   // 인기 영상/컨닝페이퍼 Top 10 (활동 유형별)
   @Query(
-      "SELECT a.targetTitle as title, COUNT(a) as count FROM UserActivity a WHERE a.activityType = :type GROUP BY a.targetTitle ORDER BY COUNT(a) DESC")
+      "SELECT a.targetTitle as title, COUNT(a) as count FROM UserActivity a WHERE a.activityType = :type GROUP BY a.targetTitle ORDER BY COUNT(a) DESC LIMIT 10")
   List<Map<String, Object>> findTopTargetsByType(String type);
 
   // 인기 검색어 Top 10
   @Query(
-      "SELECT a.searchQuery as query, COUNT(a) as count FROM UserActivity a WHERE a.activityType = 'SEARCH' AND a.searchQuery IS NOT NULL GROUP BY a.searchQuery ORDER BY COUNT(a) DESC")
+      "SELECT a.searchQuery as query, COUNT(a) as count FROM UserActivity a WHERE a.activityType = 'SEARCH' AND a.searchQuery IS NOT NULL GROUP BY a.searchQuery ORDER BY COUNT(a) DESC LIMIT 10")
   List<Map<String, Object>> findTopSearchQueries();
+
+  // 기간 통계 (메모리 카운터가 구간을 덮지 못할 때, created_at 인덱스 사용)
+  @Query("SELECT COUNT(a) FROM UserActivity a WHERE a.createdAt >= :from AND a.createdAt < :to")
+  long countBetween(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT a.deviceType as item, COUNT(a) as count FROM UserActivity a WHERE a.createdAt >= :from AND a.createdAt < :to AND a.deviceType IS NOT NULL GROUP BY a.deviceType")
+  List<Map<String, Object>> countByDeviceTypeBetween(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT a.targetTitle as item, COUNT(a) as count FROM UserActivity a WHERE a.activityType = :type AND a.createdAt >= :from AND a.createdAt < :to AND a.targetTitle IS NOT NULL GROUP BY a.targetTitle ORDER BY COUNT(a) DESC LIMIT 10")
+  List<Map<String, Object>> findTopTargetsBetween(
+      String type, LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT a.targetTitle as item, COUNT(a) as count FROM UserActivity a WHERE a.activityType = :type AND a.createdAt >= :from AND a.createdAt < :to AND a.targetTitle IN :titles GROUP BY a.targetTitle")
+  List<Map<String, Object>> countTargetsBetween(
+      String type, Collection<String> titles, LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT a.searchQuery as item, COUNT(a) as count FROM UserActivity a WHERE a.activityType = 'SEARCH' AND a.createdAt >= :from AND a.createdAt < :to AND a.searchQuery IS NOT NULL GROUP BY a.searchQuery ORDER BY COUNT(a) DESC LIMIT 10")
+  List<Map<String, Object>> findTopSearchQueriesBetween(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT a.searchQuery as item, COUNT(a) as count FROM UserActivity a WHERE a.activityType = 'SEARCH' AND a.createdAt >= :from AND a.createdAt < :to AND a.searchQuery IN :queries GROUP BY a.searchQuery")
+  List<Map<String, Object>> countSearchQueriesBetween(
+      Collection<String> queries, LocalDateTime from, LocalDateTime to);
+
+  // 보관(archive): 월 단위로 id 순서대로 나눠 읽고, 파일에 옮긴 행만 지운다
+  @Query("SELECT MIN(a.createdAt) FROM UserActivity a")
+  LocalDateTime findOldestCreatedAt();
+
+  @Query(
+      "SELECT a FROM UserActivity a WHERE a.createdAt >= :from AND a.createdAt < :to AND a.id > :afterId ORDER BY a.id")
+  List<UserActivity> findArchivePage(
+      LocalDateTime from, LocalDateTime to, long afterId, Pageable page);
+
+  @Transactional
+  @Modifying
+  @Query(
+      "DELETE FROM UserActivity a WHERE a.createdAt >= :from AND a.createdAt < :to AND a.id <= :maxId")
+  int deleteArchived(LocalDateTime from, LocalDateTime to, long maxId);
 }
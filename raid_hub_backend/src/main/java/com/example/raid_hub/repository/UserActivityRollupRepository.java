@@ -0,0 +1,79 @@
+package com.example.raid_hub.repository;
+
+import com.example.raid_hub.entity.UserActivityRollup;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UserActivityRollupRepository extends JpaRepository<UserActivityRollup, Long> {
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO user_activity_rollups (activity_type, target, device_type, bucket_start, event_count) VALUES (:type, :target, :device, :bucketStart, :count) "
+              + "ON CONFLICT (activity_type, target, device_type, bucket_start) DO UPDATE SET event_count = user_activity_rollups.event_count + EXCLUDED.event_count",
+      nativeQuery = true)
+  int upsert(String type, String target, String device, LocalDateTime bucketStart, long count);
+
+  // 집계 도입 전 로그(id <= watermark)를 시간 단위로 묶어 더한다
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO user_activity_rollups (activity_type, target, device_type, bucket_start, event_count) "
+              + "SELECT a.activity_type, COALESCE(CASE WHEN a.activity_type = 'SEARCH' THEN a.search_query ELSE a.target_title END, ''), COALESCE(a.device_type, ''), "
+              + "date_trunc('hour', COALESCE(a.created_at, TIMESTAMP '1970-01-01 00:00:00')), COUNT(*) FROM user_activities a WHERE a.id <= :watermark GROUP BY 1, 2, 3, 4 "
+              + "ON CONFLICT (activity_type, target, device_type, bucket_start) DO UPDATE SET event_count = user_activity_rollups.event_count + EXCLUDED.event_count",
+      nativeQuery = true)
+  int backfill(long watermark);
+
+  // cutoff 이전의 시간 단위 행을 그날 자정 행으로 합친다
+  @Modifying
+  @Query(
+      value =
+          "WITH moved AS (DELETE FROM user_activity_rollups WHERE bucket_start < :cutoff AND bucket_start <> date_trunc('day', bucket_start) "
+              + "RETURNING activity_type, target, device_type, bucket_start, event_count) "
+              + "INSERT INTO user_activity_rollups (activity_type, target, device_type, bucket_start, event_count) "
+              + "SELECT activity_type, target, device_type, date_trunc('day', bucket_start), SUM(event_count) FROM moved GROUP BY 1, 2, 3, 4 "
+              + "ON CONFLICT (activity_type, target, device_type, bucket_start) DO UPDATE SET event_count = user_activity_rollups.event_count + EXCLUDED.event_count",
+      nativeQuery = true)
+  int compactBefore(LocalDateTime cutoff);
+
+  // 대시보드 (응답 키는 원본 로그 집계와 같게 유지)
+  @Query(
+      "SELECT NULLIF(r.deviceType, '') as device, SUM(r.eventCount) as count FROM UserActivityRollup r GROUP BY r.deviceType")
+  List<Map<String, Object>> countByDeviceType();
+
+  @Query(
+      "SELECT NULLIF(r.target, '') as title, SUM(r.eventCount) as count FROM UserActivityRollup r WHERE r.activityType = :type GROUP BY r.target ORDER BY SUM(r.eventCount) DESC LIMIT 10")
+  List<Map<String, Object>> findTopTargetsByType(String type);
+
+  @Query(
+      "SELECT r.target as query, SUM(r.eventCount) as count FROM UserActivityRollup r WHERE r.activityType = 'SEARCH' AND r.target <> '' GROUP BY r.target ORDER BY SUM(r.eventCount) DESC LIMIT 10")
+  List<Map<String, Object>> findTopSearchQueries();
+
+  @Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM UserActivityRollup r")
+  long countActivities();
+
+  // 기간 통계 (24시간/7일 구간이 메모리 카운터로 덮이지 않을 때, 시간 단위 행만 읽음). 검색어는 target에 있다
+  @Query(
+      "SELECT COALESCE(SUM(r.eventCount), 0) FROM UserActivityRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+  long countBetween(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT r.deviceType as item, SUM(r.eventCount) as count FROM UserActivityRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to AND r.deviceType <> '' GROUP BY r.deviceType")
+  List<Map<String, Object>> countByDeviceTypeBetween(LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT r.target as item, SUM(r.eventCount) as count FROM UserActivityRollup r WHERE r.activityType = :type AND r.bucketStart >= :from AND r.bucketStart < :to AND r.target <> '' GROUP BY r.target ORDER BY SUM(r.eventCount) DESC LIMIT 10")
+  List<Map<String, Object>> findTopTargetsBetween(
+      String type, LocalDateTime from, LocalDateTime to);
+
+  @Query(
+      "SELECT r.target as item, SUM(r.eventCount) as count FROM UserActivityRollup r WHERE r.activityType = :type AND r.bucketStart >= :from AND r.bucketStart < :to AND r.target IN :targets GROUP BY r.target")
+  List<Map<String, Object>> countTargetsBetween(
+      String type, Collection<String> targets, LocalDateTime from, LocalDateTime to);
+}
@@ -53,8 +53,16 @@ public class SecurityConfig {
                     .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.POST, "/api/stats/log")
                     .permitAll()
+                    .requestMatchers(HttpMethod.POST, "/api/stats/log/batch")
+                    .permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/stats/dashboard")
                     .hasRole("ADMIN")
+                    .requestMatchers(
+                        HttpMethod.GET,
+                        "/api/stats/realtime",
+                        "/api/stats/windows",
+                        "/api/stats/history")
+                    .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.POST, "/api/videos")
                     .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.DELETE, "/api/videos/**")
@@ -63,10 +71,14 @@ public class SecurityConfig {
                     .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.DELETE, "/api/blocked-videos/**")
                     .hasRole("ADMIN")
-                    .requestMatchers(HttpMethod.POST, "/api/cheatsheets")
+                    .requestMatchers(HttpMethod.POST, "/api/cheatsheets", "/api/cheatsheets/**")
                     .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.DELETE, "/api/cheatsheets/**")
                     .hasRole("ADMIN")
+                    .requestMatchers(HttpMethod.PUT, "/api/cheatsheets/uploads/**")
+                    .hasRole("ADMIN")
+                    .requestMatchers(HttpMethod.GET, "/api/cheatsheets/uploads/**")
+                    .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.GET, "/api/blocked-videos")
                     .permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/cheatsheets")
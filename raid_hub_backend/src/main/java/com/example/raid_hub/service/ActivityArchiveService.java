@@ -0,0 +1,431 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.dto.ActivityMonthStats;
+import com.example.raid_hub.dto.ActivityMonthStats.Count;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.stats.ActivitySegment;
+import com.example.raid_hub.stats.ActivitySegment.Column;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 오래된 활동 로그 보관(archive).
+ *
+ * <p>보관 기간(기본 90일)이 지난 달의 로그를 월 단위 {@link ActivitySegment} 파일로 옮기고 활동 로그 표에서 지운다. 파일을 쓰고 다시 열어 모든
+ * 블록을 풀어 내보낸 값과 같은지 확인한 뒤에만 지우며, 파일 이름에 담긴 마지막 id까지만 지우므로 도중에 멈춰도 로그가 사라지거나 두 번 보관되지 않는다. 보관 파일의
+ * 시각은 DB 값(서버 시간대 LocalDateTime)을 UTC로 간주한 epoch millis다. 확인에 실패한 파일은 {@code .bad}로 이름을 바꿔 두고, 이어서
+ * 보관할 때도 남은 파일을 모두 풀어 확인한 뒤에만 그 id까지 지운다.
+ *
+ * <p>월별 통계는 보관된 달은 파일에서, 나머지 달은 DB에서 읽는다. 파일은 바뀌지 않으므로 파일별 요약을 메모리에 둔다. 보관 파일은 이 서버의 로컬 디스크에 있으므로
+ * 보관 작업은 기본으로 꺼져 있고 한 인스턴스에서만 켠다. 보관된 달의 통계는 그 인스턴스만 답할 수 있다.
+ */
+@Slf4j
+@Component
+public class ActivityArchiveService {
+
+  // activities-<yyyy-MM>-<첫 id>-<마지막 id>.seg
+  private static final Pattern SEGMENT_NAME =
+      Pattern.compile("activities-(\\d{4}-\\d{2})-(\\d+)-(\\d+)\\.seg");
+  private static final int SEGMENT_ROWS = 1_000_000;
+  private static final int MAX_HISTORY_MONTHS = 24;
+  private static final int TOP_K = 10;
+  // 파일별 요약에 남기는 순위 수 (한 달이 여러 파일이거나 DB에 늦게 들어온 로그와 합칠 때 쓰임)
+  private static final int SUMMARY_TOP_K = 100;
+
+  private final UserActivityRepository repository;
+  private final UserActivityRollupService rollupService;
+  private final Clock clock;
+  private final Path directory;
+  private final Duration hotRetention;
+  private final int pageSize;
+  private final int maxMonthsPerRun;
+  private final boolean enabled;
+  private final Map<Path, Summary> summaries = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ActivityArchiveService(
+      UserActivityRepository repository,
+      UserActivityRollupService rollupService,
+      @Value("${stats.archive.dir:data/activity-archive}") String directory,
+      @Value("${stats.archive.hot-retention:90d}") Duration hotRetention,
+      @Value("${stats.archive.page-size:5000}") int pageSize,
+      @Value("${stats.archive.max-months-per-run:3}") int maxMonthsPerRun,
+      @Value("${stats.archive.enabled:false}") boolean enabled) {
+    this(
+        repository,
+        rollupService,
+        Clock.systemDefaultZone(),
+        Paths.get(directory),
+        hotRetention,
+        pageSize,
+        maxMonthsPerRun,
+        enabled);
+  }
+
+  ActivityArchiveService(
+      UserActivityRepository repository,
+      UserActivityRollupService rollupService,
+      Clock clock,
+      Path directory,
+      Duration hotRetention,
+      int pageSize,
+      int maxMonthsPerRun,
+      boolean enabled) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("stats.archive.page-size must be > 0");
+    }
+    this.repository = repository;
+    this.rollupService = rollupService;
+    this.clock = clock;
+    this.directory = directory;
+    this.hotRetention = hotRetention;
+    this.pageSize = pageSize;
+    this.maxMonthsPerRun = maxMonthsPerRun;
+    this.enabled = enabled;
+  }
+
+  private record SegmentFile(Path path, YearMonth month, long lastId) {}
+
+  // 대상/검색어는 상위 SUMMARY_TOP_K개, 기기는 전부
+  private record Summary(
+      long total,
+      Map<String, Long> devices,
+      Map<String, Long> videos,
+      Map<String, Long> cheatSheets,
+      Map<String, Long> searches) {
+
+    static final Summary EMPTY = new Summary(0, Map.of(), Map.of(), Map.of(), Map.of());
+
+    Summary plus(Summary other) {
+      return new Summary(
+          total + other.total,
+          merge(devices, other.devices),
+          merge(videos, other.videos),
+          merge(cheatSheets, other.cheatSheets),
+          merge(searches, other.searches));
+    }
+
+    private static Map<String, Long> merge(Map<String, Long> a, Map<String, Long> b) {
+      Map<String, Long> merged = new HashMap<>(a);
+      b.forEach((key, count) -> merged.merge(key, count, Long::sum));
+      return merged;
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${stats.archive.interval-ms:3600000}",
+      fixedDelayString = "${stats.archive.interval-ms:3600000}")
+  public void scheduledArchive() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      int rows = archiveExpired();
+      if (rows > 0) {
+        log.info("Archived {} activity logs into {}", rows, directory);
+      }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Activity archive failed: {}", ex.getMessage());
+    }
+  }
+
+  /** 보관 기간이 통째로 지난 달을 오래된 달부터 최대 max-months-per-run개 옮긴다. 반환값은 지운 로그 수. */
+  int archiveExpired() throws IOException {
+    // 집계 표로 옮기기 전의 로그를 지우면 대시보드 합계에서 빠진다
+    if (!rollupService.isBackfilled()) {
+      return 0;
+    }
+    LocalDateTime oldest = repository.findOldestCreatedAt();
+    if (oldest == null) {
+      return 0;
+    }
+    YearMonth end = YearMonth.from(LocalDateTime.now(clock).minus(hotRetention));
+    int deleted = 0;
+    YearMonth month = YearMonth.from(oldest);
+    for (int i = 0; i < maxMonthsPerRun && month.isBefore(end); i++) {
+      deleted += archiveMonth(month);
+      month = month.plusMonths(1);
+    }
+    return deleted;
+  }
+
+  private int archiveMonth(YearMonth month) throws IOException {
+    LocalDateTime from = month.atDay(1).atStartOfDay();
+    LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+    Files.createDirectories(directory);
+
+    // 지난번에 파일은 썼지만 지우기 전에 멈췄다면 그 파일의 마지막 id까지는 이미 보관되어 있다.
+    // 파일 이름만 믿지 않고 모든 블록을 풀어 본 뒤, 처음 깨진 파일 앞까지만 인정한다
+    List<SegmentFile> segments =
+        listSegments().stream()
+            .filter(segment -> segment.month().equals(month))
+            .sorted(Comparator.comparingLong(SegmentFile::lastId))
+            .toList();
+    long lastId = 0;
+    for (SegmentFile segment : segments) {
+      if (!isReadable(segment.path())) {
+        quarantine(segment.path());
+        break;
+      }
+      lastId = segment.lastId();
+    }
+    int deleted = lastId > 0 ? repository.deleteArchived(from, to, lastId) : 0;
+
+    Pageable page = PageRequest.of(0, pageSize);
+    ActivitySegment.Writer writer = new ActivitySegment.Writer();
+    long firstId = 0;
+    List<UserActivity> rows;
+    do {
+      rows = repository.findArchivePage(from, to, lastId, page);
+      for (UserActivity activity : rows) {
+        if (writer.rows() == 0) {
+          firstId = activity.getId();
+        }
+        writer.add(
+            activity.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli(),
+            activity.getActivityType(),
+            activity.getTargetTitle(),
+            activity.getDeviceType(),
+            activity.getSearchQuery());
+        lastId = activity.getId();
+      }
+      // 한 달 로그를 한꺼번에 메모리에 두지 않도록 나눠 쓴다
+      if (writer.rows() >= SEGMENT_ROWS || (rows.size() < pageSize && writer.rows() > 0)) {
+        deleted += writeSegment(month, writer, firstId, lastId, from, to);
+        writer = new ActivitySegment.Writer();
+      }
+    } while (rows.size() == pageSize);
+    return deleted;
+  }
+
+  private int writeSegment(
+      YearMonth month,
+      ActivitySegment.Writer writer,
+      long firstId,
+      long lastId,
+      LocalDateTime from,
+      LocalDateTime to)
+      throws IOException {
+    Path file = directory.resolve("activities-" + month + "-" + firstId + "-" + lastId + ".seg");
+    writer.writeTo(file);
+    // 모든 블록을 다시 풀어 내보낸 값과 같은지 확인한 뒤에만 원본을 지운다
+    boolean matches;
+    try {
+      matches = writer.matches(ActivitySegment.open(file));
+    } catch (IOException ex) {
+      matches = false;
+    }
+    if (!matches) {
+      // 다음 실행에서 이 파일을 보관된 것으로 보지 않도록 치운다
+      quarantine(file);
+      throw new IOException("Archived segment " + file + " does not match exported rows");
+    }
+    int deleted = repository.deleteArchived(from, to, lastId);
+    log.info("Archived {} activity logs of {} into {}", writer.rows(), month, file);
+    return deleted;
+  }
+
+  private static boolean isReadable(Path file) {
+    try {
+      ActivitySegment.open(file).verify();
+      return true;
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  private void quarantine(Path file) throws IOException {
+    Path bad = file.resolveSibling(file.getFileName() + ".bad");
+    Files.move(file, bad, StandardCopyOption.REPLACE_EXISTING);
+    summaries.remove(file);
+    log.warn("Moved unreadable activity segment {} to {}", file, bad);
+  }
+
+  /**
+   * 월별 활동 수, 기기별 수, 인기 대상/검색어. 보관된 달은 보관 파일에서 읽는다.
+   *
+   * @param from 생략하면 to의 11개월 전
+   * @param to 생략하면 이번 달
+   */
+  public List<ActivityMonthStats> history(YearMonth from, YearMonth to) throws IOException {
+    YearMonth end = to != null ? to : YearMonth.now(clock);
+    YearMonth start = from != null ? from : end.minusMonths(11);
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException("시작 월이 끝 월보다 늦습니다.");
+    }
+    if (ChronoUnit.MONTHS.between(start, end) >= MAX_HISTORY_MONTHS) {
+      throw new IllegalArgumentException("한 번에 최대 " + MAX_HISTORY_MONTHS + "개월까지 조회할 수 있습니다.");
+    }
+
+    Map<YearMonth, List<Path>> archived = new HashMap<>();
+    for (SegmentFile segment : listSegments()) {
+      archived.computeIfAbsent(segment.month(), m -> new ArrayList<>()).add(segment.path());
+    }
+    List<ActivityMonthStats> result = new ArrayList<>();
+    for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+      result.add(monthStats(month, archived.getOrDefault(month, List.of())));
+    }
+    return result;
+  }
+
+  private ActivityMonthStats monthStats(YearMonth month, List<Path> segments) throws IOException {
+    Summary summary = Summary.EMPTY;
+    for (Path segment : segments) {
+      summary = summary.plus(summary(segment));
+    }
+
+    // 보관 전인 달, 또는 보관 뒤 늦게 들어온 로그
+    LocalDateTime from = month.atDay(1).atStartOfDay();
+    LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+    long hot = repository.countBetween(from, to);
+    if (hot > 0) {
+      summary =
+          summary.plus(
+              new Summary(
+                  hot,
+                  toCounts(repository.countByDeviceTypeBetween(from, to)),
+                  toCounts(repository.findTopTargetsBetween("VIDEO_CLICK", from, to)),
+                  toCounts(repository.findTopTargetsBetween("CHEATSHEET_CLICK", from, to)),
+                  toCounts(repository.findTopSearchQueriesBetween(from, to))));
+    }
+
+    String source = segments.isEmpty() ? "database" : hot > 0 ? "archive+database" : "archive";
+    return new ActivityMonthStats(
+        month.toString(),
+        source,
+        summary.total(),
+        top(summary.devices(), Integer.MAX_VALUE),
+        top(summary.videos(), TOP_K),
+        top(summary.cheatSheets(), TOP_K),
+        top(summary.searches(), TOP_K));
+  }
+
+  private Summary summary(Path file) throws IOException {
+    Summary summary = summaries.get(file);
+    if (summary == null) {
+      summary = summarize(ActivitySegment.open(file));
+      summaries.put(file, summary);
+    }
+    return summary;
+  }
+
+  // 대시보드 쿼리와 같은 기준: 영상/컨닝페이퍼는 targetTitle, 검색은 searchQuery, null 값은 세지 않는다
+  private static Summary summarize(ActivitySegment segment) throws IOException {
+    String[] dictionary = segment.dictionary();
+    int[] types = segment.codes(Column.TYPE);
+    int[] targets = segment.codes(Column.TARGET);
+    int[] devices = segment.codes(Column.DEVICE);
+    int[] searches = segment.codes(Column.SEARCH);
+    int video = code(dictionary, "VIDEO_CLICK");
+    int cheatSheet = code(dictionary, "CHEATSHEET_CLICK");
+    int search = code(dictionary, "SEARCH");
+
+    long[] deviceCounts = new long[dictionary.length + 1];
+    long[] videoCounts = new long[dictionary.length + 1];
+    long[] cheatSheetCounts = new long[dictionary.length + 1];
+    long[] searchCounts = new long[dictionary.length + 1];
+    for (int i = 0; i < types.length; i++) {
+      deviceCounts[devices[i]]++;
+      if (types[i] == video) {
+        videoCounts[targets[i]]++;
+      } else if (types[i] == cheatSheet) {
+        cheatSheetCounts[targets[i]]++;
+      } else if (types[i] == search) {
+        searchCounts[searches[i]]++;
+      }
+    }
+    return new Summary(
+        segment.rows(),
+        toCounts(dictionary, deviceCounts, Integer.MAX_VALUE),
+        toCounts(dictionary, videoCounts, SUMMARY_TOP_K),
+        toCounts(dictionary, cheatSheetCounts, SUMMARY_TOP_K),
+        toCounts(dictionary, searchCounts, SUMMARY_TOP_K));
+  }
+
+  // 사전 번호 (없으면 -1, 어떤 행과도 맞지 않음)
+  private static int code(String[] dictionary, String value) {
+    for (int i = 0; i < dictionary.length; i++) {
+      if (dictionary[i].equals(value)) {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  // 0번(null)은 건너뛴다
+  private static Map<String, Long> toCounts(String[] dictionary, long[] counts, int limit) {
+    Map<String, Long> result = new HashMap<>();
+    for (int code = 1; code < counts.length; code++) {
+      if (counts[code] > 0) {
+        result.put(dictionary[code - 1], counts[code]);
+      }
+    }
+    return result.size() <= limit ? result : toMap(top(result, limit));
+  }
+
+  private static Map<String, Long> toCounts(List<Map<String, Object>> rows) {
+    Map<String, Long> counts = new HashMap<>();
+    for (Map<String, Object> row : rows) {
+      counts.put((String) row.get("item"), ((Number) row.get("count")).longValue());
+    }
+    return counts;
+  }
+
+  private static Map<String, Long> toMap(List<Count> counts) {
+    Map<String, Long> map = new HashMap<>();
+    counts.forEach(count -> map.put(count.key(), count.count()));
+    return map;
+  }
+
+  private static List<Count> top(Map<String, Long> counts, int limit) {
+    return counts.entrySet().stream()
+        .map(entry -> new Count(entry.getKey(), entry.getValue()))
+        .sorted(Comparator.comparingLong(Count::count).reversed().thenComparing(Count::key))
+        .limit(limit)
+        .toList();
+  }
+
+  private List<SegmentFile> listSegments() throws IOException {
+    List<SegmentFile> segments = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          segments.add(
+              new SegmentFile(
+                  file, YearMonth.parse(matcher.group(1)), Long.parseLong(matcher.group(3))));
+        }
+      }
+    } catch (NoSuchFileException ex) {
+      // 아직 보관한 달이 없음
+    }
+    return segments;
+  }
+}
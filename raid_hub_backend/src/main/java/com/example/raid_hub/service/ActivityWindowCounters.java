@@ -0,0 +1,360 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.dto.ActivityWindowStats;
+import com.example.raid_hub.dto.ActivityWindowStats.Count;
+import com.example.raid_hub.entity.UserActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근 1시간/24시간/7일 활동 수를 세는 시간 버킷 카운터.
+ *
+ * <p>분 단위(120칸)와 시간 단위(336칸) 고리에 버킷마다 int 배열 하나를 둔다. 배열 인덱스는 기기/대상/검색어 값을 사전(dictionary)으로 바꾼 번호이다.
+ * 버킷 자리를 다시 쓸 때 0으로 채우므로 오래된 버킷은 지우지 않아도 사라진다. 각 고리는 구간 두 개(현재 + 직전)를 담아 변화량도 메모리에서 계산한다.
+ *
+ * <p>사전이 가득 차면 살아 있는 버킷에서 더 이상 쓰이지 않는 번호를 회수하고, 모자라면 가장 적게 센 값을 내보낸다. 카운터는 시작한 시점부터만 채워지므로, 직전 구간까지
+ * 덮지 못하는 동안에는 {@link #stats}가 빈 값을 반환하고 DB로 대신 조회한다.
+ */
+@Component
+public class ActivityWindowCounters {
+
+  private static final int TOP_K = 10;
+  private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+  private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+  /** 조회 구간. 고리는 구간 두 개 길이만큼 버킷을 담는다. */
+  public enum Window {
+    HOUR("1h", MINUTE_MILLIS, 60),
+    DAY("24h", HOUR_MILLIS, 24),
+    WEEK("7d", HOUR_MILLIS, 7 * 24);
+
+    private final String label;
+    private final long bucketMillis;
+    private final int buckets;
+
+    Window(String label, long bucketMillis, int buckets) {
+      this.label = label;
+      this.bucketMillis = bucketMillis;
+      this.buckets = buckets;
+    }
+
+    public String label() {
+      return label;
+    }
+  }
+
+  /** 구간 경계. 현재 구간 [from, to), 직전 구간 [previousFrom, from). */
+  public record WindowRange(Instant previousFrom, Instant from, Instant to) {}
+
+  private enum Dimension {
+    DEVICE,
+    VIDEO,
+    CHEATSHEET,
+    SEARCH
+  }
+
+  private final Clock clock;
+  private final int dictionaryCapacity;
+  private final Instant coveredSince;
+  private final Ring minutes = new Ring(Window.HOUR.bucketMillis, 2 * Window.HOUR.buckets);
+  private final Ring hours = new Ring(Window.WEEK.bucketMillis, 2 * Window.WEEK.buckets);
+  private final Counter dictionaryOverflow;
+
+  // 값 -> 번호 (키 앞에 Dimension 순번을 붙여 종류별로 구분)
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private final String[] names;
+  private final Dimension[] dimensions;
+  private long lastCompactionMinute = Long.MIN_VALUE;
+
+  @Autowired
+  public ActivityWindowCounters(
+      MeterRegistry meterRegistry,
+      @Value("${stats.windows.dictionary-capacity:2048}") int dictionaryCapacity) {
+    this(Clock.systemDefaultZone(), meterRegistry, dictionaryCapacity);
+  }
+
+  ActivityWindowCounters(Clock clock, MeterRegistry meterRegistry, int dictionaryCapacity) {
+    if (dictionaryCapacity < 1) {
+      throw new IllegalArgumentException("stats.windows.dictionary-capacity must be >= 1");
+    }
+    this.clock = clock;
+    this.dictionaryCapacity = dictionaryCapacity;
+    this.coveredSince = clock.instant();
+    this.names = new String[dictionaryCapacity];
+    this.dimensions = new Dimension[dictionaryCapacity];
+    this.dictionaryOverflow = meterRegistry.counter("stats.windows.dictionary.overflow");
+  }
+
+  public synchronized void record(UserActivity activity) {
+    long now = clock.millis();
+    // 이번 이벤트가 새 번호를 두 개까지 쓸 수 있으므로 번호를 받기 전에 미리 회수한다 (받은 번호가 도중에 바뀌지 않도록)
+    if (dictionary.size() > dictionaryCapacity - 2) {
+      tryCompactDictionary(now);
+    }
+    int[] ids = new int[2];
+    int count = 0;
+    int device = idOf(Dimension.DEVICE, activity.getDeviceType());
+    if (device >= 0) {
+      ids[count++] = device;
+    }
+    Dimension target =
+        switch (String.valueOf(activity.getActivityType())) {
+          case "VIDEO_CLICK" -> Dimension.VIDEO;
+          case "CHEATSHEET_CLICK" -> Dimension.CHEATSHEET;
+          case "SEARCH" -> Dimension.SEARCH;
+          default -> null;
+        };
+    if (target != null) {
+      String value =
+          target == Dimension.SEARCH ? activity.getSearchQuery() : activity.getTargetTitle();
+      int id = idOf(target, value);
+      if (id >= 0) {
+        ids[count++] = id;
+      }
+    }
+    minutes.add(now, ids, count);
+    hours.add(now, ids, count);
+  }
+
+  public WindowRange range(Window window) {
+    long bucket = Math.floorDiv(clock.millis(), window.bucketMillis);
+    long from = (bucket - window.buckets + 1) * window.bucketMillis;
+    long previousFrom = from - window.buckets * window.bucketMillis;
+    return new WindowRange(
+        Instant.ofEpochMilli(previousFrom), Instant.ofEpochMilli(from), clock.instant());
+  }
+
+  /** 메모리 카운터로 계산한 구간 통계. 카운터가 직전 구간 시작 이후에 켜졌으면 빈 값. */
+  public synchronized Optional<ActivityWindowStats> stats(Window window) {
+    WindowRange range = range(window);
+    if (range.previousFrom().isBefore(coveredSince)) {
+      return Optional.empty();
+    }
+    Ring ring = window.bucketMillis == MINUTE_MILLIS ? minutes : hours;
+    long current = Math.floorDiv(range.to().toEpochMilli(), window.bucketMillis);
+    long from = current - window.buckets + 1;
+
+    int[] counts = new int[dictionaryCapacity];
+    int[] previous = new int[dictionaryCapacity];
+    long total = ring.sum(from, current, counts);
+    long previousTotal = ring.sum(from - window.buckets, from - 1, previous);
+
+    return Optional.of(
+        new ActivityWindowStats(
+            window.label,
+            range.from(),
+            range.to(),
+            "memory",
+            total,
+            previousTotal,
+            total - previousTotal,
+            collect(Dimension.DEVICE, counts, previous, Integer.MAX_VALUE),
+            collect(Dimension.VIDEO, counts, previous, TOP_K),
+            collect(Dimension.CHEATSHEET, counts, previous, TOP_K),
+            collect(Dimension.SEARCH, counts, previous, TOP_K)));
+  }
+
+  private List<Count> collect(Dimension dimension, int[] counts, int[] previous, int limit) {
+    List<Count> result = new ArrayList<>();
+    for (int id = 0; id < dictionary.size(); id++) {
+      // 기기는 직전 구간에만 있던 값도 보여준다 (변화량 확인용)
+      boolean present = counts[id] > 0 || (dimension == Dimension.DEVICE && previous[id] > 0);
+      if (dimensions[id] == dimension && present) {
+        result.add(Count.of(names[id], counts[id], previous[id]));
+      }
+    }
+    result.sort(Comparator.comparingLong(Count::count).reversed().thenComparing(Count::key));
+    return result.size() <= limit ? result : List.copyOf(result.subList(0, limit));
+  }
+
+  // 빈 값이거나 사전이 가득 찼으면 -1
+  private int idOf(Dimension dimension, String value) {
+    if (value == null || value.isBlank()) {
+      return -1;
+    }
+    String key = dimension.ordinal() + value;
+    Integer id = dictionary.get(key);
+    if (id != null) {
+      return id;
+    }
+    if (dictionary.size() == dictionaryCapacity) {
+      dictionaryOverflow.increment();
+      return -1;
+    }
+    int next = dictionary.size();
+    dictionary.put(key, next);
+    names[next] = value;
+    dimensions[next] = dimension;
+    return next;
+  }
+
+  // 회수할 번호가 없을 때 이벤트마다 전체를 훑지 않도록 분당 한 번만 시도한다
+  private void tryCompactDictionary(long now) {
+    long minute = Math.floorDiv(now, MINUTE_MILLIS);
+    if (minute != lastCompactionMinute) {
+      lastCompactionMinute = minute;
+      compactDictionary(now);
+    }
+  }
+
+  /**
+   * 살아 있는 버킷에서 쓰이는 번호만 앞으로 모아 다시 매긴다. 그래도 빈 번호가 4분의 1보다 적으면 가장 적게 센 값(기기 제외)부터 내보낸다. 내보낸 값의 구간별 수는
+   * 사라지고 총계에만 남는다. (순위 밖의 긴 꼬리 검색어가 사전을 채우는 경우)
+   */
+  private void compactDictionary(long now) {
+    long[] usage = new long[dictionaryCapacity];
+    minutes.addUsage(now, usage);
+    hours.addUsage(now, usage);
+
+    List<Integer> live = new ArrayList<>();
+    for (int id = 0; id < dictionary.size(); id++) {
+      if (usage[id] > 0) {
+        live.add(id);
+      }
+    }
+    int wanted = Math.max(1, dictionaryCapacity / 4);
+    int free = dictionaryCapacity - live.size();
+    if (free < wanted) {
+      live.stream()
+          .filter(id -> dimensions[id] != Dimension.DEVICE)
+          .sorted(Comparator.comparingLong(id -> usage[id]))
+          .limit(wanted - free)
+          .forEach(id -> usage[id] = 0);
+    }
+
+    int[] remap = new int[dictionaryCapacity];
+    int next = 0;
+    for (int id = 0; id < dictionaryCapacity; id++) {
+      if (usage[id] > 0) {
+        remap[id] = next;
+        names[next] = names[id];
+        dimensions[next] = dimensions[id];
+        next++;
+      } else {
+        remap[id] = -1;
+      }
+    }
+    Arrays.fill(names, next, dictionaryCapacity, null);
+    Arrays.fill(dimensions, next, dictionaryCapacity, null);
+    dictionary.replaceAll((key, id) -> remap[id]);
+    dictionary.values().removeIf(id -> id < 0);
+    minutes.remap(now, remap);
+    hours.remap(now, remap);
+  }
+
+  /** 고정 개수 버킷 고리. 자리마다 버킷 번호, 총계, 사전 번호별 카운터 배열을 둔다. */
+  private final class Ring {
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final long[] totals;
+    private final int[][] counts;
+
+    private Ring(long bucketMillis, int slots) {
+      this.bucketMillis = bucketMillis;
+      this.bucketIds = new long[slots];
+      this.totals = new long[slots];
+      this.counts = new int[slots][];
+      Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    private void add(long now, int[] ids, int count) {
+      int slot = slotFor(Math.floorDiv(now, bucketMillis));
+      totals[slot]++;
+      for (int i = 0; i < count; i++) {
+        int id = ids[i];
+        int[] bucket = counts[slot];
+        if (bucket == null || bucket.length <= id) {
+          // 사전이 커지는 만큼만 늘린다
+          int grown = Math.max(id + 1, bucket == null ? 64 : bucket.length * 2);
+          int size = Math.min(dictionaryCapacity, grown);
+          bucket = bucket == null ? new int[size] : Arrays.copyOf(bucket, size);
+          counts[slot] = bucket;
+        }
+        bucket[id]++;
+      }
+    }
+
+    // 버킷 [from, to]를 더한다. 총계를 반환
+    private long sum(long from, long to, int[] out) {
+      long total = 0;
+      for (int slot = 0; slot < bucketIds.length; slot++) {
+        long id = bucketIds[slot];
+        if (id < from || id > to) {
+          continue;
+        }
+        total += totals[slot];
+        int[] bucket = counts[slot];
+        if (bucket != null) {
+          for (int i = 0; i < bucket.length; i++) {
+            out[i] += bucket[i];
+          }
+        }
+      }
+      return total;
+    }
+
+    private int slotFor(long bucketId) {
+      int slot = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+      if (bucketIds[slot] != bucketId) {
+        bucketIds[slot] = bucketId;
+        totals[slot] = 0;
+        if (counts[slot] != null) {
+          Arrays.fill(counts[slot], 0);
+        }
+      }
+      return slot;
+    }
+
+    private boolean live(int slot, long now) {
+      return bucketIds[slot] > Math.floorDiv(now, bucketMillis) - bucketIds.length;
+    }
+
+    // 살아 있는 버킷의 번호별 합계를 더한다
+    private void addUsage(long now, long[] usage) {
+      for (int slot = 0; slot < bucketIds.length; slot++) {
+        int[] bucket = counts[slot];
+        if (bucket == null || !live(slot, now)) {
+          continue;
+        }
+        for (int id = 0; id < bucket.length; id++) {
+          usage[id] += bucket[id];
+        }
+      }
+    }
+
+    private void remap(long now, int[] remap) {
+      for (int slot = 0; slot < bucketIds.length; slot++) {
+        int[] bucket = counts[slot];
+        if (bucket == null) {
+          continue;
+        }
+        if (!live(slot, now)) {
+          bucketIds[slot] = Long.MIN_VALUE;
+          totals[slot] = 0;
+          Arrays.fill(bucket, 0);
+          continue;
+        }
+        int[] moved = new int[bucket.length];
+        for (int id = 0; id < bucket.length; id++) {
+          if (bucket[id] > 0 && remap[id] >= 0) {
+            moved[remap[id]] = bucket[id];
+          }
+        }
+        counts[slot] = moved;
+      }
+    }
+  }
+}
@@ -3,35 +3,91 @@ package com.example.raid_hub.service;
 import com.example.raid_hub.entity.BlockedVideo;
 import com.example.raid_hub.repository.BlockedVideoRepository;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * 차단 영상 목록. 조회가 많으므로 ID 집합을 메모리에 두고, 차단/해제가 커밋되면 다시 읽는다.
+ *
+ * <p>집합은 노드마다 따로 있고 커밋 이벤트는 쓰기를 처리한 노드에서만 받으므로, 다른 노드의 변경은 주기적으로 다시 읽어 반영한다(기본 1분).
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BlockedVideoService {
 
   private final BlockedVideoRepository blockedVideoRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  // 차단 ID 집합 (불변). 차단/해제가 커밋될 때마다 통째로 교체한다.
+  private volatile Set<String> blockedIds;
 
   @Transactional
   public BlockedVideo blockVideo(String videoId, String reason) {
-    return blockedVideoRepository
-        .findByVideoId(videoId)
-        .orElseGet(
-            () -> {
-              BlockedVideo blockedVideo =
-                  BlockedVideo.builder().videoId(videoId).reason(reason).build();
-              return blockedVideoRepository.save(blockedVideo);
-            });
+    BlockedVideo blockedVideo =
+        blockedVideoRepository
+            .findByVideoId(videoId)
+            .orElseGet(
+                () -> {
+                  BlockedVideo newBlockedVideo =
+                      BlockedVideo.builder().videoId(videoId).reason(reason).build();
+                  return blockedVideoRepository.save(newBlockedVideo);
+                });
+    eventPublisher.publishEvent(new BlockedVideosChangedEvent());
+    return blockedVideo;
   }
 
   @Transactional
   public void unblockVideo(String videoId) {
     blockedVideoRepository.findByVideoId(videoId).ifPresent(blockedVideoRepository::delete);
+    eventPublisher.publishEvent(new BlockedVideosChangedEvent());
   }
 
-  @Transactional(readOnly = true)
   public List<String> getBlockedVideoIds() {
-    return blockedVideoRepository.findAll().stream().map(BlockedVideo::getVideoId).toList();
+    return List.copyOf(getBlockedVideoIdSet());
+  }
+
+  /** 메모리에 유지되는 차단 ID 집합. 조회 시 DB에 접근하지 않는다. */
+  public Set<String> getBlockedVideoIdSet() {
+    Set<String> ids = blockedIds;
+    return ids != null ? ids : reload();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBlockedVideosChanged(BlockedVideosChangedEvent event) {
+    reload();
   }
+
+  // 다른 노드에서 커밋된 차단/해제 반영 (아직 한 번도 읽지 않았으면 건너뛴다)
+  @Scheduled(
+      initialDelayString = "${catalog.blocked-videos.refresh-interval-ms:60000}",
+      fixedDelayString = "${catalog.blocked-videos.refresh-interval-ms:60000}")
+  public void refresh() {
+    if (blockedIds == null) {
+      return;
+    }
+    try {
+      reload();
+    } catch (RuntimeException ex) {
+      log.warn("Failed to refresh blocked videos: {}", ex.getMessage());
+    }
+  }
+
+  private synchronized Set<String> reload() {
+    Set<String> ids =
+        blockedVideoRepository.findAll().stream()
+            .map(BlockedVideo::getVideoId)
+            .collect(Collectors.toUnmodifiableSet());
+    blockedIds = ids;
+    return ids;
+  }
+
+  public record BlockedVideosChangedEvent() {}
 }
@@ -0,0 +1,10 @@
+package com.example.raid_hub.service;
+
+/** 영상/컨닝페이퍼 목록이 바뀌었음을 알리는 이벤트. 커밋 이후 카탈로그 스냅샷을 다시 만든다. */
+public record CatalogChangedEvent(Catalog catalog) {
+
+  public enum Catalog {
+    VIDEOS,
+    CHEAT_SHEETS
+  }
+}
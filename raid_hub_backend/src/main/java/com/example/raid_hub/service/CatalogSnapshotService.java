@@ -0,0 +1,181 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.CheatSheet;
+import com.example.raid_hub.entity.RaidVideo;
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.repository.RaidVideoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 영상/컨닝페이퍼 목록의 불변 스냅샷.
+ *
+ * <p>GET 요청은 쓰기보다 압도적으로 많으므로, 쓰기가 커밋될 때마다 전체 목록을 다시 읽어 인덱스와 직렬화된 JSON 바이트를 함께 만들어 두고 참조만 원자적으로
+ * 교체한다(copy-on-write). 조회 시에는 DB 트랜잭션도, Jackson 직렬화도 일어나지 않는다.
+ *
+ * <p>스냅샷은 노드마다 따로 있고 노드 간 무효화는 없다. 커밋 이벤트는 쓰기를 처리한 노드에서만 받으므로, 다른 노드의 변경은 주기적으로 다시 읽어 반영한다(기본 1분).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotService {
+
+  private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  private final RaidVideoRepository raidVideoRepository;
+  private final CheatSheetRepository cheatSheetRepository;
+  private final ObjectMapper objectMapper;
+
+  private final AtomicReference<Snapshot<RaidVideo>> videos = new AtomicReference<>();
+  private final AtomicReference<Snapshot<CheatSheet>> cheatSheets = new AtomicReference<>();
+
+  /** raidName, gate가 비어 있으면 해당 조건 없이 조회한다. */
+  public byte[] getVideosJson(String raidName, String gate) {
+    return videoSnapshot().json(raidName, gate);
+  }
+
+  public byte[] getCheatSheetsJson(String raidName, String gate) {
+    return cheatSheetSnapshot().json(raidName, gate);
+  }
+
+  public Optional<byte[]> getVideoJson(Long id) {
+    return Optional.ofNullable(videoSnapshot().byIdJson().get(id));
+  }
+
+  public Optional<byte[]> getCheatSheetJson(Long id) {
+    return Optional.ofNullable(cheatSheetSnapshot().byIdJson().get(id));
+  }
+
+  // 커밋 이후에 다시 읽어야 롤백된 변경이 스냅샷에 섞이지 않는다
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    switch (event.catalog()) {
+      case VIDEOS -> rebuildVideos();
+      case CHEAT_SHEETS -> rebuildCheatSheets();
+    }
+  }
+
+  // 다른 노드에서 커밋된 변경 반영 (아직 한 번도 조회되지 않은 목록은 건너뛴다)
+  @Scheduled(
+      initialDelayString = "${catalog.snapshot.refresh-interval-ms:60000}",
+      fixedDelayString = "${catalog.snapshot.refresh-interval-ms:60000}")
+  public void refresh() {
+    try {
+      if (videos.get() != null) {
+        rebuildVideos();
+      }
+      if (cheatSheets.get() != null) {
+        rebuildCheatSheets();
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to refresh catalog snapshot: {}", ex.getMessage());
+    }
+  }
+
+  private Snapshot<RaidVideo> videoSnapshot() {
+    Snapshot<RaidVideo> snapshot = videos.get();
+    return snapshot != null ? snapshot : rebuildVideos();
+  }
+
+  private Snapshot<CheatSheet> cheatSheetSnapshot() {
+    Snapshot<CheatSheet> snapshot = cheatSheets.get();
+    return snapshot != null ? snapshot : rebuildCheatSheets();
+  }
+
+  // 재구성은 드물게 일어나므로 동기화로 순서를 보장한다 (늦게 시작한 재구성이 항상 최신 상태를 덮어쓴다)
+  private synchronized Snapshot<RaidVideo> rebuildVideos() {
+    Snapshot<RaidVideo> snapshot =
+        build(
+            raidVideoRepository.findAll(),
+            RaidVideo::getId,
+            RaidVideo::getRaidName,
+            RaidVideo::getGate);
+    videos.set(snapshot);
+    log.debug("Rebuilt video catalog snapshot ({} items)", snapshot.size());
+    return snapshot;
+  }
+
+  private synchronized Snapshot<CheatSheet> rebuildCheatSheets() {
+    Snapshot<CheatSheet> snapshot =
+        build(
+            cheatSheetRepository.findAll(),
+            CheatSheet::getId,
+            CheatSheet::getRaidName,
+            CheatSheet::getGate);
+    cheatSheets.set(snapshot);
+    log.debug("Rebuilt cheat sheet catalog snapshot ({} items)", snapshot.size());
+    return snapshot;
+  }
+
+  private <T> Snapshot<T> build(
+      List<T> all, Function<T, Long> idOf, Function<T, String> raidOf, Function<T, String> gateOf) {
+    Map<Long, byte[]> byId =
+        all.stream().collect(Collectors.toUnmodifiableMap(idOf, this::encode, (a, b) -> b));
+    Map<String, List<T>> byRaid = group(all, raidOf);
+    Map<String, List<T>> byRaidGate =
+        group(all, item -> raidGateKey(raidOf.apply(item), gateOf.apply(item)));
+
+    return new Snapshot<>(
+        all.size(), byId, encode(all), encodeEach(byRaid), encodeEach(byRaidGate));
+  }
+
+  private <T> Map<String, List<T>> group(List<T> all, Function<T, String> keyOf) {
+    // 원본 순서를 유지하기 위해 LinkedHashMap + toList 사용
+    return all.stream()
+        .filter(item -> keyOf.apply(item) != null)
+        .collect(Collectors.groupingBy(keyOf, LinkedHashMap::new, Collectors.toList()));
+  }
+
+  private <T> Map<String, byte[]> encodeEach(Map<String, List<T>> groups) {
+    Map<String, byte[]> encoded = new LinkedHashMap<>();
+    groups.forEach((key, items) -> encoded.put(key, encode(items)));
+    return Map.copyOf(encoded);
+  }
+
+  private byte[] encode(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize catalog snapshot", e);
+    }
+  }
+
+  private static String raidGateKey(String raidName, String gate) {
+    return raidName + "\u0000" + gate;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+
+  private record Snapshot<T>(
+      int size,
+      Map<Long, byte[]> byIdJson,
+      byte[] allJson,
+      Map<String, byte[]> byRaidJson,
+      Map<String, byte[]> byRaidGateJson) {
+
+    byte[] json(String raidName, String gate) {
+      if (isBlank(raidName)) {
+        return allJson;
+      }
+      if (isBlank(gate)) {
+        return byRaidJson.getOrDefault(raidName, EMPTY_ARRAY);
+      }
+      return byRaidGateJson.getOrDefault(raidGateKey(raidName, gate), EMPTY_ARRAY);
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.CheatSheet.DerivativeStatus;
+import com.example.raid_hub.repository.CheatSheetRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 컨닝페이퍼 업로드 후 목록용 썸네일과 모바일용 중간 크기 이미지를 백그라운드에서 만든다.
+ *
+ * <p>작업 스레드 수와 대기열 크기가 정해져 있으며, 대기열이 가득 차면 업로드를 503으로 거절한다. 확인과 제출 사이에 대기열이 찬 경우에는 업로드 요청 스레드가 직접
+ * 처리한다(CallerRunsPolicy).
+ *
+ * <p>디코딩 전에 헤더의 가로/세로만 읽어 픽셀 수가 한도(max-pixels)를 넘으면 만들지 않고, 중간 크기보다 훨씬 큰 원본은 건너뛰며(subsampling) 읽어
+ * 원본 크기 그대로 메모리에 풀지 않는다. 재시작으로 대기 중(PENDING)에 남은 컨닝페이퍼는 기동 후 별도 스레드에서 다시 대기열에 넣는다.
+ */
+@Slf4j
+@Service
+public class CheatSheetDerivativeService {
+
+  static final int THUMBNAIL_WIDTH = 320;
+  static final int MEDIUM_WIDTH = 1080;
+  private static final float JPEG_QUALITY = 0.85f;
+
+  private final CheatSheetRepository cheatSheetRepository;
+  private final CheatSheetStorage storage;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ThreadPoolExecutor executor;
+  private final long maxPixels;
+
+  public CheatSheetDerivativeService(
+      CheatSheetRepository cheatSheetRepository,
+      CheatSheetStorage storage,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${cheatsheet.derivatives.workers:2}") int workers,
+      @Value("${cheatsheet.derivatives.queue-capacity:20}") int queueCapacity,
+      @Value("${cheatsheet.derivatives.max-pixels:16000000}") long maxPixels) {
+    this.cheatSheetRepository = cheatSheetRepository;
+    this.storage = storage;
+    this.eventPublisher = eventPublisher;
+    this.maxPixels = maxPixels;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            workers,
+            workers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "cheatsheet-derivative-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    Gauge.builder("cheatsheet.derivatives.queued", executor, e -> e.getQueue().size())
+        .register(meterRegistry);
+  }
+
+  /** 업로드를 받기 전에 호출한다. 대기열이 가득 찼으면 503. */
+  public void ensureCapacity() {
+    if (executor.getQueue().remainingCapacity() == 0) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+    }
+  }
+
+  // 롤백된 업로드에 대해서는 만들지 않는다
+  @TransactionalEventListener
+  public void onUploaded(CheatSheetUploadedEvent event) {
+    executor.execute(() -> generate(event.cheatSheetId(), event.original()));
+  }
+
+  // 처리 전에 재시작되어 PENDING으로 남은 행을 다시 대기열에 넣는다.
+  // 대기열이 차면 넣는 스레드가 직접 처리하므로(CallerRunsPolicy) 기동 스레드가 아닌 별도 스레드에서 한다
+  @EventListener(ApplicationReadyEvent.class)
+  public void requeuePending() {
+    Thread thread = new Thread(this::requeue, "cheatsheet-derivative-requeue");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void requeue() {
+    List<Object[]> pending =
+        cheatSheetRepository.findIdAndImageUrlByDerivativeStatus(DerivativeStatus.PENDING);
+    for (Object[] row : pending) {
+      Long id = (Long) row[0];
+      Path original = storage.resolve((String) row[1]);
+      if (original == null || !Files.exists(original)) {
+        cheatSheetRepository.updateDerivatives(id, null, null, DerivativeStatus.FAILED);
+        continue;
+      }
+      executor.execute(() -> generate(id, original));
+    }
+    if (!pending.isEmpty()) {
+      log.info("Requeued {} cheat sheets with pending derivatives", pending.size());
+    }
+  }
+
+  void generate(Long id, Path original) {
+    DerivativeStatus status;
+    String thumbnailUrl = null;
+    String mediumUrl = null;
+    try {
+      BufferedImage image = isGif(original) ? null : read(original);
+      if (image == null) {
+        status = DerivativeStatus.SKIPPED;
+      } else {
+        thumbnailUrl =
+            writeVariant(image, original, CheatSheetStorage.THUMBNAIL_SUFFIX, THUMBNAIL_WIDTH);
+        mediumUrl = writeVariant(image, original, CheatSheetStorage.MEDIUM_SUFFIX, MEDIUM_WIDTH);
+        status = DerivativeStatus.READY;
+      }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Failed to create derivatives for cheat sheet {}: {}", id, ex.getMessage());
+      status = DerivativeStatus.FAILED;
+    }
+
+    cheatSheetRepository.updateDerivatives(id, thumbnailUrl, mediumUrl, status);
+    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.CHEAT_SHEETS));
+  }
+
+  /** 읽을 수 없는 형식이거나 픽셀 수가 한도를 넘으면 디코딩하지 않고 null. */
+  private BufferedImage read(Path original) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+      Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+      if (readers == null || !readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int width = reader.getWidth(0);
+        long pixels = (long) width * reader.getHeight(0);
+        if (pixels > maxPixels) {
+          log.info(
+              "Skipping derivatives for {}: {} pixels exceeds {}", original, pixels, maxPixels);
+          return null;
+        }
+        // 읽은 폭이 중간 크기 이상으로 남는 만큼만 건너뛰며 읽는다 (이후 resize가 마저 줄임)
+        ImageReadParam param = reader.getDefaultReadParam();
+        int step = Math.max(1, width / MEDIUM_WIDTH);
+        if (step > 1) {
+          param.setSourceSubsampling(step, step, 0, 0);
+        }
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * 원본 폭이 targetWidth 이하이면 원본 URL을 그대로 쓰고, 아니면 비율을 유지해 줄인 JPEG을 원본 옆에 저장한다. (예: abc.png →
+   * abc_thumb.jpg) 원본은 내용 주소로 저장되므로 같은 이름의 파생 이미지가 이미 있으면 다시 만들지 않는다.
+   */
+  private String writeVariant(BufferedImage image, Path original, String suffix, int targetWidth)
+      throws IOException {
+    if (image.getWidth() <= targetWidth) {
+      return storage.urlFor(original);
+    }
+
+    String fileName = original.getFileName().toString();
+    String variantName = fileName.substring(0, fileName.lastIndexOf('.')) + suffix;
+    Path target = original.resolveSibling(variantName);
+    if (Files.exists(target)) {
+      return storage.urlFor(target);
+    }
+
+    int targetHeight =
+        Math.max(1, Math.round((float) image.getHeight() * targetWidth / image.getWidth()));
+    BufferedImage resized = resize(image, targetWidth, targetHeight);
+    // 같은 원본을 공유하는 업로드가 동시에 만들 수 있으므로 임시 파일 이름은 작업마다 다르게 한다
+    Path temp = Files.createTempFile(original.getParent(), variantName, ".tmp");
+    try {
+      writeJpeg(resized, temp);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return storage.urlFor(target);
+  }
+
+  // 한 번에 크게 줄이면 글씨가 뭉개지므로 절반씩 여러 번 줄인다
+  private BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight) {
+    BufferedImage current = toRgb(source);
+    int width = current.getWidth();
+    int height = current.getHeight();
+    while (width != targetWidth) {
+      width = Math.max(width / 2, targetWidth);
+      height = width == targetWidth ? targetHeight : Math.max(height / 2, targetHeight);
+      BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = next.createGraphics();
+      try {
+        g.setRenderingHint(
+            RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(current, 0, 0, width, height, null);
+      } finally {
+        g.dispose();
+      }
+      current = next;
+    }
+    return current;
+  }
+
+  // JPEG은 알파 채널이 없으므로 투명 영역은 흰색으로 채운다
+  private BufferedImage toRgb(BufferedImage source) {
+    if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+      return source;
+    }
+    BufferedImage rgb =
+        new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = rgb.createGraphics();
+    try {
+      g.setColor(Color.WHITE);
+      g.fillRect(0, 0, source.getWidth(), source.getHeight());
+      g.drawImage(source, 0, 0, null);
+    } finally {
+      g.dispose();
+    }
+    return rgb;
+  }
+
+  private void writeJpeg(BufferedImage image, Path target) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+    if (!writers.hasNext()) {
+      throw new IOException("No JPEG writer available");
+    }
+    ImageWriter writer = writers.next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+      writer.setOutput(out);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(JPEG_QUALITY);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  private boolean isGif(Path path) {
+    return path.getFileName().toString().toLowerCase().endsWith(".gif");
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.raid_hub.service;
+
+/** 컨닝페이퍼가 삭제되어 이미지 참조가 하나 줄었음을 알리는 이벤트. 커밋 이후 참조가 없으면 파일을 지운다. */
+public record CheatSheetImageReleasedEvent(String contentHash, String imageUrl) {}
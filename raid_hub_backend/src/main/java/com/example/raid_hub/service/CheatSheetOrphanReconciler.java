@@ -0,0 +1,244 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.repository.CheatSheetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 참조가 끊긴 컨닝페이퍼 이미지 정리기.
+ *
+ * <p>삭제 이벤트를 놓쳤거나(이전 업로드, 리스너 실패) 파일 저장 뒤 트랜잭션이 실패해 남은 파일을 찾아 지운다. 한 번에 저장소 전체를 훑지 않고, 실행마다 해시 샤드
+ * 디렉터리({@code ab/}) 몇 개씩만 검사한 뒤 다음 실행에서 이어간다. 파일은 batch 단위로 DB와 대조하며, 마지막 수정 후 grace period가 지나지 않은
+ * 파일은 건드리지 않는다. (업로드 직후 아직 커밋되지 않은 파일, 생성 중인 축소 이미지 보호)
+ */
+@Slf4j
+@Component
+public class CheatSheetOrphanReconciler {
+
+  private final CheatSheetRepository cheatSheetRepository;
+  private final CheatSheetStorage storage;
+  private final ImageMetadataCache imageMetadataCache;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Duration gracePeriod;
+  private final int filesPerRun;
+  private final int batchSize;
+  private final Counter reclaimedBytes;
+  private final Counter reclaimedFiles;
+
+  // 이번 주기에서 아직 검사하지 않은 샤드 (저장소 최상위 = 이전 방식의 평평한 파일들)
+  private final Deque<Path> pendingShards = new ArrayDeque<>();
+
+  @Autowired
+  public CheatSheetOrphanReconciler(
+      CheatSheetRepository cheatSheetRepository,
+      CheatSheetStorage storage,
+      ImageMetadataCache imageMetadataCache,
+      MeterRegistry meterRegistry,
+      @Value("${cheatsheet.reconciler.enabled:true}") boolean enabled,
+      @Value("${cheatsheet.reconciler.grace-period:24h}") Duration gracePeriod,
+      @Value("${cheatsheet.reconciler.files-per-run:500}") int filesPerRun,
+      @Value("${cheatsheet.reconciler.batch-size:100}") int batchSize) {
+    this(
+        cheatSheetRepository,
+        storage,
+        imageMetadataCache,
+        meterRegistry,
+        Clock.systemUTC(),
+        enabled,
+        gracePeriod,
+        filesPerRun,
+        batchSize);
+  }
+
+  CheatSheetOrphanReconciler(
+      CheatSheetRepository cheatSheetRepository,
+      CheatSheetStorage storage,
+      ImageMetadataCache imageMetadataCache,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      boolean enabled,
+      Duration gracePeriod,
+      int filesPerRun,
+      int batchSize) {
+    if (filesPerRun < 1 || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "cheatsheet.reconciler files-per-run and batch-size must be >= 1");
+    }
+    this.cheatSheetRepository = cheatSheetRepository;
+    this.storage = storage;
+    this.imageMetadataCache = imageMetadataCache;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.gracePeriod = gracePeriod;
+    this.filesPerRun = filesPerRun;
+    this.batchSize = batchSize;
+    this.reclaimedBytes = meterRegistry.counter("cheatsheet.storage.reclaimed.bytes");
+    this.reclaimedFiles = meterRegistry.counter("cheatsheet.storage.reclaimed.files");
+  }
+
+  @Scheduled(
+      initialDelayString = "${cheatsheet.reconciler.interval-ms:60000}",
+      fixedDelayString = "${cheatsheet.reconciler.interval-ms:60000}")
+  public void scheduledRun() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      runOnce();
+    } catch (RuntimeException ex) {
+      log.warn("Cheat sheet storage reconciliation failed: {}", ex.getMessage());
+    }
+  }
+
+  /** 다음 샤드들을 files-per-run개 정도까지 검사한다. 반환값은 지운 파일 수. */
+  synchronized int runOnce() {
+    if (pendingShards.isEmpty()) {
+      startCycle();
+    }
+    int scanned = 0;
+    int deleted = 0;
+    while (scanned < filesPerRun && !pendingShards.isEmpty()) {
+      List<Path> files = listFiles(pendingShards.poll());
+      scanned += files.size();
+      for (int from = 0; from < files.size(); from += batchSize) {
+        deleted += reconcile(files.subList(from, Math.min(from + batchSize, files.size())));
+      }
+    }
+    return deleted;
+  }
+
+  private void startCycle() {
+    sweepIncoming();
+    Path root = storage.getRoot();
+    pendingShards.add(root);
+    try (Stream<Path> entries = Files.list(root)) {
+      entries.filter(Files::isDirectory).sorted().forEach(pendingShards::add);
+    } catch (IOException ex) {
+      log.warn("Failed to list cheat sheet storage {}: {}", root, ex.getMessage());
+    }
+  }
+
+  // 중단된 업로드가 남긴 임시 파일
+  private void sweepIncoming() {
+    try (Stream<Path> entries = Files.list(storage.getIncoming())) {
+      entries.filter(Files::isRegularFile).filter(this::pastGracePeriod).forEach(this::delete);
+    } catch (IOException ex) {
+      log.warn("Failed to sweep incoming uploads: {}", ex.getMessage());
+    }
+  }
+
+  private List<Path> listFiles(Path shard) {
+    // 최상위는 이전 방식 파일만 (샤드 디렉터리는 따로 검사), 샤드는 ab/cd/ 두 단계
+    int depth = shard.equals(storage.getRoot()) ? 1 : 2;
+    try (Stream<Path> entries = Files.walk(shard, depth)) {
+      return entries.filter(Files::isRegularFile).toList();
+    } catch (NoSuchFileException ex) {
+      return List.of();
+    } catch (IOException ex) {
+      log.warn("Failed to list cheat sheet shard {}: {}", shard, ex.getMessage());
+      return List.of();
+    }
+  }
+
+  private int reconcile(List<Path> files) {
+    List<Path> candidates = files.stream().filter(this::pastGracePeriod).toList();
+    if (candidates.isEmpty()) {
+      return 0;
+    }
+
+    Set<String> hashes = new HashSet<>();
+    Set<String> legacyUrls = new HashSet<>();
+    for (Path file : candidates) {
+      String hash = CheatSheetStorage.contentHashOf(file.getFileName().toString());
+      if (hash != null) {
+        hashes.add(hash);
+      } else {
+        legacyUrls.add(storage.urlFor(file));
+      }
+    }
+    Set<String> referencedHashes =
+        hashes.isEmpty()
+            ? Set.of()
+            : new HashSet<>(cheatSheetRepository.findReferencedContentHashes(hashes));
+    Set<String> referencedUrls = new HashSet<>();
+    if (!legacyUrls.isEmpty()) {
+      for (Object[] row : cheatSheetRepository.findReferencedImageUrls(legacyUrls)) {
+        Arrays.stream(row)
+            .filter(Objects::nonNull)
+            .map(String::valueOf)
+            .forEach(referencedUrls::add);
+      }
+    }
+
+    List<Path> orphans = new ArrayList<>();
+    for (Path file : candidates) {
+      String hash = CheatSheetStorage.contentHashOf(file.getFileName().toString());
+      boolean referenced =
+          hash != null
+              ? referencedHashes.contains(hash)
+              : referencedUrls.contains(storage.urlFor(file));
+      if (!referenced) {
+        orphans.add(file);
+      }
+    }
+
+    int deleted = 0;
+    for (Path orphan : orphans) {
+      // DB 조회 사이에 같은 내용이 다시 업로드되면(중복 저장 시 수정 시각 갱신) 지우지 않는다.
+      // 수정 시각 확인과 삭제는 저장소 잠금 안에서 다시 한다
+      if (delete(orphan)) {
+        // 빈 샤드 디렉터리는 남긴다 (동시에 진행 중인 업로드의 이동 대상일 수 있음)
+        imageMetadataCache.evict(orphan);
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  private boolean pastGracePeriod(Path file) {
+    try {
+      Instant modified = Files.getLastModifiedTime(file).toInstant();
+      return modified.isBefore(clock.instant().minus(gracePeriod));
+    } catch (IOException ex) {
+      return false;
+    }
+  }
+
+  private boolean delete(Path file) {
+    try {
+      long size = storage.deleteIfModifiedBefore(file, clock.instant().minus(gracePeriod));
+      if (size < 0) {
+        return false;
+      }
+      reclaimedBytes.increment(size);
+      reclaimedFiles.increment();
+      log.info("Deleted orphaned cheat sheet file {} ({} bytes)", file, size);
+      return true;
+    } catch (IOException ex) {
+      log.warn("Failed to delete orphaned cheat sheet file {}: {}", file, ex.getMessage());
+      return false;
+    }
+  }
+}
@@ -1,45 +1,43 @@
 package com.example.raid_hub.service;
 
+import com.example.raid_hub.dto.CheatSheetCard;
+import com.example.raid_hub.dto.CursorPage;
+import com.example.raid_hub.dto.KeysetCursor;
 import com.example.raid_hub.entity.CheatSheet;
 import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
+@RequiredArgsConstructor
 public class CheatSheetService {
 
   private final CheatSheetRepository cheatSheetRepository;
-  private final String uploadDir;
-
-  public CheatSheetService(
-      CheatSheetRepository cheatSheetRepository, @Value("${file.upload-dir}") String uploadDir) {
-    this.cheatSheetRepository = cheatSheetRepository;
-    this.uploadDir = uploadDir;
-
-    // 업로드 폴더가 없으면 생성
-    try {
-      Files.createDirectories(Paths.get(uploadDir));
-    } catch (IOException e) {
-      throw new RuntimeException("Could not create upload directory", e);
-    }
-  }
+  private final CheatSheetStorage storage;
+  private final CheatSheetDerivativeService derivativeService;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${cheatsheet.upload.max-size:50MB}")
+  private DataSize maxUploadSize;
 
   @Transactional
   public CheatSheet uploadCheatSheet(
       String title, String raidName, String gate, String uploaderName, MultipartFile file)
       throws IOException {
 
-    // 0. 파일 유효성 검사 (확장자 및 MIME 타입)
+    // 0. 파일 유효성 검사 (확장자, 내용은 저장하면서 시그니처로 확인)
     String originalFilename = file.getOriginalFilename();
     if (originalFilename == null || !originalFilename.contains(".")) {
       throw new IllegalArgumentException("유효하지 않은 파일 이름입니다.");
@@ -52,38 +50,93 @@ public class CheatSheetService {
       throw new IllegalArgumentException("허용되지 않는 파일 확장자입니다. (jpg, jpeg, png, gif, webp만 가능)");
     }
 
-    // String contentType = file.getContentType();
-    // if (contentType == null || !contentType.startsWith("image/")) {
-    //   throw new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다.");
-    // }
+    // 축소 이미지 작업이 밀려 있으면 파일을 받기 전에 거절한다
+    derivativeService.ensureCapacity();
 
-    // 1. 파일 이름 생성 (중복 방지)
-    String newFilename = UUID.randomUUID().toString() + extension;
+    // 1. 이미지 시그니처를 확인하며 저장, SHA-256 계산 → ab/cd/<hash>.ext (같은 이미지는 기존 파일 공유)
+    StoredImage image;
+    try (InputStream in = file.getInputStream()) {
+      image = storage.storeImage(in, maxUploadSize.toBytes());
+    }
+
+    // 2. DB 저장 (imageUrl은 프론트에서 접근 가능한 URL 경로)
+    return saveCheatSheet(title, raidName, gate, uploaderName, image);
+  }
 
-    // 2. 파일 저장 경로 설정 및 저장
-    Path path = Paths.get(uploadDir).resolve(newFilename);
-    Files.copy(file.getInputStream(), path, StandardCopyOption.REPLACE_EXISTING);
+  /**
+   * 요청 본문(이미지 바이트 그대로)을 한 번에 저장소로 흘려보낸다. multipart처럼 임시 파일에 한 번 받고 다시 복사하지 않는다.
+   *
+   * <p>선언된 길이가 한도를 넘으면 읽기 전에, 첫 바이트가 이미지가 아니거나 실제 길이가 한도를 넘으면 그 자리에서 중단한다. 느린 업로드 동안 DB 커넥션을 잡지 않도록
+   * 트랜잭션 밖에서 받고, 등록은 {@link #registerCheatSheet}로 따로 한다.
+   *
+   * @param contentLength Content-Length (모르면 -1)
+   */
+  public StoredImage receiveImage(InputStream body, long contentLength) throws IOException {
+    long maxBytes = maxUploadSize.toBytes();
+    if (contentLength > maxBytes) {
+      throw new ResponseStatusException(
+          HttpStatus.PAYLOAD_TOO_LARGE, "File exceeds " + maxBytes + " bytes");
+    }
+    derivativeService.ensureCapacity();
+    return storage.storeImage(body, maxBytes);
+  }
+
+  @Transactional
+  public CheatSheet registerCheatSheet(
+      String title, String raidName, String gate, String uploaderName, StoredImage image) {
+    return saveCheatSheet(title, raidName, gate, uploaderName, image);
+  }
 
-    // 3. DB 저장 (imageUrl은 프론트에서 접근 가능한 URL 경로)
+  private CheatSheet saveCheatSheet(
+      String title, String raidName, String gate, String uploaderName, StoredImage image) {
     CheatSheet cheatSheet =
         CheatSheet.builder()
             .title(title)
             .raidName(raidName)
             .gate(gate)
             .uploaderName(uploaderName)
-            .imageUrl("/uploads/cheatsheets/" + newFilename)
+            .imageUrl(storage.urlFor(image.path()))
+            .contentHash(image.hash())
+            .derivativeStatus(CheatSheet.DerivativeStatus.PENDING)
             .build();
 
-    return cheatSheetRepository.save(cheatSheet);
+    CheatSheet saved = cheatSheetRepository.save(cheatSheet);
+    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.CHEAT_SHEETS));
+    // 커밋 이후 썸네일/중간 크기 이미지를 백그라운드에서 생성
+    eventPublisher.publishEvent(new CheatSheetUploadedEvent(saved.getId(), image.path()));
+    return saved;
   }
 
+  /**
+   * 레이드/관문 필터와 (createdAt, id) 키셋 커서로 컨닝페이퍼 카드를 최신순 조회한다.
+   *
+   * <p>카드에 필요한 컬럼만 select하고 OFFSET을 쓰지 않으므로, 전체 컨닝페이퍼 수와 관계없이 복합 인덱스 범위 스캔 한 번으로 끝난다.
+   */
   @Transactional(readOnly = true)
-  public List<CheatSheet> getAllCheatSheets() {
-    return cheatSheetRepository.findAll();
+  public CursorPage<CheatSheetCard> getCheatSheetPage(
+      String raidName, String gate, String cursor, Integer size) {
+    int limit = CursorPage.limit(size);
+    KeysetCursor after = KeysetCursor.decode(cursor);
+
+    // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+    List<CheatSheetCard> rows = cheatSheetRepository.findCards(raidName, gate, after, limit + 1);
+    return CursorPage.of(rows, limit, card -> KeysetCursor.of(card.createdAt(), card.id()));
   }
 
   @Transactional
   public void deleteCheatSheet(Long id) {
-    cheatSheetRepository.deleteById(id);
+    cheatSheetRepository
+        .findById(id)
+        .ifPresent(
+            cheatSheet -> {
+              cheatSheetRepository.delete(cheatSheet);
+              if (cheatSheet.getContentHash() != null) {
+                // 커밋 이후 같은 이미지를 쓰는 컨닝페이퍼가 없으면 파일 삭제
+                eventPublisher.publishEvent(
+                    new CheatSheetImageReleasedEvent(
+                        cheatSheet.getContentHash(), cheatSheet.getImageUrl()));
+              }
+            });
+    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.CHEAT_SHEETS));
   }
 }
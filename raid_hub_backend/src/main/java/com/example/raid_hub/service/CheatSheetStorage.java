@@ -0,0 +1,259 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.repository.CheatSheetRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 컨닝페이퍼 이미지 저장소 (내용 주소 방식).
+ *
+ * <p>업로드를 디스크에 쓰는 동안 SHA-256을 계산하고, {@code ab/cd/<hash>.png}처럼 해시 앞부분으로 나눈 디렉터리에 저장한다. 같은 이미지를 다시
+ * 올리면 파일을 새로 만들지 않고 기존 파일을 공유하며, 파일은 그 URL을 참조하는 컨닝페이퍼가 모두 삭제된 뒤에 지운다.
+ *
+ * <p>기존 파일을 공유한 업로드는 등록(커밋)되기 전이라 참조 수에 잡히지 않는다. 그래서 파일 재사용과 삭제를 같은 잠금 안에서 하고, 최근({@link
+ * #REUSE_HOLD} 이내)에 저장되거나 재사용된 파일은 지우지 않고 정리 작업(grace-period)에 맡긴다.
+ */
+@Slf4j
+@Component
+public class CheatSheetStorage {
+
+  public static final String URL_PREFIX = "/uploads/cheatsheets/";
+  // 원본 옆에 만들어지는 파생 이미지 접미사 (abcd.png → abcd_thumb.jpg)
+  static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+  static final String MEDIUM_SUFFIX = "_medium.jpg";
+  static final List<String> DERIVATIVE_SUFFIXES = List.of(THUMBNAIL_SUFFIX, MEDIUM_SUFFIX);
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  // 저장/재사용 후 이 시간 안에는 참조가 없어 보여도 지우지 않는다 (등록 트랜잭션이 아직 커밋 전일 수 있음)
+  static final Duration REUSE_HOLD = Duration.ofMinutes(10);
+  private static final Pattern CONTENT_ADDRESSED_NAME =
+      Pattern.compile("([0-9a-f]{64})(?:_[a-z]+)?\\.[a-z0-9]+");
+
+  private final CheatSheetRepository cheatSheetRepository;
+  private final Path root;
+  private final Path incoming;
+  // 파일 재사용(존재 확인 + 수정 시각 갱신)과 삭제(수정 시각 확인 + 삭제)를 서로 배제한다
+  private final Object fileLock = new Object();
+
+  public CheatSheetStorage(
+      CheatSheetRepository cheatSheetRepository, @Value("${file.upload-dir}") String uploadDir) {
+    this.cheatSheetRepository = cheatSheetRepository;
+    this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    // 임시 파일은 공개 경로 밖, 같은 파일 시스템에 두어야 원자적으로 옮길 수 있다
+    this.incoming = root.resolveSibling(root.getFileName() + "-incoming");
+
+    // 업로드 폴더가 없으면 생성
+    try {
+      Files.createDirectories(root);
+      Files.createDirectories(incoming);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create upload directory", e);
+    }
+  }
+
+  /**
+   * @param hash 원본의 SHA-256 (hex)
+   * @param path 저장된 원본 파일
+   * @param deduplicated 같은 내용의 파일이 이미 있어 새로 저장하지 않았는지 여부
+   */
+  public record StoredImage(String hash, Path path, long size, boolean deduplicated) {}
+
+  public Path getRoot() {
+    return root;
+  }
+
+  // 업로드 중인 임시 파일 디렉터리 (공개 경로 밖)
+  Path getIncoming() {
+    return incoming;
+  }
+
+  /**
+   * 이미지 시그니처를 확인하며 저장한다. 확장자는 파일 이름이 아니라 실제 내용으로 정한다.
+   *
+   * <p>첫 바이트가 허용된 이미지가 아니거나 maxBytes를 넘는 순간 읽기를 멈추고 임시 파일을 지운다.
+   */
+  public StoredImage storeImage(InputStream in, long maxBytes) throws IOException {
+    byte[] header = in.readNBytes(ImageFormat.HEADER_LENGTH);
+    ImageFormat format =
+        ImageFormat.detect(header)
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다. (jpg, png, gif, webp만 가능)"));
+
+    MessageDigest digest = sha256();
+    Path temp = Files.createTempFile(incoming, "upload-", format.extension());
+    try {
+      long size = header.length;
+      try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+        out.write(header);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          size += read;
+          if (size > maxBytes) {
+            throw new ResponseStatusException(
+                HttpStatus.PAYLOAD_TOO_LARGE, "File exceeds " + maxBytes + " bytes");
+          }
+          out.write(buffer, 0, read);
+        }
+      }
+      String hash = HexFormat.of().formatHex(digest.digest());
+      return moveIntoPlace(temp, hash, format.extension(), size);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** 이미 해시를 계산한 임시 파일을 내용 주소 경로로 옮긴다. 임시 파일은 옮겨지거나(새 내용) 남는다(중복). */
+  StoredImage moveIntoPlace(Path temp, String hash, String extension, long size)
+      throws IOException {
+    Path target = pathFor(hash, extension);
+    synchronized (fileLock) {
+      if (Files.exists(target)) {
+        // 삭제와 정리 작업이 최근에 재사용된 파일로 보고 지우지 않도록 수정 시각을 갱신한다
+        Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+        return new StoredImage(hash, target, size, true);
+      }
+
+      Files.createDirectories(target.getParent());
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException ex) {
+        try {
+          Files.move(temp, target);
+        } catch (FileAlreadyExistsException raced) {
+          return new StoredImage(hash, target, size, true);
+        }
+      }
+      return new StoredImage(hash, target, size, false);
+    }
+  }
+
+  public Path pathFor(String hash, String extension) {
+    return root.resolve(hash.substring(0, 2))
+        .resolve(hash.substring(2, 4))
+        .resolve(hash + extension);
+  }
+
+  /** 저장소 안의 파일을 외부 URL로 바꾼다. (예: /uploads/cheatsheets/ab/cd/abcd....png) */
+  public String urlFor(Path path) {
+    Path relative = root.relativize(path.toAbsolutePath().normalize());
+    return URL_PREFIX + relative.toString().replace('\\', '/');
+  }
+
+  /** 이미지 URL을 저장소 안의 경로로 바꾼다. 저장소 밖을 가리키면 null. */
+  public Path resolve(String imageUrl) {
+    if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+      return null;
+    }
+    Path path = root.resolve(imageUrl.substring(URL_PREFIX.length())).normalize();
+    return path.startsWith(root) ? path : null;
+  }
+
+  /**
+   * 컨닝페이퍼가 삭제된 뒤, 같은 이미지 URL을 참조하는 컨닝페이퍼가 더 없으면 원본과 파생 이미지를 지운다. 최근에 저장되거나 재사용된 파일은 아직 커밋되지 않은 등록이
+   * 있을 수 있으므로 남겨 둔다.
+   */
+  @TransactionalEventListener
+  public void onImageReleased(CheatSheetImageReleasedEvent event) {
+    Path original = resolve(event.imageUrl());
+    if (original == null || cheatSheetRepository.countByImageUrl(event.imageUrl()) > 0) {
+      return;
+    }
+    synchronized (fileLock) {
+      try {
+        if (!Files.exists(original)) {
+          return;
+        }
+        Instant modifiedAt = Files.getLastModifiedTime(original).toInstant();
+        if (modifiedAt.isAfter(Instant.now().minus(REUSE_HOLD))) {
+          log.debug("Keeping recently reused cheat sheet image {}", original);
+          return;
+        }
+        Files.deleteIfExists(original);
+        for (Path derivative : derivativesOf(original)) {
+          Files.deleteIfExists(derivative);
+        }
+      } catch (IOException ex) {
+        // 남은 파일은 정리 작업에서 다시 지운다
+        log.warn("Failed to delete cheat sheet image {}: {}", original, ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 수정 시각이 modifiedBefore보다 이전인 파일만 지운다. 정리 작업용으로, 확인과 삭제를 파일 재사용과 같은 잠금 안에서 하므로 그 사이에 재사용된 파일은 지우지
+   * 않는다.
+   *
+   * @return 지운 파일 크기, 지우지 않았으면 -1
+   */
+  long deleteIfModifiedBefore(Path file, Instant modifiedBefore) throws IOException {
+    synchronized (fileLock) {
+      try {
+        if (!Files.getLastModifiedTime(file).toInstant().isBefore(modifiedBefore)) {
+          return -1;
+        }
+        long size = Files.size(file);
+        return Files.deleteIfExists(file) ? size : -1;
+      } catch (NoSuchFileException ex) {
+        return -1;
+      }
+    }
+  }
+
+  /** 내용 주소 이름(원본 또는 파생 이미지)이면 해시, 이전 방식 이름이면 null. */
+  static String contentHashOf(String fileName) {
+    Matcher matcher = CONTENT_ADDRESSED_NAME.matcher(fileName);
+    return matcher.matches() ? matcher.group(1) : null;
+  }
+
+  static List<Path> derivativesOf(Path original) {
+    String fileName = original.getFileName().toString();
+    int dot = fileName.lastIndexOf('.');
+    String baseName = dot < 0 ? fileName : fileName.substring(0, dot);
+    return DERIVATIVE_SUFFIXES.stream()
+        .map(suffix -> original.resolveSibling(baseName + suffix))
+        .toList();
+  }
+
+  /** 파일 전체의 SHA-256 (hex). */
+  static String sha256Hex(Path file) throws IOException {
+    MessageDigest digest = sha256();
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
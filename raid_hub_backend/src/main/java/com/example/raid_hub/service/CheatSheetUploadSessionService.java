@@ -0,0 +1,411 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.dto.UploadSessionRequest;
+import com.example.raid_hub.dto.UploadSessionStatus;
+import com.example.raid_hub.entity.CheatSheet;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 이어 올리기(resumable) 업로드 세션.
+ *
+ * <p>세션을 만들면 전체 크기만큼 미리 잡아 둔 파일에 조각을 {@code FileChannel} 위치 지정 쓰기로 채운다. 조각은 순서와 관계없이, 여러 번 보내도 되며
+ * 받은 조각은 BitSet으로 기록한다. 완료 요청 시 모든 조각이 있는지, 전체 SHA-256이 생성 시 받은 값과 같은지 확인한 뒤 내용 주소 경로로 옮기고 일반 업로드와
+ * 같은 등록 절차({@link CheatSheetService#registerCheatSheet})를 거친다.
+ *
+ * <p>완료(또는 취소)가 시작된 세션에는 조각을 더 쓸 수 없고(409), 조각을 받는 중인 세션은 완료할 수 없다(409). 해시를 계산한 뒤 파일이 바뀌지 않도록 하기
+ * 위함이다.
+ *
+ * <p>세션은 이 서버 메모리에만 있으므로 재시작하면 사라진다. (받은 파일은 정리 작업에서 지운다)
+ */
+@Slf4j
+@Service
+public class CheatSheetUploadSessionService {
+
+  // "bytes 0-1048575/5242880"
+  private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final CheatSheetStorage storage;
+  private final CheatSheetService cheatSheetService;
+  private final CheatSheetDerivativeService derivativeService;
+  private final Clock clock;
+  private final long maxUploadSize;
+  private final int chunkSize;
+  private final int maxSessions;
+  private final Duration sessionTtl;
+  private final Path sessionDir;
+
+  private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+  @Autowired
+  public CheatSheetUploadSessionService(
+      CheatSheetStorage storage,
+      CheatSheetService cheatSheetService,
+      CheatSheetDerivativeService derivativeService,
+      @Value("${cheatsheet.upload.max-size:50MB}") DataSize maxUploadSize,
+      @Value("${cheatsheet.upload.chunk-size:1MB}") DataSize chunkSize,
+      @Value("${cheatsheet.upload.max-sessions:20}") int maxSessions,
+      @Value("${cheatsheet.upload.session-ttl:24h}") Duration sessionTtl) {
+    this(
+        storage,
+        cheatSheetService,
+        derivativeService,
+        Clock.systemUTC(),
+        maxUploadSize.toBytes(),
+        (int) chunkSize.toBytes(),
+        maxSessions,
+        sessionTtl);
+  }
+
+  CheatSheetUploadSessionService(
+      CheatSheetStorage storage,
+      CheatSheetService cheatSheetService,
+      CheatSheetDerivativeService derivativeService,
+      Clock clock,
+      long maxUploadSize,
+      int chunkSize,
+      int maxSessions,
+      Duration sessionTtl) {
+    if (chunkSize < ImageFormat.HEADER_LENGTH || maxSessions < 1) {
+      throw new IllegalArgumentException(
+          "cheatsheet.upload chunk-size must be >= 12 bytes and max-sessions >= 1");
+    }
+    this.storage = storage;
+    this.cheatSheetService = cheatSheetService;
+    this.derivativeService = derivativeService;
+    this.clock = clock;
+    this.maxUploadSize = maxUploadSize;
+    this.chunkSize = chunkSize;
+    this.maxSessions = maxSessions;
+    this.sessionTtl = sessionTtl;
+    // 임시 업로드 디렉터리 아래에 두어야 완료 시 원자적으로 옮길 수 있다
+    this.sessionDir = storage.getIncoming().resolve("sessions");
+    try {
+      Files.createDirectories(sessionDir);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create upload session directory", e);
+    }
+  }
+
+  public UploadSessionStatus create(UploadSessionRequest request) throws IOException {
+    if (request.totalSize() > maxUploadSize) {
+      throw new ResponseStatusException(
+          HttpStatus.PAYLOAD_TOO_LARGE, "File exceeds " + maxUploadSize + " bytes");
+    }
+    if (sessions.size() >= maxSessions) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress");
+    }
+
+    String uploadId = UUID.randomUUID().toString();
+    UploadSession session =
+        new UploadSession(
+            uploadId, request, sessionDir.resolve(uploadId + ".part"), chunkSize, clock.instant());
+    // 파일보다 세션을 먼저 등록한다 (정리 작업은 세션이 없는 파일만 지움)
+    sessions.put(uploadId, session);
+    try (RandomAccessFile file = new RandomAccessFile(session.file.toFile(), "rw")) {
+      file.setLength(request.totalSize());
+    } catch (IOException ex) {
+      sessions.remove(uploadId);
+      throw ex;
+    }
+    return session.status();
+  }
+
+  public UploadSessionStatus status(String uploadId) {
+    return find(uploadId).status();
+  }
+
+  /**
+   * Content-Range로 지정된 조각 하나를 받는다. 조각 경계(chunkSize 배수)에 맞아야 하며, 이미 받은 조각을 다시 보내면 덮어쓴다.
+   *
+   * <p>첫 조각은 이미지 시그니처를 확인해 이미지가 아니면 세션을 바로 취소한다. 완료 중인 세션이면 409.
+   */
+  public UploadSessionStatus writeChunk(String uploadId, String contentRange, InputStream body)
+      throws IOException {
+    UploadSession session = find(uploadId);
+    if (contentRange == null) {
+      throw new IllegalArgumentException("Content-Range 헤더가 필요합니다.");
+    }
+    Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Content-Range 형식이 올바르지 않습니다. (bytes start-end/total)");
+    }
+    long start = Long.parseLong(matcher.group(1));
+    long end = Long.parseLong(matcher.group(2)) + 1; // exclusive
+    long total = Long.parseLong(matcher.group(3));
+    if (total != session.totalSize || start % chunkSize != 0) {
+      throw new ResponseStatusException(
+          HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, "Range does not match upload session");
+    }
+    int chunk = (int) (start / chunkSize);
+    if (chunk >= session.totalChunks || end != session.chunkEnd(chunk)) {
+      throw new ResponseStatusException(
+          HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, "Range does not match upload session");
+    }
+
+    if (!session.tryStartWrite()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload is being committed");
+    }
+    boolean notImage;
+    try {
+      long written = writeAt(session.file, start, end - start, body);
+      if (written != end - start) {
+        // 끊긴 조각은 받지 않은 것으로 남겨 두고 다시 보내게 한다
+        throw new IllegalArgumentException("조각 크기가 Content-Range보다 작습니다.");
+      }
+      notImage = chunk == 0 && ImageFormat.detect(readHeader(session.file)).isEmpty();
+      if (!notImage) {
+        session.markReceived(chunk, clock.instant());
+      }
+    } finally {
+      session.endWrite();
+    }
+    if (notImage) {
+      // 다른 조각을 받는 중이면 세션은 남고 만료 정리에서 지운다
+      if (session.tryStartCommit()) {
+        discard(session);
+      }
+      throw new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다. (jpg, png, gif, webp만 가능)");
+    }
+    return session.status();
+  }
+
+  /** 모든 조각을 받았으면 체크섬을 확인하고 컨닝페이퍼로 등록한다. 세션은 성공하든 체크섬이 틀리든 끝난다. */
+  public CheatSheet commit(String uploadId) throws IOException {
+    UploadSession session = find(uploadId);
+    if (!session.isComplete()) {
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, "Upload is incomplete: " + session.status().missingChunks());
+    }
+    if (!session.tryStartCommit()) {
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, "Upload is already being committed or still receiving chunks");
+    }
+
+    try {
+      // 축소 이미지 작업이 밀려 있으면 해시를 계산하기 전에 거절한다 (세션은 남아 있어 다시 완료 요청 가능)
+      derivativeService.ensureCapacity();
+      String hash = CheatSheetStorage.sha256Hex(session.file);
+      if (!hash.equals(session.request.sha256().toLowerCase(Locale.ROOT))) {
+        discard(session);
+        throw new ResponseStatusException(
+            HttpStatus.UNPROCESSABLE_ENTITY, "Checksum mismatch, upload discarded");
+      }
+      ImageFormat format =
+          ImageFormat.detect(readHeader(session.file))
+              .orElseThrow(() -> new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다."));
+
+      StoredImage image =
+          storage.moveIntoPlace(session.file, hash, format.extension(), session.totalSize);
+      sessions.remove(uploadId);
+      Files.deleteIfExists(session.file); // 같은 내용이 이미 있어 옮기지 않은 경우
+
+      UploadSessionRequest request = session.request;
+      return cheatSheetService.registerCheatSheet(
+          request.title(), request.raidName(), request.gate(), request.uploaderName(), image);
+    } finally {
+      // 끝난 세션은 다시 열지 않는다 (늦게 도착한 조각이 옮겨진 파일에 쓰지 않도록)
+      if (sessions.get(uploadId) == session) {
+        session.endCommit();
+      }
+    }
+  }
+
+  /** 세션을 취소한다. 완료 중이거나 조각을 받는 중이면 409. */
+  public void abort(String uploadId) throws IOException {
+    UploadSession session = sessions.get(uploadId);
+    if (session == null) {
+      return;
+    }
+    if (!session.tryStartCommit()) {
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, "Upload is being committed or still receiving chunks");
+    }
+    discard(session);
+  }
+
+  // tryStartCommit으로 세션을 잡은 뒤에만 호출한다
+  private void discard(UploadSession session) throws IOException {
+    sessions.remove(session.uploadId, session);
+    Files.deleteIfExists(session.file);
+  }
+
+  /** 오래 방치된 세션과, 세션이 없는(재시작 전에 만들어진) 조각 파일을 지운다. */
+  @Scheduled(
+      initialDelayString = "${cheatsheet.upload.cleanup-interval-ms:600000}",
+      fixedDelayString = "${cheatsheet.upload.cleanup-interval-ms:600000}")
+  public void cleanupExpiredSessions() {
+    Instant expiredBefore = clock.instant().minus(sessionTtl);
+    for (UploadSession session : sessions.values()) {
+      // 완료 중이거나 조각을 받는 중인 세션은 다음 정리 때 다시 본다
+      if (session.lastActivityAt().isBefore(expiredBefore) && session.tryStartCommit()) {
+        try {
+          discard(session);
+        } catch (IOException ex) {
+          log.warn("Failed to delete expired upload {}: {}", session.uploadId, ex.getMessage());
+        }
+      }
+    }
+
+    try (Stream<Path> files = Files.list(sessionDir)) {
+      files
+          .filter(file -> !sessions.containsKey(uploadIdOf(file)))
+          .forEach(
+              file -> {
+                try {
+                  Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                  log.warn("Failed to delete upload part {}: {}", file, ex.getMessage());
+                }
+              });
+    } catch (IOException ex) {
+      log.warn("Failed to list upload sessions: {}", ex.getMessage());
+    }
+  }
+
+  private UploadSession find(String uploadId) {
+    UploadSession session = sessions.get(uploadId);
+    if (session == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload session not found");
+    }
+    return session;
+  }
+
+  // 본문을 position부터 쓴다. length를 넘는 본문은 받지 않는다
+  private static long writeAt(Path file, long position, long length, InputStream body)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      byte[] buffer = new byte[COPY_BUFFER_SIZE];
+      long written = 0;
+      int read;
+      while ((read = body.read(buffer)) != -1) {
+        if (written + read > length) {
+          throw new IllegalArgumentException("조각 크기가 Content-Range보다 큽니다.");
+        }
+        ByteBuffer source = ByteBuffer.wrap(buffer, 0, read);
+        while (source.hasRemaining()) {
+          written += channel.write(source, position + written);
+        }
+      }
+      return written;
+    }
+  }
+
+  private static byte[] readHeader(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      return in.readNBytes(ImageFormat.HEADER_LENGTH);
+    }
+  }
+
+  private static String uploadIdOf(Path file) {
+    String name = file.getFileName().toString();
+    return name.endsWith(".part") ? name.substring(0, name.length() - ".part".length()) : name;
+  }
+
+  private static final class UploadSession {
+    private final String uploadId;
+    private final UploadSessionRequest request;
+    private final Path file;
+    private final long totalSize;
+    private final int chunkSize;
+    private final int totalChunks;
+    private final BitSet received;
+    private Instant lastActivityAt;
+    private boolean committing;
+    private int activeWrites;
+
+    private UploadSession(
+        String uploadId, UploadSessionRequest request, Path file, int chunkSize, Instant now) {
+      this.uploadId = uploadId;
+      this.request = request;
+      this.file = file;
+      this.totalSize = request.totalSize();
+      this.chunkSize = chunkSize;
+      this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+      this.received = new BitSet(totalChunks);
+      this.lastActivityAt = now;
+    }
+
+    private long chunkEnd(int chunk) {
+      return Math.min((long) (chunk + 1) * chunkSize, totalSize);
+    }
+
+    private synchronized void markReceived(int chunk, Instant now) {
+      received.set(chunk);
+      lastActivityAt = now;
+    }
+
+    private synchronized boolean isComplete() {
+      return received.cardinality() == totalChunks;
+    }
+
+    private synchronized boolean tryStartWrite() {
+      if (committing) {
+        return false;
+      }
+      activeWrites++;
+      return true;
+    }
+
+    private synchronized void endWrite() {
+      activeWrites--;
+    }
+
+    // 완료와 취소가 함께 쓰며, 조각을 받는 중이면 시작하지 않는다
+    private synchronized boolean tryStartCommit() {
+      if (committing || activeWrites > 0) {
+        return false;
+      }
+      committing = true;
+      return true;
+    }
+
+    private synchronized void endCommit() {
+      committing = false;
+    }
+
+    private synchronized Instant lastActivityAt() {
+      return lastActivityAt;
+    }
+
+    private synchronized UploadSessionStatus status() {
+      List<Integer> missing = new ArrayList<>();
+      for (int chunk = received.nextClearBit(0);
+          chunk < totalChunks;
+          chunk = received.nextClearBit(chunk + 1)) {
+        missing.add(chunk);
+      }
+      return new UploadSessionStatus(uploadId, totalSize, chunkSize, totalChunks, missing);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.raid_hub.service;
+
+import java.nio.file.Path;
+
+/** 컨닝페이퍼 원본이 저장되었음을 알리는 이벤트. 커밋 이후 축소 이미지를 만든다. */
+public record CheatSheetUploadedEvent(Long cheatSheetId, Path original) {}
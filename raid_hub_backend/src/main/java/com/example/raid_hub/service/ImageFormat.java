@@ -0,0 +1,65 @@
+package com.example.raid_hub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/** 업로드를 허용하는 이미지 형식. 파일 이름이 아니라 첫 바이트(매직 넘버)로 판별한다. */
+public enum ImageFormat {
+  JPEG(".jpg"),
+  PNG(".png"),
+  GIF(".gif"),
+  WEBP(".webp");
+
+  /** 판별에 필요한 최대 바이트 수 (WEBP: "RIFF" + 크기 4바이트 + "WEBP") */
+  public static final int HEADER_LENGTH = 12;
+
+  private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+  private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+  private static final byte[] GIF87_SIGNATURE = ascii("GIF87a");
+  private static final byte[] GIF89_SIGNATURE = ascii("GIF89a");
+  private static final byte[] RIFF_SIGNATURE = ascii("RIFF");
+  private static final byte[] WEBP_SIGNATURE = ascii("WEBP");
+
+  private final String extension;
+
+  ImageFormat(String extension) {
+    this.extension = extension;
+  }
+
+  /** 저장할 때 쓰는 확장자 (점 포함) */
+  public String extension() {
+    return extension;
+  }
+
+  public static Optional<ImageFormat> detect(byte[] header) {
+    if (startsWith(header, 0, JPEG_SIGNATURE)) {
+      return Optional.of(JPEG);
+    }
+    if (startsWith(header, 0, PNG_SIGNATURE)) {
+      return Optional.of(PNG);
+    }
+    if (startsWith(header, 0, GIF87_SIGNATURE) || startsWith(header, 0, GIF89_SIGNATURE)) {
+      return Optional.of(GIF);
+    }
+    if (startsWith(header, 0, RIFF_SIGNATURE) && startsWith(header, 8, WEBP_SIGNATURE)) {
+      return Optional.of(WEBP);
+    }
+    return Optional.empty();
+  }
+
+  private static boolean startsWith(byte[] header, int offset, byte[] signature) {
+    if (header.length < offset + signature.length) {
+      return false;
+    }
+    for (int i = 0; i < signature.length; i++) {
+      if (header[offset + i] != signature[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
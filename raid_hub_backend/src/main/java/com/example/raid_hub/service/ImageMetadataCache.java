@@ -0,0 +1,105 @@
+package com.example.raid_hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 이미지 파일의 크기, ETag, Content-Type을 메모리에 보관한다.
+ *
+ * <p>업로드된 파일은 내용이 바뀌지 않으므로(새 업로드는 내용 주소 이름, 이전 업로드는 UUID 이름) 한 번 읽은 메타데이터를 다시 확인하지 않는다. 이미지가 삭제되면
+ * 해당 항목을 비운다.
+ */
+@Component
+public class ImageMetadataCache {
+
+  private final CheatSheetStorage cheatSheetStorage;
+  private final Cache<Path, ImageMetadata> cache;
+
+  public ImageMetadataCache(
+      CheatSheetStorage cheatSheetStorage,
+      @Value("${cheatsheet.images.metadata-cache-size:10000}") long maxSize) {
+    this.cheatSheetStorage = cheatSheetStorage;
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @param etag 따옴표를 포함한 strong ETag
+   * @param immutable 내용 주소 이름이라 같은 URL의 내용이 절대 바뀌지 않는지 여부
+   */
+  public record ImageMetadata(
+      Path path, long size, String etag, String contentType, boolean immutable) {}
+
+  /** 파일이 없으면 빈 값. */
+  public Optional<ImageMetadata> lookup(Path path) {
+    try {
+      return Optional.of(cache.get(path, this::load));
+    } catch (UncheckedIOException ex) {
+      if (ex.getCause() instanceof NoSuchFileException) {
+        return Optional.empty();
+      }
+      throw ex;
+    }
+  }
+
+  public void evict(Path path) {
+    cache.invalidate(path);
+  }
+
+  @TransactionalEventListener
+  public void onImageReleased(CheatSheetImageReleasedEvent event) {
+    Path original = cheatSheetStorage.resolve(event.imageUrl());
+    if (original == null) {
+      return;
+    }
+    evict(original);
+    CheatSheetStorage.derivativesOf(original).forEach(this::evict);
+  }
+
+  private ImageMetadata load(Path path) {
+    try {
+      if (!Files.isRegularFile(path)) {
+        throw new NoSuchFileException(path.toString());
+      }
+      long size = Files.size(path);
+      String fileName = path.getFileName().toString();
+      String lower = fileName.toLowerCase(Locale.ROOT);
+      boolean immutable = CheatSheetStorage.contentHashOf(lower) != null;
+      // 내용 주소 이름(<sha256>.ext, <sha256>_thumb.jpg)은 확장자를 뺀 이름이 곧 태그이고,
+      // 이전 업로드는 한 번만 해시를 계산한다
+      String tag =
+          immutable
+              ? lower.substring(0, lower.lastIndexOf('.'))
+              : CheatSheetStorage.sha256Hex(path);
+      return new ImageMetadata(path, size, "\"" + tag + "\"", contentType(fileName), immutable);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static String contentType(String fileName) {
+    String lower = fileName.toLowerCase(Locale.ROOT);
+    if (lower.endsWith(".png")) {
+      return "image/png";
+    }
+    if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+      return "image/jpeg";
+    }
+    if (lower.endsWith(".gif")) {
+      return "image/gif";
+    }
+    if (lower.endsWith(".webp")) {
+      return "image/webp";
+    }
+    return "application/octet-stream";
+  }
+}
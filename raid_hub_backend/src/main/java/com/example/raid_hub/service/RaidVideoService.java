@@ -1,10 +1,15 @@
 package com.example.raid_hub.service;
 
+import com.example.raid_hub.dto.CursorPage;
+import com.example.raid_hub.dto.KeysetCursor;
 import com.example.raid_hub.entity.RaidVideo;
 import com.example.raid_hub.repository.RaidVideoRepository;
 import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,12 +17,18 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class RaidVideoService {
 
+  private static final Sort PAGE_SORT =
+      Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
   private final RaidVideoRepository raidVideoRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public RaidVideo createVideo(RaidVideo video) {
     // validateDifficultyForRaid(video.getRaidName(), video.getDifficulty());
-    return raidVideoRepository.save(video);
+    RaidVideo saved = raidVideoRepository.save(video);
+    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.VIDEOS));
+    return saved;
   }
 
   private void validateDifficultyForRaid(String raidName, String difficulty) {
@@ -53,13 +64,48 @@ public class RaidVideoService {
     }
   }
 
+  /**
+   * 레이드/난이도/관문 필터와 (createdAt, id) 키셋 커서로 영상을 최신순 조회한다.
+   *
+   * <p>OFFSET을 쓰지 않으므로 페이지 깊이와 테이블 크기에 관계없이 인덱스 범위 스캔 한 번으로 끝난다.
+   */
   @Transactional(readOnly = true)
-  public List<RaidVideo> getAllVideos() {
-    return raidVideoRepository.findAll();
+  public CursorPage<RaidVideo> getVideoPage(
+      String raidName, String difficulty, String gate, String cursor, Integer size) {
+    int limit = CursorPage.limit(size);
+    KeysetCursor after = KeysetCursor.decode(cursor);
+
+    Specification<RaidVideo> spec =
+        Specification.allOf(
+            equalsIfPresent("raidName", raidName),
+            equalsIfPresent("difficulty", difficulty),
+            equalsIfPresent("gate", gate),
+            after(after));
+
+    // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+    List<RaidVideo> rows =
+        raidVideoRepository.findBy(spec, query -> query.sortBy(PAGE_SORT).limit(limit + 1).all());
+    return CursorPage.of(
+        rows, limit, video -> KeysetCursor.of(video.getCreatedAt(), video.getId()));
+  }
+
+  private Specification<RaidVideo> equalsIfPresent(String attribute, String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    return (root, query, cb) -> cb.equal(root.get(attribute), value);
+  }
+
+  private Specification<RaidVideo> after(KeysetCursor cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    return (root, query, cb) -> cursor.after(cb, root);
   }
 
   @Transactional
   public void deleteVideo(Long id) {
     raidVideoRepository.deleteById(id);
+    eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.VIDEOS));
   }
 }
@@ -0,0 +1,312 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.stats.HyperLogLog;
+import com.example.raid_hub.stats.SpaceSavingSketch;
+import com.example.raid_hub.stats.SpaceSavingSketch.Counter;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * DB를 거치지 않는 실시간 활동 통계.
+ *
+ * <p>최근 구간(기본 1시간 × 24칸)을 고리 모양 칸(pane)으로 나누고, 칸마다 활동 유형별 Space-Saving top-K와 서로 다른 대상/검색어 수
+ * HyperLogLog를 둔다. 조회 시에는 살아 있는 칸만 합치므로 오래된 칸은 지우지 않아도 빠진다. 메모리는 설정한 칸 수와 카운터 수로 고정되고, 순위와 개수는
+ * 추정값이다.
+ *
+ * <p>상태는 주기적으로(그리고 종료 시) 파일에 저장하고 시작할 때 복원한다. 설정이 바뀌었으면 이전 스냅샷은 버린다.
+ *
+ * <p>이 노드가 받은 로그만 센다. 여러 인스턴스로 운영하면 결과는 노드별 값이며, 전체 합계는 대시보드 통계(집계 표)를 본다.
+ */
+@Slf4j
+@Component
+public class RealtimeActivityStats {
+
+  private static final int SNAPSHOT_MAGIC = 0x52484153; // "RHAS"
+  private static final int SNAPSHOT_VERSION = 1;
+  private static final int TOP_K = 10;
+  // DB 컬럼 길이와 같게 자른다 (한 값이 카운터 메모리를 키우지 않도록)
+  private static final int MAX_KEY_LENGTH = 255;
+  // SEARCH는 검색어, 나머지는 targetTitle 기준으로 센다
+  private static final List<String> TRACKED_TYPES =
+      List.of("VIDEO_CLICK", "CHEATSHEET_CLICK", "SEARCH");
+
+  private final Clock clock;
+  private final long paneMillis;
+  private final int capacity;
+  private final int precision;
+  private final Path snapshotFile;
+  private final Pane[] panes;
+
+  @Autowired
+  public RealtimeActivityStats(
+      @Value("${stats.realtime.pane-width:1h}") Duration paneWidth,
+      @Value("${stats.realtime.pane-count:24}") int paneCount,
+      @Value("${stats.realtime.top-k-capacity:200}") int capacity,
+      @Value("${stats.realtime.hll-precision:12}") int precision,
+      @Value("${stats.realtime.snapshot-file:data/realtime-stats.bin}") String snapshotFile) {
+    this(Clock.systemUTC(), paneWidth, paneCount, capacity, precision, Paths.get(snapshotFile));
+  }
+
+  RealtimeActivityStats(
+      Clock clock,
+      Duration paneWidth,
+      int paneCount,
+      int capacity,
+      int precision,
+      Path snapshotFile) {
+    if (paneWidth.toMillis() < 1 || paneCount < 1) {
+      throw new IllegalArgumentException("stats.realtime pane-width and pane-count must be > 0");
+    }
+    this.clock = clock;
+    this.paneMillis = paneWidth.toMillis();
+    this.capacity = capacity;
+    this.precision = precision;
+    this.snapshotFile = snapshotFile;
+    this.panes = new Pane[paneCount];
+    for (int i = 0; i < paneCount; i++) {
+      panes[i] = new Pane(capacity, precision);
+    }
+    restoreSnapshot();
+  }
+
+  private static final class Pane {
+    private long id = -1;
+    private long events;
+    private final Map<String, SpaceSavingSketch> topByType = new HashMap<>();
+    private final HyperLogLog distinctTargets;
+    private final HyperLogLog distinctSearches;
+
+    private Pane(int capacity, int precision) {
+      for (String type : TRACKED_TYPES) {
+        topByType.put(type, new SpaceSavingSketch(capacity));
+      }
+      this.distinctTargets = new HyperLogLog(precision);
+      this.distinctSearches = new HyperLogLog(precision);
+    }
+
+    private void reset(long id) {
+      this.id = id;
+      this.events = 0;
+      topByType.values().forEach(SpaceSavingSketch::clear);
+      distinctTargets.clear();
+      distinctSearches.clear();
+    }
+  }
+
+  public synchronized void record(UserActivity activity) {
+    Pane pane = paneFor(currentPaneId());
+    pane.events++;
+
+    String type = activity.getActivityType();
+    boolean search = "SEARCH".equals(type);
+    String key = search ? activity.getSearchQuery() : activity.getTargetTitle();
+    if (key == null || key.isBlank()) {
+      return;
+    }
+    if (key.length() > MAX_KEY_LENGTH) {
+      key = key.substring(0, MAX_KEY_LENGTH);
+    }
+    SpaceSavingSketch top = pane.topByType.get(type);
+    if (top != null) {
+      top.add(key);
+    }
+    (search ? pane.distinctSearches : pane.distinctTargets).add(key);
+  }
+
+  /** 최근 구간의 인기 대상/검색어(추정 빈도 순)와 서로 다른 대상/검색어 수 추정값. */
+  public synchronized Map<String, Object> getStats() {
+    long current = currentPaneId();
+    long oldest = current - panes.length + 1;
+    List<Pane> live = new ArrayList<>(panes.length);
+    for (Pane pane : panes) {
+      if (pane.id >= oldest && pane.id <= current) {
+        live.add(pane);
+      }
+    }
+
+    HyperLogLog targets = new HyperLogLog(precision);
+    HyperLogLog searches = new HyperLogLog(precision);
+    long events = 0;
+    for (Pane pane : live) {
+      targets.merge(pane.distinctTargets);
+      searches.merge(pane.distinctSearches);
+      events += pane.events;
+    }
+
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("window", Duration.ofMillis(paneMillis * panes.length).toString());
+    stats.put("since", Instant.ofEpochMilli(oldest * paneMillis));
+    stats.put("totalActivities", events);
+    stats.put("topVideos", top(live, "VIDEO_CLICK", "title"));
+    stats.put("topCheatSheets", top(live, "CHEATSHEET_CLICK", "title"));
+    stats.put("topSearches", top(live, "SEARCH", "query"));
+    stats.put("distinctTargets", targets.estimate());
+    stats.put("distinctSearches", searches.estimate());
+    return stats;
+  }
+
+  // 칸별 카운터를 더한다 (어떤 칸에서 밀려난 값은 그 칸 몫이 빠지므로 과소 추정될 수 있음)
+  private static List<Map<String, Object>> top(List<Pane> live, String type, String keyName) {
+    Map<String, Long> totals = new HashMap<>();
+    for (Pane pane : live) {
+      for (Counter counter : pane.topByType.get(type).counters()) {
+        totals.merge(counter.key(), counter.count(), Long::sum);
+      }
+    }
+    return totals.entrySet().stream()
+        .sorted(
+            Map.Entry.<String, Long>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey()))
+        .limit(TOP_K)
+        .map(
+            entry -> {
+              Map<String, Object> row = new LinkedHashMap<>();
+              row.put(keyName, entry.getKey());
+              row.put("count", entry.getValue());
+              return row;
+            })
+        .toList();
+  }
+
+  private long currentPaneId() {
+    return Math.floorDiv(clock.millis(), paneMillis);
+  }
+
+  private Pane paneFor(long id) {
+    Pane pane = panes[(int) Math.floorMod(id, (long) panes.length)];
+    if (pane.id != id) {
+      pane.reset(id);
+    }
+    return pane;
+  }
+
+  @Scheduled(
+      initialDelayString = "${stats.realtime.snapshot-interval-ms:60000}",
+      fixedDelayString = "${stats.realtime.snapshot-interval-ms:60000}")
+  public void scheduledSnapshot() {
+    try {
+      saveSnapshot();
+    } catch (IOException ex) {
+      log.warn("Failed to save realtime stats snapshot {}: {}", snapshotFile, ex.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduledSnapshot();
+  }
+
+  /** 임시 파일에 쓴 뒤 바꿔치기하므로 저장 도중 종료되어도 이전 스냅샷은 남는다. */
+  void saveSnapshot() throws IOException {
+    byte[] bytes = encodeSnapshot();
+    Path dir = snapshotFile.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    Path temp = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temp, bytes);
+      Files.move(
+          temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private synchronized byte[] encodeSnapshot() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(buffer));
+    out.writeInt(SNAPSHOT_MAGIC);
+    out.writeInt(SNAPSHOT_VERSION);
+    out.writeLong(paneMillis);
+    out.writeInt(panes.length);
+    out.writeInt(capacity);
+    out.writeInt(precision);
+    for (Pane pane : panes) {
+      out.writeLong(pane.id);
+      out.writeLong(pane.events);
+      for (String type : TRACKED_TYPES) {
+        List<Counter> counters = pane.topByType.get(type).counters();
+        out.writeInt(counters.size());
+        for (Counter counter : counters) {
+          out.writeUTF(counter.key());
+          out.writeLong(counter.count());
+          out.writeLong(counter.error());
+        }
+      }
+      out.write(pane.distinctTargets.toByteArray());
+      out.write(pane.distinctSearches.toByteArray());
+    }
+    out.flush();
+    return buffer.toByteArray();
+  }
+
+  private void restoreSnapshot() {
+    try (InputStream file = Files.newInputStream(snapshotFile);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+      if (in.readInt() != SNAPSHOT_MAGIC
+          || in.readInt() != SNAPSHOT_VERSION
+          || in.readLong() != paneMillis
+          || in.readInt() != panes.length
+          || in.readInt() != capacity
+          || in.readInt() != precision) {
+        log.info("Ignoring realtime stats snapshot {} written with other settings", snapshotFile);
+        return;
+      }
+      long oldest = currentPaneId() - panes.length + 1;
+      byte[] registers = new byte[1 << precision];
+      for (int i = 0; i < panes.length; i++) {
+        Pane pane = new Pane(capacity, precision);
+        pane.id = in.readLong();
+        pane.events = in.readLong();
+        for (String type : TRACKED_TYPES) {
+          SpaceSavingSketch top = pane.topByType.get(type);
+          int size = in.readInt();
+          for (int j = 0; j < size; j++) {
+            top.add(in.readUTF(), in.readLong(), in.readLong());
+          }
+        }
+        in.readFully(registers);
+        pane.distinctTargets.merge(HyperLogLog.fromByteArray(registers));
+        in.readFully(registers);
+        pane.distinctSearches.merge(HyperLogLog.fromByteArray(registers));
+        // 꺼져 있던 동안 구간을 벗어난 칸은 버린다
+        if (pane.id >= oldest) {
+          panes[i] = pane;
+        }
+      }
+      log.info("Restored realtime stats snapshot {}", snapshotFile);
+    } catch (NoSuchFileException ex) {
+      // 첫 실행
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Failed to restore realtime stats snapshot {}: {}", snapshotFile, ex.getMessage());
+      for (Pane pane : panes) {
+        pane.reset(-1);
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.raid_hub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 호출을 하나로 합친다.
+ *
+ * <p>키마다 처음 들어온 호출(leader)만 실제 작업을 수행하고, 작업이 끝나기 전에 들어온 나머지 호출은 leader의 결과(또는 예외)를 그대로 받는다. 작업이 끝나면
+ * 키는 바로 비워지므로 결과를 캐시하지는 않는다.
+ */
+final class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter leaderCounter;
+  private final Counter coalescedCounter;
+
+  SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.leaderCounter =
+        Counter.builder(name)
+            .description("Calls that executed the underlying work")
+            .tag("result", "leader")
+            .register(meterRegistry);
+    this.coalescedCounter =
+        Counter.builder(name)
+            .description("Calls that waited on an in-flight call instead of executing")
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+    meterRegistry.gauge(name + ".in_flight", inFlight, Map::size);
+  }
+
+  V execute(K key, Supplier<V> work) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+    if (existing != null) {
+      coalescedCounter.increment();
+      return await(existing);
+    }
+
+    leaderCounter.increment();
+    try {
+      V value = work.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      call.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  private V await(CompletableFuture<V> call) {
+    try {
+      return call.join();
+    } catch (CompletionException ex) {
+      // leader가 던진 예외를 그대로 전달해 호출자마다 같은 오류 응답을 받게 한다
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.UserActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 활동 로그 비동기 수집기.
+ *
+ * <p>요청 스레드는 크기가 정해진 메모리 큐에 넣기만 하고 바로 응답한다. 백그라운드 writer 하나가 큐를 비우며 flush-size건이 모이거나
+ * flush-interval이 지나면 한 번에 저장한다(시퀀스 id + JDBC batch insert, 같은 트랜잭션에서 집계 표 갱신). 큐가 가득 차면 새 로그는
+ * 버린다(load shedding). 종료 시에는 새 로그를 받지 않고 큐에 남은 로그를 모두 저장한 뒤 끝난다.
+ *
+ * <p>저장 실패나 서버 비정상 종료 시 큐에 있던 로그는 유실될 수 있다. (통계용 데이터라 허용)
+ */
+@Slf4j
+@Component
+public class UserActivityIngestor {
+
+  private static final long POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final Set<String> ACTIVITY_TYPES =
+      Set.of("VIDEO_CLICK", "CHEATSHEET_CLICK", "SEARCH", "PAGE_VIEW");
+  // 문자열 컬럼 길이 (넘으면 insert가 실패해 같은 batch의 로그가 모두 버려진다)
+  private static final int MAX_VALUE_LENGTH = 255;
+
+  private final UserActivityRepository repository;
+  private final UserActivityRollupService rollupService;
+  private final BlockingQueue<UserActivity> queue;
+  private final int flushSize;
+  private final Duration flushInterval;
+  private final Duration shutdownTimeout;
+  private final ExecutorService writer;
+  private final Counter accepted;
+  private final Counter dropped;
+  private final Counter rejected;
+  private final Counter written;
+  private final Counter failed;
+
+  private volatile boolean running = true;
+
+  public UserActivityIngestor(
+      UserActivityRepository repository,
+      UserActivityRollupService rollupService,
+      MeterRegistry meterRegistry,
+      @Value("${stats.ingest.queue-capacity:10000}") int queueCapacity,
+      @Value("${stats.ingest.flush-size:500}") int flushSize,
+      @Value("${stats.ingest.flush-interval:1s}") Duration flushInterval,
+      @Value("${stats.ingest.shutdown-timeout:10s}") Duration shutdownTimeout) {
+    if (queueCapacity < 1 || flushSize < 1) {
+      throw new IllegalArgumentException("stats.ingest queue-capacity and flush-size must be >= 1");
+    }
+    this.repository = repository;
+    this.rollupService = rollupService;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.flushSize = flushSize;
+    this.flushInterval = flushInterval;
+    this.shutdownTimeout = shutdownTimeout;
+    this.accepted = meterRegistry.counter("stats.ingest.events", "result", "accepted");
+    this.dropped = meterRegistry.counter("stats.ingest.events", "result", "dropped");
+    this.rejected = meterRegistry.counter("stats.ingest.events", "result", "rejected");
+    this.written = meterRegistry.counter("stats.ingest.events", "result", "written");
+    this.failed = meterRegistry.counter("stats.ingest.events", "result", "failed");
+    Gauge.builder("stats.ingest.queued", queue, BlockingQueue::size).register(meterRegistry);
+
+    try {
+      Long advanced = repository.advanceIdSequencePastExistingIds();
+      if (advanced != null) {
+        log.info("Advanced user_activities_seq past existing ids to {}", advanced);
+      }
+      // 이 시점 이후의 로그는 저장할 때 집계되므로, 기존 로그 집계 기준점은 writer 시작 전에 남긴다
+      rollupService.markBackfillWatermark();
+    } catch (RuntimeException ex) {
+      log.warn("Failed to prepare activity log storage: {}", ex.getMessage());
+    }
+
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "activity-writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    writer.execute(this::runWriter);
+  }
+
+  /**
+   * 로그를 검증해 큐에 넣는다. 큐가 가득 찼거나 종료 중이면 false.
+   *
+   * <p>잘못된 로그 하나가 같은 batch의 다른 로그까지 저장 실패시키지 않도록 큐에 넣기 전에 거른다. id와 시각은 클라이언트가 보낸 값을 쓰지 않는다.
+   *
+   * @throws IllegalArgumentException 로그가 없거나, 활동 유형을 모르거나, 값이 너무 길 때
+   */
+  public boolean offer(UserActivity activity) {
+    if (!isValid(activity)) {
+      rejected.increment();
+      throw new IllegalArgumentException("올바르지 않은 활동 로그입니다.");
+    }
+    if (!running) {
+      dropped.increment();
+      return false;
+    }
+    activity.setId(null);
+    activity.setCreatedAt(LocalDateTime.now());
+    if (!queue.offer(activity)) {
+      dropped.increment();
+      return false;
+    }
+    accepted.increment();
+    return true;
+  }
+
+  private static boolean isValid(UserActivity activity) {
+    return activity != null
+        && activity.getActivityType() != null
+        && ACTIVITY_TYPES.contains(activity.getActivityType())
+        && fits(activity.getTargetTitle())
+        && fits(activity.getDeviceType())
+        && fits(activity.getSearchQuery());
+  }
+
+  private static boolean fits(String value) {
+    return value == null || value.length() <= MAX_VALUE_LENGTH;
+  }
+
+  private void runWriter() {
+    List<UserActivity> batch = new ArrayList<>(flushSize);
+    try {
+      while (running || !queue.isEmpty()) {
+        collect(batch);
+        flush(batch);
+      }
+    } catch (InterruptedException ex) {
+      // 종료 대기 시간을 넘겨 중단됨: 모은 것까지만 저장
+      flush(batch);
+    }
+  }
+
+  /**
+   * flush-size건이 모이거나, 첫 건을 받은 뒤 flush-interval이 지날 때까지 모은다.
+   *
+   * <p>종료 요청을 바로 알아차리도록 큐는 짧은 간격으로 나누어 기다린다.
+   */
+  private void collect(List<UserActivity> batch) throws InterruptedException {
+    long deadline = 0;
+    while (batch.size() < flushSize) {
+      queue.drainTo(batch, flushSize - batch.size());
+      if (batch.size() >= flushSize || !running) {
+        return;
+      }
+      if (batch.isEmpty()) {
+        UserActivity first = queue.poll(POLL_SLICE_NANOS, TimeUnit.NANOSECONDS);
+        if (first != null) {
+          batch.add(first);
+          deadline = System.nanoTime() + flushInterval.toNanos();
+        }
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      UserActivity next = queue.poll(Math.min(remaining, POLL_SLICE_NANOS), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  private void flush(List<UserActivity> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      rollupService.saveWithRollups(batch);
+      written.increment(batch.size());
+    } catch (RuntimeException ex) {
+      failed.increment(batch.size());
+      log.warn("Failed to write {} activity logs: {}", batch.size(), ex.getMessage());
+    } finally {
+      batch.clear();
+    }
+  }
+
+  /** 새 로그를 받지 않고, 남은 로그를 저장할 때까지 shutdown-timeout만큼 기다린다. */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Activity writer did not drain in time, {} logs dropped", queue.size());
+        writer.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      writer.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.raid_hub.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** 활동 로그 집계 표 배경 작업: 기존 로그 한 번 옮기기, 오래된 시간 단위 행 합치기. */
+@Slf4j
+@Component
+public class UserActivityRollupJobs {
+
+  private final UserActivityRollupService rollupService;
+  private final Duration hourlyRetention;
+
+  public UserActivityRollupJobs(
+      UserActivityRollupService rollupService,
+      @Value("${stats.rollup.hourly-retention:30d}") Duration hourlyRetention) {
+    this.rollupService = rollupService;
+    this.hourlyRetention = hourlyRetention;
+  }
+
+  // 실패하면 다음 주기에 다시 시도한다 (완료 후에는 바로 반환)
+  @Scheduled(
+      initialDelayString = "${stats.rollup.backfill-delay-ms:30000}",
+      fixedDelayString = "${stats.rollup.backfill-retry-ms:600000}")
+  public void backfill() {
+    if (rollupService.isBackfilled()) {
+      return;
+    }
+    try {
+      rollupService.backfill();
+    } catch (RuntimeException ex) {
+      log.warn("Activity rollup backfill failed: {}", ex.getMessage());
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${stats.rollup.compaction-interval-ms:3600000}",
+      fixedDelayString = "${stats.rollup.compaction-interval-ms:3600000}")
+  public void compact() {
+    try {
+      int rows = rollupService.compactBefore(LocalDateTime.now().minus(hourlyRetention));
+      if (rows > 0) {
+        log.info("Compacted hourly activity rollups into {} daily rows", rows);
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Activity rollup compaction failed: {}", ex.getMessage());
+    }
+  }
+}
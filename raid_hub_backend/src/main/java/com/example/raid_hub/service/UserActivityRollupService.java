@@ -0,0 +1,120 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.StatsRollupState;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.StatsRollupStateRepository;
+import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.repository.UserActivityRollupRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 활동 로그 집계 표({@code user_activity_rollups}) 관리.
+ *
+ * <p>새 로그는 저장하는 트랜잭션 안에서 (유형, 대상, 기기, 시각) 단위로 묶어 집계 행에 더한다. 집계 도입 전에 쌓인 로그는 기준점 id까지만 한 번 옮겨 담는다.
+ * 기준점은 writer가 시작하기 전에 기록하므로 두 경로가 같은 로그를 중복으로 세지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserActivityRollupService {
+
+  static final String HOURLY_BACKFILL = "hourly_backfill";
+
+  private static final Comparator<RollupKey> KEY_ORDER =
+      Comparator.comparing(RollupKey::type)
+          .thenComparing(RollupKey::target)
+          .thenComparing(RollupKey::device)
+          .thenComparing(RollupKey::bucketStart);
+
+  private final UserActivityRepository activityRepository;
+  private final UserActivityRollupRepository rollupRepository;
+  private final StatsRollupStateRepository stateRepository;
+
+  // 한 번 완료되면 다시 조회하지 않는다
+  private volatile boolean backfilled;
+
+  record RollupKey(String type, String target, String device, LocalDateTime bucketStart) {
+
+    static RollupKey of(UserActivity activity) {
+      String target =
+          "SEARCH".equals(activity.getActivityType())
+              ? activity.getSearchQuery()
+              : activity.getTargetTitle();
+      return new RollupKey(
+          activity.getActivityType(),
+          target == null ? "" : target,
+          activity.getDeviceType() == null ? "" : activity.getDeviceType(),
+          activity.getCreatedAt().truncatedTo(ChronoUnit.HOURS));
+    }
+  }
+
+  /** 로그를 저장하고 같은 트랜잭션에서 집계 행을 갱신한다. */
+  @Transactional
+  public void saveWithRollups(List<UserActivity> batch) {
+    activityRepository.saveAll(batch);
+
+    Map<RollupKey, Long> counts = new HashMap<>();
+    for (UserActivity activity : batch) {
+      counts.merge(RollupKey.of(activity), 1L, Long::sum);
+    }
+    // 여러 인스턴스가 같은 행을 갱신할 때 교착되지 않도록 항상 같은 순서로 잠근다
+    counts.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+        .forEach(
+            entry -> {
+              RollupKey key = entry.getKey();
+              rollupRepository.upsert(
+                  key.type(), key.target(), key.device(), key.bucketStart(), entry.getValue());
+            });
+  }
+
+  /** 기존 로그 집계의 기준점(현재 최대 id)을 처음 한 번만 기록한다. writer 시작 전에 호출해야 한다. */
+  public void markBackfillWatermark() {
+    stateRepository.insertIfAbsent(HOURLY_BACKFILL);
+  }
+
+  /** 기존 로그가 모두 집계 표에 반영되었는지 여부. 그 전에는 대시보드가 원본 로그를 읽는다. */
+  public boolean isBackfilled() {
+    if (!backfilled) {
+      backfilled =
+          stateRepository
+              .findById(HOURLY_BACKFILL)
+              .map(state -> state.getCompletedAt() != null)
+              .orElse(false);
+    }
+    return backfilled;
+  }
+
+  /**
+   * 기준점까지의 기존 로그를 집계 표에 옮긴다. 상태 행을 잠그고 완료 여부를 함께 기록하므로 여러 인스턴스에서 호출해도 한 번만 수행된다.
+   *
+   * @return 이번 호출에서 옮겼으면 true
+   */
+  @Transactional
+  public boolean backfill() {
+    StatsRollupState state = stateRepository.findForUpdate(HOURLY_BACKFILL).orElse(null);
+    if (state == null || state.getCompletedAt() != null) {
+      return false;
+    }
+    int rows = rollupRepository.backfill(state.getWatermarkId());
+    state.setCompletedAt(LocalDateTime.now());
+    backfilled = true;
+    log.info("Backfilled {} activity rollup rows up to id {}", rows, state.getWatermarkId());
+    return true;
+  }
+
+  /** cutoff 이전의 시간 단위 집계 행을 하루 단위로 합친다. 반환값은 새로 만들거나 갱신한 하루 단위 행 수. */
+  @Transactional
+  public int compactBefore(LocalDateTime cutoff) {
+    return rollupRepository.compactBefore(cutoff.truncatedTo(ChronoUnit.DAYS));
+  }
+}
@@ -1,10 +1,29 @@
 package com.example.raid_hub.service;
 
+import com.example.raid_hub.dto.ActivityMonthStats;
+import com.example.raid_hub.dto.ActivityWindowStats;
+import com.example.raid_hub.dto.ActivityWindowStats.Count;
 import com.example.raid_hub.entity.UserActivity;
 import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.repository.UserActivityRollupRepository;
+import com.example.raid_hub.service.ActivityWindowCounters.Window;
+import com.example.raid_hub.service.ActivityWindowCounters.WindowRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,16 +31,90 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserActivityService {
   private final UserActivityRepository repository;
+  private final UserActivityRollupRepository rollupRepository;
+  private final UserActivityRollupService rollupService;
+  private final UserActivityIngestor ingestor;
+  private final RealtimeActivityStats realtimeStats;
+  private final ActivityWindowCounters windowCounters;
+  private final ActivityArchiveService archiveService;
+  private final ObjectMapper objectMapper;
 
-  @Transactional
-  public void logActivity(UserActivity activity) {
-    repository.save(activity);
+  @Value("${stats.ingest.max-batch-size:500}")
+  private int maxBatchSize;
+
+  /**
+   * 로그를 비동기 저장 큐에 넣고 실시간 통계에 반영한다. 큐가 가득 차 버렸으면 false.
+   *
+   * @throws IllegalArgumentException 로그가 없거나 올바르지 않을 때 ({@link UserActivityIngestor#offer})
+   */
+  public boolean logActivity(UserActivity activity) {
+    if (!ingestor.offer(activity)) {
+      return false;
+    }
+    realtimeStats.record(activity);
+    windowCounters.record(activity);
+    return true;
   }
 
+  /**
+   * @param accepted 큐에 넣은 이벤트 수
+   * @param dropped 큐가 가득 차 버린 이벤트 수
+   * @param truncated 요청 한도(rate limit, max-batch-size)에 걸려 나머지를 읽지 않았는지 여부
+   */
+  public record LogBatchResult(int accepted, int dropped, boolean truncated) {}
+
+  /**
+   * JSON 배열 또는 NDJSON(줄마다 객체 하나) 본문의 로그를 하나씩 읽으며 큐에 넣는다. 본문 전체를 리스트로 만들지 않는다. 형식이 틀리거나 올바르지 않은
+   * 로그(null 포함)를 만나면 그 자리에서 멈추고 400으로 답한다. 그 앞의 로그는 이미 큐에 들어가 있다.
+   *
+   * @param permit 이벤트마다 호출되는 rate limit 확인. false면 그 자리에서 읽기를 멈춘다.
+   */
+  public LogBatchResult logActivities(InputStream body, BooleanSupplier permit) throws IOException {
+    int accepted = 0;
+    int dropped = 0;
+    boolean truncated = false;
+    try (MappingIterator<UserActivity> events =
+        objectMapper.readerFor(UserActivity.class).readValues(body)) {
+      while (events.hasNextValue()) {
+        if (accepted + dropped >= maxBatchSize || !permit.getAsBoolean()) {
+          truncated = true;
+          break;
+        }
+        UserActivity activity = events.nextValue();
+        boolean queued;
+        try {
+          queued = logActivity(activity);
+        } catch (IllegalArgumentException ex) {
+          throw new IllegalArgumentException(
+              "올바르지 않은 활동 로그입니다. (" + (accepted + dropped) + "건 처리 후 중단)", ex);
+        }
+        if (queued) {
+          accepted++;
+        } else {
+          dropped++;
+        }
+      }
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException(
+          "로그 형식이 올바르지 않습니다. (" + (accepted + dropped) + "건 처리 후 중단)", ex);
+    }
+    return new LogBatchResult(accepted, dropped, truncated);
+  }
+
+  /** 대시보드 통계. 집계 표가 준비되었으면 집계 표를 읽어 비용이 로그 양이 아니라 대상 수에 비례한다. 기존 로그를 옮기는 중에는 원본 로그를 읽는다. */
   @Transactional(readOnly = true)
   public Map<String, Object> getDashboardStats() {
     Map<String, Object> stats = new HashMap<>();
 
+    if (rollupService.isBackfilled()) {
+      stats.put("deviceStats", rollupRepository.countByDeviceType());
+      stats.put("topVideos", rollupRepository.findTopTargetsByType("VIDEO_CLICK"));
+      stats.put("topCheatSheets", rollupRepository.findTopTargetsByType("CHEATSHEET_CLICK"));
+      stats.put("topSearches", rollupRepository.findTopSearchQueries());
+      stats.put("totalActivities", rollupRepository.countActivities());
+      return stats;
+    }
+
     stats.put("deviceStats", repository.countByDeviceType());
     stats.put("topVideos", repository.findTopTargetsByType("VIDEO_CLICK"));
     stats.put("topCheatSheets", repository.findTopTargetsByType("CHEATSHEET_CLICK"));
@@ -30,4 +123,150 @@ public class UserActivityService {
 
     return stats;
   }
+
+  /** 최근 구간 실시간 통계 (메모리 추정값, DB 조회 없음). */
+  public Map<String, Object> getRealtimeStats() {
+    return realtimeStats.getStats();
+  }
+
+  /**
+   * 최근 1시간/24시간/7일 통계와 직전 같은 길이 구간 대비 변화. 메모리 카운터가 직전 구간까지 덮지 못하면(재시작 직후) 그 구간만 DB에서 조회한다. 24시간/7일은
+   * 시간 단위 집계 표에서, 분 단위 경계인 1시간은 원본 로그(최근 2시간, created_at 인덱스)에서 읽는다.
+   *
+   * <p>메모리 카운터는 이 노드가 받은 로그만 센다. 여러 인스턴스로 운영하면 memory 결과는 노드별 값이다.
+   */
+  public List<ActivityWindowStats> getWindowStats() {
+    List<ActivityWindowStats> result = new ArrayList<>();
+    for (Window window : Window.values()) {
+      result.add(windowCounters.stats(window).orElseGet(() -> queryWindowStats(window)));
+    }
+    return result;
+  }
+
+  private ActivityWindowStats queryWindowStats(Window window) {
+    WindowRange range = windowCounters.range(window);
+    ZoneId zone = ZoneId.systemDefault();
+    LocalDateTime previousFrom = LocalDateTime.ofInstant(range.previousFrom(), zone);
+    LocalDateTime from = LocalDateTime.ofInstant(range.from(), zone);
+    LocalDateTime to = LocalDateTime.ofInstant(range.to(), zone);
+    boolean useRollups = window != Window.HOUR && rollupService.isBackfilled();
+    WindowQueries queries = useRollups ? new RollupWindowQueries() : new LogWindowQueries();
+
+    long total = queries.count(from, to);
+    long previousTotal = queries.count(previousFrom, from);
+    Map<String, Long> devices = toCounts(queries.devices(from, to));
+    Map<String, Long> previousDevices = toCounts(queries.devices(previousFrom, from));
+    // 기기는 직전 구간에만 있던 값도 보여준다
+    previousDevices.keySet().forEach(device -> devices.putIfAbsent(device, 0L));
+
+    return new ActivityWindowStats(
+        window.label(),
+        range.from(),
+        range.to(),
+        useRollups ? "rollup" : "database",
+        total,
+        previousTotal,
+        total - previousTotal,
+        compare(devices, previousDevices),
+        withPrevious(queries, "VIDEO_CLICK", previousFrom, from, to),
+        withPrevious(queries, "CHEATSHEET_CLICK", previousFrom, from, to),
+        withPrevious(queries, "SEARCH", previousFrom, from, to));
+  }
+
+  // 구간 통계를 읽는 곳 (원본 로그 또는 시간 단위 집계 표). SEARCH 유형의 대상은 검색어다
+  private interface WindowQueries {
+    long count(LocalDateTime from, LocalDateTime to);
+
+    List<Map<String, Object>> devices(LocalDateTime from, LocalDateTime to);
+
+    List<Map<String, Object>> top(String type, LocalDateTime from, LocalDateTime to);
+
+    List<Map<String, Object>> counts(
+        String type, List<String> keys, LocalDateTime from, LocalDateTime to);
+  }
+
+  private final class LogWindowQueries implements WindowQueries {
+    @Override
+    public long count(LocalDateTime from, LocalDateTime to) {
+      return repository.countBetween(from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> devices(LocalDateTime from, LocalDateTime to) {
+      return repository.countByDeviceTypeBetween(from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> top(String type, LocalDateTime from, LocalDateTime to) {
+      return "SEARCH".equals(type)
+          ? repository.findTopSearchQueriesBetween(from, to)
+          : repository.findTopTargetsBetween(type, from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> counts(
+        String type, List<String> keys, LocalDateTime from, LocalDateTime to) {
+      return "SEARCH".equals(type)
+          ? repository.countSearchQueriesBetween(keys, from, to)
+          : repository.countTargetsBetween(type, keys, from, to);
+    }
+  }
+
+  private final class RollupWindowQueries implements WindowQueries {
+    @Override
+    public long count(LocalDateTime from, LocalDateTime to) {
+      return rollupRepository.countBetween(from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> devices(LocalDateTime from, LocalDateTime to) {
+      return rollupRepository.countByDeviceTypeBetween(from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> top(String type, LocalDateTime from, LocalDateTime to) {
+      return rollupRepository.findTopTargetsBetween(type, from, to);
+    }
+
+    @Override
+    public List<Map<String, Object>> counts(
+        String type, List<String> keys, LocalDateTime from, LocalDateTime to) {
+      return rollupRepository.countTargetsBetween(type, keys, from, to);
+    }
+  }
+
+  /** 월별 통계. 보관 기간이 지나 활동 로그 표에서 옮긴 달은 보관 파일에서 읽는다. */
+  public List<ActivityMonthStats> getHistory(YearMonth from, YearMonth to) throws IOException {
+    return archiveService.history(from, to);
+  }
+
+  // 현재 구간 순위에 든 값만 직전 구간에서 다시 센다
+  private static List<Count> withPrevious(
+      WindowQueries queries,
+      String type,
+      LocalDateTime previousFrom,
+      LocalDateTime from,
+      LocalDateTime to) {
+    Map<String, Long> current = toCounts(queries.top(type, from, to));
+    if (current.isEmpty()) {
+      return List.of();
+    }
+    List<String> keys = List.copyOf(current.keySet());
+    return compare(current, toCounts(queries.counts(type, keys, previousFrom, from)));
+  }
+
+  private static List<Count> compare(Map<String, Long> current, Map<String, Long> previous) {
+    return current.entrySet().stream()
+        .map(e -> Count.of(e.getKey(), e.getValue(), previous.getOrDefault(e.getKey(), 0L)))
+        .sorted(Comparator.comparingLong(Count::count).reversed().thenComparing(Count::key))
+        .toList();
+  }
+
+  private static Map<String, Long> toCounts(List<Map<String, Object>> rows) {
+    Map<String, Long> counts = new HashMap<>();
+    for (Map<String, Object> row : rows) {
+      counts.put((String) row.get("item"), ((Number) row.get("count")).longValue());
+    }
+    return counts;
+  }
 }
@@ -0,0 +1,142 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.youtube.YouTubePlaylistBatchResponse;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import com.example.raid_hub.youtube.YouTubeUnavailableException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 여러 재생목록을 동시에 조회한다.
+ *
+ * <p>재생목록마다 전용 스레드 풀에서 fetchAll 조회(캐시 → 크롤링)를 실행하므로 전체 지연 시간은 가장 느린 재생목록 하나에 가깝다. 풀 크기가 배치 조회의 동시
+ * 크롤링 수 상한이며, 실제 업스트림 호출 수는 {@link com.example.raid_hub.youtube.YouTubeApiClient}의 bulkhead가 다시
+ * 제한한다. bulkhead는 자리가 없으면 곧바로 실패하므로, 배치 하나가 자리를 다 차지해 다른 배치나 미리 갱신(refresh-ahead)의 페이지 조회가 도중에 실패하지
+ * 않도록 풀 크기는 bulkhead의 절반까지만 허용한다.
+ */
+@Slf4j
+@Service
+public class YouTubePlaylistBatchService {
+
+  private final YouTubePlaylistService playlistService;
+  private final YouTubePlaylistRefresher refresher;
+  private final int maxPlaylists;
+  private final Duration timeout;
+  private final ExecutorService executor;
+
+  public YouTubePlaylistBatchService(
+      YouTubePlaylistService playlistService,
+      YouTubePlaylistRefresher refresher,
+      @Value("${youtube.batch.concurrency:4}") int concurrency,
+      @Value("${youtube.batch.max-playlists:20}") int maxPlaylists,
+      @Value("${youtube.batch.timeout:20s}") Duration timeout,
+      @Value("${youtube.client.max-concurrent-calls:8}") int maxConcurrentCalls) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("youtube.batch.concurrency must be >= 1");
+    }
+    if (concurrency * 2 > maxConcurrentCalls) {
+      throw new IllegalArgumentException(
+          "youtube.batch.concurrency must be at most half of youtube.client.max-concurrent-calls");
+    }
+    this.playlistService = playlistService;
+    this.refresher = refresher;
+    this.maxPlaylists = maxPlaylists;
+    this.timeout = timeout;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            concurrency,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "playlist-batch-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public YouTubePlaylistBatchResponse fetchAll(
+      List<String> playlistIds, Integer maxResults, boolean excludeBlocked) {
+    Set<String> ids = new LinkedHashSet<>();
+    for (String playlistId : playlistIds) {
+      if (playlistId != null && !playlistId.isBlank()) {
+        ids.add(playlistId.trim());
+      }
+    }
+    if (ids.isEmpty()) {
+      throw new IllegalArgumentException("playlistIds is required");
+    }
+    if (ids.size() > maxPlaylists) {
+      throw new IllegalArgumentException(
+          "Too many playlistIds (max " + maxPlaylists + "): " + ids.size());
+    }
+
+    Map<String, CompletableFuture<YouTubePlaylistItemsResponse>> futures = new LinkedHashMap<>();
+    for (String playlistId : ids) {
+      refresher.recordAccess(playlistId, maxResults);
+      futures.put(
+          playlistId,
+          CompletableFuture.supplyAsync(() -> fetchOne(playlistId, maxResults), executor));
+    }
+
+    long deadline = System.nanoTime() + timeout.toNanos();
+    Map<String, YouTubePlaylistItemsResponse> playlists = new LinkedHashMap<>();
+    Map<String, String> errors = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<YouTubePlaylistItemsResponse>> entry :
+        futures.entrySet()) {
+      String playlistId = entry.getKey();
+      try {
+        long remaining = Math.max(deadline - System.nanoTime(), 0);
+        YouTubePlaylistItemsResponse response =
+            entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+        playlists.put(
+            playlistId, excludeBlocked ? playlistService.excludeBlocked(response) : response);
+      } catch (TimeoutException ex) {
+        // 진행 중인 크롤링은 계속되어 캐시를 채운다
+        errors.put(playlistId, "Timed out");
+      } catch (ExecutionException ex) {
+        errors.put(playlistId, describe(ex.getCause()));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        errors.put(playlistId, "Interrupted");
+      }
+    }
+    return new YouTubePlaylistBatchResponse(playlists, errors);
+  }
+
+  private YouTubePlaylistItemsResponse fetchOne(String playlistId, Integer maxResults) {
+    try {
+      return playlistService.fetchAllPlaylistItems(playlistId, maxResults);
+    } catch (YouTubeUnavailableException ex) {
+      return playlistService.fallbackToStale(playlistId, ex);
+    }
+  }
+
+  private String describe(Throwable cause) {
+    if (cause instanceof ResponseStatusException ex && ex.getReason() != null) {
+      return ex.getReason();
+    }
+    log.warn("Batch playlist fetch failed", cause);
+    return "Failed to load playlist";
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
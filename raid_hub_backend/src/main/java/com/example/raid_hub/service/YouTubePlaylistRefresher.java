@@ -0,0 +1,243 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * youtubePlaylist 캐시 refresh-ahead 갱신기.
+ *
+ * <p>최근 조회된(hot) 재생목록을 기억해 두었다가, 캐시가 만료되기 lead-time 전에 백그라운드에서 다시 가져와 캐시 값을 교체한다. 캐시 교체는 단일 put이므로
+ * 사용자는 항상 이전 값 또는 새 값 중 하나를 받고, 만료 직후 전체 페이지 크롤링을 기다리는 일이 없다.
+ *
+ * <p>새로 hot이 된 재생목록의 첫 갱신 시각은 Redis에 남은 실제 TTL로 잡는다. 재시작 직후나 다른 노드가 채운 항목은 이 노드가 처음 본 시점보다 먼저 만료되기
+ * 때문이다.
+ */
+@Slf4j
+@Component
+public class YouTubePlaylistRefresher {
+
+  private final YouTubePlaylistService playlistService;
+  private final CacheManager cacheManager;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Duration ttl;
+  private final Duration leadTime;
+  private final Duration hotWindow;
+  private final Duration retryDelay;
+  private final Function<String, Duration> remainingTtl;
+  private final ExecutorService executor;
+
+  private final Map<String, HotPlaylist> hotPlaylists = new ConcurrentHashMap<>();
+
+  @Autowired
+  public YouTubePlaylistRefresher(
+      YouTubePlaylistService playlistService,
+      CacheManager cacheManager,
+      StringRedisTemplate redisTemplate,
+      @Value("${youtube.refresh-ahead.enabled:true}") boolean enabled,
+      @Value("${spring.cache.redis.time-to-live:3h}") Duration ttl,
+      @Value("${youtube.refresh-ahead.lead-time:15m}") Duration leadTime,
+      @Value("${youtube.refresh-ahead.hot-window:6h}") Duration hotWindow,
+      @Value("${youtube.refresh-ahead.concurrency:2}") int concurrency) {
+    this(
+        playlistService,
+        cacheManager,
+        Clock.systemUTC(),
+        playlistId -> redisRemainingTtl(redisTemplate, playlistId),
+        enabled,
+        ttl,
+        leadTime,
+        hotWindow,
+        concurrency);
+  }
+
+  YouTubePlaylistRefresher(
+      YouTubePlaylistService playlistService,
+      CacheManager cacheManager,
+      Clock clock,
+      Function<String, Duration> remainingTtl,
+      boolean enabled,
+      Duration ttl,
+      Duration leadTime,
+      Duration hotWindow,
+      int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("youtube.refresh-ahead.concurrency must be >= 1");
+    }
+    this.playlistService = playlistService;
+    this.cacheManager = cacheManager;
+    this.clock = clock;
+    this.remainingTtl = remainingTtl;
+    this.enabled = enabled;
+    this.ttl = ttl;
+    this.leadTime = leadTime;
+    this.hotWindow = hotWindow;
+    this.retryDelay = Duration.ofMinutes(1);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            concurrency,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "playlist-refresh-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** fetchAll 조회가 들어올 때마다 호출된다. 캐시 적중 여부와 관계없이 hot 목록을 갱신한다. */
+  public void recordAccess(String playlistId, Integer maxResults) {
+    if (!enabled || playlistId == null || playlistId.isBlank()) {
+      return;
+    }
+    Instant now = clock.instant();
+    hotPlaylists
+        .computeIfAbsent(playlistId, id -> new HotPlaylist(id, maxResults, now))
+        .touch(now, maxResults);
+  }
+
+  /** Redis 캐시 항목의 남은 TTL. 항목이 없거나 만료가 없으면 null. */
+  private static Duration redisRemainingTtl(StringRedisTemplate redisTemplate, String playlistId) {
+    String key =
+        CacheKeyPrefix.simple().compute(YouTubePlaylistService.YOUTUBE_PLAYLIST_CACHE) + playlistId;
+    Long millis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+    return millis != null && millis > 0 ? Duration.ofMillis(millis) : null;
+  }
+
+  @Scheduled(
+      initialDelayString = "${youtube.refresh-ahead.check-interval-ms:60000}",
+      fixedDelayString = "${youtube.refresh-ahead.check-interval-ms:60000}")
+  public void scheduledRefresh() {
+    refreshDueEntries();
+  }
+
+  /** 만료가 임박한 hot 재생목록을 백그라운드에서 갱신한다. 반환값은 테스트에서 완료를 기다리는 용도이다. */
+  List<CompletableFuture<Void>> refreshDueEntries() {
+    List<CompletableFuture<Void>> submitted = new ArrayList<>();
+    if (!enabled) {
+      return submitted;
+    }
+    Instant now = clock.instant();
+
+    for (HotPlaylist playlist : hotPlaylists.values()) {
+      if (playlist.lastAccessedAt.isBefore(now.minus(hotWindow))) {
+        // 한동안 조회되지 않은 재생목록은 만료되도록 둔다
+        hotPlaylists.remove(playlist.playlistId, playlist);
+        continue;
+      }
+      if (playlist.refreshAt == null) {
+        playlist.scheduleNext(firstRefreshAt(playlist));
+      }
+      if (playlist.isDue(now) && playlist.tryStartRefresh()) {
+        submitted.add(CompletableFuture.runAsync(() -> refresh(playlist), executor));
+      }
+    }
+    return submitted;
+  }
+
+  /**
+   * 처음 hot이 된 재생목록의 갱신 시각. Redis에 남은 TTL을 알 수 있으면 그 만료 lead-time 전으로 잡고, 항목이 아직 없거나 조회에 실패하면 처음 조회가
+   * 캐시를 채웠다고 보고 그 시점부터 한 주기 뒤로 잡는다.
+   */
+  private Instant firstRefreshAt(HotPlaylist playlist) {
+    Duration remaining;
+    try {
+      remaining = remainingTtl.apply(playlist.playlistId);
+    } catch (RuntimeException ex) {
+      log.debug(
+          "Could not read cache TTL for playlist {}: {}", playlist.playlistId, ex.getMessage());
+      remaining = null;
+    }
+    if (remaining == null) {
+      return playlist.firstSeenAt.plus(ttl).minus(leadTime);
+    }
+    return clock.instant().plus(remaining).minus(leadTime);
+  }
+
+  private void refresh(HotPlaylist playlist) {
+    try {
+      YouTubePlaylistItemsResponse response =
+          playlistService.loadAllPlaylistItems(playlist.playlistId, playlist.maxResults);
+      Cache cache = cacheManager.getCache(YouTubePlaylistService.YOUTUBE_PLAYLIST_CACHE);
+      if (cache != null) {
+        cache.put(playlist.playlistId, response);
+      }
+      playlist.scheduleNext(clock.instant().plus(ttl).minus(leadTime));
+      log.debug("Refreshed playlist cache ahead of expiry: {}", playlist.playlistId);
+    } catch (RuntimeException ex) {
+      // 실패해도 기존 캐시 값은 TTL까지 유효하므로 잠시 후 다시 시도한다
+      playlist.scheduleNext(clock.instant().plus(retryDelay));
+      log.warn("Refresh-ahead failed for playlist {}: {}", playlist.playlistId, ex.getMessage());
+    } finally {
+      playlist.finishRefresh();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static final class HotPlaylist {
+    private final String playlistId;
+    private final Instant firstSeenAt;
+    private volatile Integer maxResults;
+    private volatile Instant lastAccessedAt = Instant.EPOCH;
+    // 처음 기록될 때는 비워 두고, 갱신 주기에서 실제 남은 TTL로 채운다
+    private volatile Instant refreshAt;
+    private volatile boolean refreshing;
+
+    private HotPlaylist(String playlistId, Integer maxResults, Instant firstSeenAt) {
+      this.playlistId = playlistId;
+      this.maxResults = maxResults;
+      this.firstSeenAt = firstSeenAt;
+    }
+
+    private void touch(Instant now, Integer maxResults) {
+      this.lastAccessedAt = now;
+      this.maxResults = maxResults;
+    }
+
+    private boolean isDue(Instant now) {
+      return refreshAt != null && !refreshAt.isAfter(now);
+    }
+
+    private synchronized boolean tryStartRefresh() {
+      if (refreshing) {
+        return false;
+      }
+      refreshing = true;
+      return true;
+    }
+
+    private synchronized void finishRefresh() {
+      refreshing = false;
+    }
+
+    private void scheduleNext(Instant nextRefreshAt) {
+      this.refreshAt = nextRefreshAt;
+    }
+  }
+}
@@ -1,66 +1,187 @@
 package com.example.raid_hub.service;
 
+import com.example.raid_hub.service.YouTubePlaylistStore.StoredPage;
+import com.example.raid_hub.youtube.YouTubeApiClient;
 import com.example.raid_hub.youtube.YouTubePlaylistItem;
 import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
 import com.example.raid_hub.youtube.YouTubePlaylistParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.IOException;
+import com.example.raid_hub.youtube.YouTubePlaylistParser.ParsedPage;
+import com.example.raid_hub.youtube.YouTubeUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class YouTubePlaylistService {
 
-  private final ObjectMapper objectMapper;
+  public static final String YOUTUBE_PLAYLIST_CACHE = "youtubePlaylist";
+  public static final String YOUTUBE_PLAYLIST_PAGE_CACHE = "youtubePlaylistPage";
+  // 마지막으로 성공한 응답 (업스트림 장애 시 대신 제공, stale-if-error)
+  public static final String YOUTUBE_PLAYLIST_STALE_CACHE = "youtubePlaylistStale";
+
   private final YouTubePlaylistParser parser;
-  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final YouTubeApiClient apiClient;
+  private final YouTubePlaylistStore playlistStore;
+  private final BlockedVideoService blockedVideoService;
+  private final Cache pageCache;
+  private final Cache staleCache;
+  // 같은 재생목록의 전체 크롤링은 동시에 하나만 수행 (캐시 미스가 몰릴 때 업스트림 호출 중복 방지)
+  private final SingleFlight<String, YouTubePlaylistItemsResponse> playlistCrawls;
 
   @Value("${youtube.api.key:}")
   private String apiKey;
 
+  @Value("${youtube.api.base-url:https://www.googleapis.com/youtube/v3}")
+  private String apiBaseUrl;
+
+  public YouTubePlaylistService(
+      YouTubePlaylistParser parser,
+      YouTubeApiClient apiClient,
+      YouTubePlaylistStore playlistStore,
+      BlockedVideoService blockedVideoService,
+      CacheManager cacheManager,
+      MeterRegistry meterRegistry) {
+    this.parser = parser;
+    this.apiClient = apiClient;
+    this.playlistStore = playlistStore;
+    this.blockedVideoService = blockedVideoService;
+    this.pageCache = cacheManager.getCache(YOUTUBE_PLAYLIST_PAGE_CACHE);
+    this.staleCache = cacheManager.getCache(YOUTUBE_PLAYLIST_STALE_CACHE);
+    this.playlistCrawls = new SingleFlight<>("youtube.playlist.crawls", meterRegistry);
+  }
+
   public YouTubePlaylistItemsResponse fetchPlaylistItems(
       String playlistId, Integer maxResults, String pageToken) {
     validateInputs(playlistId);
 
     int limit = normalizeMaxResults(maxResults);
-    JsonNode root = requestPage(playlistId, limit, pageToken);
-    return parser.parse(root, playlistId);
+    String cacheKey = pageCacheKey(playlistId, limit, pageToken);
+    YouTubePlaylistItemsResponse cached =
+        pageCache.get(cacheKey, YouTubePlaylistItemsResponse.class);
+    if (cached != null) {
+      return cached;
+    }
+
+    YouTubePlaylistItemsResponse page;
+    try {
+      page = requestPage(playlistId, limit, pageToken);
+    } catch (YouTubeUnavailableException ex) {
+      return staleOrThrow(cacheKey, ex);
+    }
+    pageCache.put(cacheKey, page);
+    staleCache.put(cacheKey, page);
+    return page;
   }
 
-  @Cacheable(value = "youtubePlaylist", key = "#playlistId")
+  @Cacheable(value = YOUTUBE_PLAYLIST_CACHE, key = "#playlistId")
   public YouTubePlaylistItemsResponse fetchAllPlaylistItems(String playlistId, Integer maxResults) {
+    return loadAllPlaylistItems(playlistId, maxResults);
+  }
+
+  /**
+   * 캐시를 거치지 않고 재생목록 전체를 다시 가져온다. (refresh-ahead 갱신용)
+   *
+   * <p>같은 playlistId로 이미 크롤링이 진행 중이면 새로 시작하지 않고 그 결과를 함께 받는다.
+   */
+  public YouTubePlaylistItemsResponse loadAllPlaylistItems(String playlistId, Integer maxResults) {
     validateInputs(playlistId);
+    return playlistCrawls.execute(playlistId, () -> crawlPlaylist(playlistId, maxResults));
+  }
+
+  /**
+   * 업스트림 장애로 재생목록 전체를 가져오지 못했을 때 로컬에 저장된 재생목록(마지막 동기화 결과)을 돌려준다. 없으면 원래 예외를 다시 던진다.
+   *
+   * <p>stale 응답이 본 캐시에 TTL 동안 남지 않도록 {@link #fetchAllPlaylistItems} 바깥(컨트롤러)에서 호출한다.
+   */
+  public YouTubePlaylistItemsResponse fallbackToStale(
+      String playlistId, YouTubeUnavailableException ex) {
+    YouTubePlaylistItemsResponse stored =
+        playlistStore.findPlaylist(playlistId).orElseThrow(() -> ex);
+    log.warn("Serving stored playlist {}: {}", playlistId, ex.getReason());
+    return stored;
+  }
+
+  private YouTubePlaylistItemsResponse staleOrThrow(String key, YouTubeUnavailableException ex) {
+    YouTubePlaylistItemsResponse stale = staleCache.get(key, YouTubePlaylistItemsResponse.class);
+    if (stale == null) {
+      throw ex;
+    }
+    log.warn("Serving stale playlist response for {}: {}", key, ex.getReason());
+    return stale;
+  }
 
+  /**
+   * 로컬 저장소와 비교하며 재생목록을 동기화한다.
+   *
+   * <p>저장된 페이지와 요청 경계(maxResults, pageToken)가 같으면 etag로 조건부 요청을 보내 304인 페이지는 다시 받지 않는다. 따라서 갱신 비용은
+   * 재생목록 크기가 아니라 바뀐 페이지 수에 비례한다.
+   */
+  private YouTubePlaylistItemsResponse crawlPlaylist(String playlistId, Integer maxResults) {
     int limit = normalizeMaxResults(maxResults);
-    List<YouTubePlaylistItem> allItems = new ArrayList<>();
-    Integer totalResults = null;
+    List<StoredPage> stored = playlistStore.loadPages(playlistId);
+    List<StoredPage> pages = new ArrayList<>();
     String pageToken = null;
 
     do {
-      JsonNode root = requestPage(playlistId, limit, pageToken);
-      YouTubePlaylistItemsResponse page = parser.parse(root, playlistId);
-      if (totalResults == null) {
-        totalResults = page.totalResults();
+      int pageIndex = pages.size();
+      StoredPage previous = pageIndex < stored.size() ? stored.get(pageIndex) : null;
+      boolean conditional = previous != null && previous.sameRequest(limit, pageToken);
+
+      Optional<ParsedPage> fetched =
+          requestPage(playlistId, limit, pageToken, conditional ? previous.etag() : null);
+      StoredPage page;
+      if (fetched.isPresent()) {
+        ParsedPage parsed = fetched.get();
+        page = new StoredPage(pageIndex, pageToken, limit, parsed.etag(), parsed.response(), true);
+      } else {
+        page = previous; // 304: 저장된 페이지 그대로
       }
-      allItems.addAll(page.items());
-      pageToken = page.nextPageToken();
-    } while (pageToken != null && !pageToken.isBlank());
+      pages.add(page);
+      // 전체 크롤링 결과로 페이지 캐시도 함께 채운다
+      pageCache.put(pageCacheKey(playlistId, limit, pageToken), page.page());
+      pageToken = blankToNull(page.page().nextPageToken());
+    } while (pageToken != null);
 
-    return new YouTubePlaylistItemsResponse(playlistId, null, totalResults, allItems);
+    try {
+      playlistStore.saveChanges(playlistId, pages);
+    } catch (RuntimeException ex) {
+      // 저장에 실패해도 이번 응답은 그대로 제공한다 (다음 동기화 때 전체를 다시 비교)
+      log.warn("Failed to store playlist {}: {}", playlistId, ex.getMessage());
+    }
+    return YouTubePlaylistStore.assemble(playlistId, pages);
+  }
+
+  /**
+   * 차단된 영상을 응답에서 제외한다.
+   *
+   * <p>캐시된 응답을 그대로 재사용할 수 있도록 캐시 바깥에서 적용하며, totalResults는 재생목록 원본 값을 유지한다.
+   */
+  public YouTubePlaylistItemsResponse excludeBlocked(YouTubePlaylistItemsResponse response) {
+    Set<String> blockedIds = blockedVideoService.getBlockedVideoIdSet();
+    if (blockedIds.isEmpty()) {
+      return response;
+    }
+    List<YouTubePlaylistItem> items =
+        response.items().stream().filter(item -> !blockedIds.contains(item.videoId())).toList();
+    if (items.size() == response.items().size()) {
+      return response;
+    }
+    return new YouTubePlaylistItemsResponse(
+        response.playlistId(), response.nextPageToken(), response.totalResults(), items);
   }
 
   private void validateInputs(String playlistId) {
@@ -72,9 +193,15 @@ public class YouTubePlaylistService {
     }
   }
 
-  private JsonNode requestPage(String playlistId, int maxResults, String pageToken) {
-    StringBuilder urlBuilder =
-        new StringBuilder("https://www.googleapis.com/youtube/v3/playlistItems");
+  private YouTubePlaylistItemsResponse requestPage(
+      String playlistId, int maxResults, String pageToken) {
+    return requestPage(playlistId, maxResults, pageToken, null).orElseThrow().response();
+  }
+
+  // etag가 있으면 조건부 요청, 304이면 빈 값
+  private Optional<ParsedPage> requestPage(
+      String playlistId, int maxResults, String pageToken, String etag) {
+    StringBuilder urlBuilder = new StringBuilder(apiBaseUrl).append("/playlistItems");
     urlBuilder.append("?part=snippet,contentDetails");
     urlBuilder.append("&playlistId=").append(encode(playlistId));
     urlBuilder.append("&maxResults=").append(maxResults);
@@ -83,23 +210,19 @@ public class YouTubePlaylistService {
       urlBuilder.append("&pageToken=").append(encode(pageToken));
     }
 
-    HttpRequest request = HttpRequest.newBuilder(URI.create(urlBuilder.toString())).GET().build();
+    // 본문을 문자열/트리로 버퍼링하지 않고 스트림에서 바로 파싱
+    return apiClient.getIfModified(
+        URI.create(urlBuilder.toString()), etag, body -> parser.parsePage(body, playlistId));
+  }
 
-    try {
-      HttpResponse<String> response =
-          httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-      if (response.statusCode() != 200) {
-        throw new ResponseStatusException(
-            HttpStatus.BAD_GATEWAY, "YouTube API error: HTTP " + response.statusCode());
-      }
+  private String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
 
-      return objectMapper.readTree(response.body());
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "YouTube API request failed", ex);
-    } catch (IOException ex) {
-      throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "YouTube API request failed", ex);
-    }
+  // 첫 페이지(pageToken 없음)와 빈 pageToken은 같은 키를 쓴다
+  private String pageCacheKey(String playlistId, int maxResults, String pageToken) {
+    String token = pageToken == null || pageToken.isBlank() ? "" : pageToken;
+    return playlistId + ":" + maxResults + ":" + token;
   }
 
   private int normalizeMaxResults(Integer maxResults) {
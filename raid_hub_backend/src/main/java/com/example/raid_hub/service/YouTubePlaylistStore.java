@@ -0,0 +1,181 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.entity.PlaylistItem;
+import com.example.raid_hub.entity.PlaylistPage;
+import com.example.raid_hub.repository.PlaylistItemRepository;
+import com.example.raid_hub.repository.PlaylistPageRepository;
+import com.example.raid_hub.youtube.YouTubePlaylistItem;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 재생목록 페이지와 항목을 로컬 DB에 보관한다.
+ *
+ * <p>동기화할 때는 페이지별 etag로 변경된 페이지만 다시 받고, 변경된 페이지도 달라진 항목만 수정한다. 저장된 재생목록은 업스트림 장애 시 마지막으로 성공한 응답으로도
+ * 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class YouTubePlaylistStore {
+
+  private final PlaylistPageRepository pageRepository;
+  private final PlaylistItemRepository itemRepository;
+
+  /**
+   * 저장된(또는 방금 받은) 페이지 하나.
+   *
+   * @param pageToken 이 페이지를 요청한 pageToken (첫 페이지는 null)
+   * @param modified 이번 동기화에서 새로 받은 페이지인지 여부 (false면 304로 저장된 값을 재사용)
+   */
+  public record StoredPage(
+      int pageIndex,
+      String pageToken,
+      int maxResults,
+      String etag,
+      YouTubePlaylistItemsResponse page,
+      boolean modified) {
+
+    /** 페이지 경계가 같아야 etag로 변경 여부를 물어볼 수 있다. */
+    public boolean sameRequest(int maxResults, String pageToken) {
+      return this.maxResults == maxResults && Objects.equals(this.pageToken, pageToken);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public List<StoredPage> loadPages(String playlistId) {
+    List<PlaylistPage> pages = pageRepository.findByPlaylistIdOrderByPageIndexAsc(playlistId);
+    if (pages.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Integer, List<YouTubePlaylistItem>> itemsByPage = new HashMap<>();
+    for (PlaylistItem item :
+        itemRepository.findByPlaylistIdOrderByPageIndexAscSlotAsc(playlistId)) {
+      itemsByPage.computeIfAbsent(item.getPageIndex(), k -> new ArrayList<>()).add(toItem(item));
+    }
+
+    List<StoredPage> result = new ArrayList<>(pages.size());
+    for (PlaylistPage page : pages) {
+      YouTubePlaylistItemsResponse response =
+          new YouTubePlaylistItemsResponse(
+              playlistId,
+              page.getNextPageToken(),
+              page.getTotalResults(),
+              itemsByPage.getOrDefault(page.getPageIndex(), List.of()));
+      result.add(
+          new StoredPage(
+              page.getPageIndex(),
+              page.getPageToken(),
+              page.getMaxResults(),
+              page.getEtag(),
+              response,
+              false));
+    }
+    return result;
+  }
+
+  /** 저장된 재생목록 전체. 동기화한 적이 없으면 빈 값. */
+  @Transactional(readOnly = true)
+  public Optional<YouTubePlaylistItemsResponse> findPlaylist(String playlistId) {
+    List<StoredPage> pages = loadPages(playlistId);
+    return pages.isEmpty() ? Optional.empty() : Optional.of(assemble(playlistId, pages));
+  }
+
+  /**
+   * 한 번의 동기화 결과를 반영한다. 새로 받은 페이지는 항목 단위로 비교해 달라진 것만 수정하고, 목록에 없는 뒤쪽 페이지는 삭제한다.
+   *
+   * @param pages 0번부터 순서대로 이어진 전체 페이지
+   */
+  @Transactional
+  public void saveChanges(String playlistId, List<StoredPage> pages) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Integer, PlaylistPage> existing = new HashMap<>();
+    for (PlaylistPage page : pageRepository.findByPlaylistIdOrderByPageIndexAsc(playlistId)) {
+      existing.put(page.getPageIndex(), page);
+    }
+
+    for (StoredPage page : pages) {
+      PlaylistPage entity = existing.remove(page.pageIndex());
+      if (entity != null && !page.modified()) {
+        entity.setSyncedAt(now);
+        continue;
+      }
+      if (entity == null) {
+        entity = PlaylistPage.builder().playlistId(playlistId).pageIndex(page.pageIndex()).build();
+      }
+      entity.setPageToken(page.pageToken());
+      entity.setMaxResults(page.maxResults());
+      entity.setEtag(page.etag());
+      entity.setNextPageToken(page.page().nextPageToken());
+      entity.setTotalResults(page.page().totalResults());
+      entity.setSyncedAt(now);
+      pageRepository.save(entity);
+      applyItemChanges(playlistId, page.pageIndex(), page.page().items());
+    }
+
+    // 재생목록이 짧아져 더 이상 없는 페이지
+    if (!existing.isEmpty()) {
+      itemRepository.deleteFromPage(playlistId, pages.size());
+      pageRepository.deleteAll(existing.values());
+    }
+  }
+
+  static YouTubePlaylistItemsResponse assemble(String playlistId, List<StoredPage> pages) {
+    List<YouTubePlaylistItem> items = new ArrayList<>();
+    for (StoredPage page : pages) {
+      items.addAll(page.page().items());
+    }
+    Integer totalResults = pages.isEmpty() ? null : pages.get(0).page().totalResults();
+    return new YouTubePlaylistItemsResponse(playlistId, null, totalResults, items);
+  }
+
+  private void applyItemChanges(String playlistId, int pageIndex, List<YouTubePlaylistItem> items) {
+    List<PlaylistItem> stored =
+        itemRepository.findByPlaylistIdAndPageIndexOrderBySlotAsc(playlistId, pageIndex);
+    Map<Integer, PlaylistItem> bySlot = new HashMap<>();
+    for (PlaylistItem item : stored) {
+      bySlot.put(item.getSlot(), item);
+    }
+
+    List<PlaylistItem> changed = new ArrayList<>();
+    for (int slot = 0; slot < items.size(); slot++) {
+      YouTubePlaylistItem item = items.get(slot);
+      PlaylistItem entity = bySlot.remove(slot);
+      if (entity != null && toItem(entity).equals(item)) {
+        continue;
+      }
+      if (entity == null) {
+        entity =
+            PlaylistItem.builder().playlistId(playlistId).pageIndex(pageIndex).slot(slot).build();
+      }
+      entity.setVideoId(item.videoId());
+      entity.setTitle(item.title());
+      entity.setChannelTitle(item.channelTitle());
+      entity.setThumbnailUrl(item.thumbnailUrl());
+      entity.setPosition(item.position());
+      entity.setPublishedAt(item.publishedAt());
+      changed.add(entity);
+    }
+    itemRepository.saveAll(changed);
+    itemRepository.deleteAll(bySlot.values());
+  }
+
+  private YouTubePlaylistItem toItem(PlaylistItem item) {
+    return new YouTubePlaylistItem(
+        item.getVideoId(),
+        item.getTitle(),
+        item.getChannelTitle(),
+        item.getThumbnailUrl(),
+        item.getPosition(),
+        item.getPublishedAt());
+  }
+}
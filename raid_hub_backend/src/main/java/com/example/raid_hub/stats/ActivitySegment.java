@@ -0,0 +1,363 @@
+package com.example.raid_hub.stats;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 보관(archive)된 활동 로그 묶음 파일. 행 대신 컬럼별로 저장한다.
+ *
+ * <ul>
+ *   <li>문자열(유형, 대상, 기기, 검색어)은 파일 하나에서 공유하는 사전 번호(varint, 0은 null)로 저장한다
+ *   <li>시각(epoch millis)은 앞 행과의 차이를 zigzag varint로 저장한다
+ *   <li>블록(사전 + 컬럼 5개)마다 따로 Deflate 압축해, 필요한 컬럼만 풀 수 있다
+ * </ul>
+ *
+ * 파일 구조: magic, version, 행 수, 블록 디렉터리(블록별 위치, 압축 크기, 원래 크기), 블록들. 읽을 때는 파일을 메모리에 매핑하고 필요한 블록만 압축을
+ * 푼다. 한 번 쓴 파일은 바뀌지 않는다.
+ */
+public final class ActivitySegment {
+
+  private static final int MAGIC = 0x52485347; // "RHSG"
+  private static final int VERSION = 1;
+
+  private static final int DICTIONARY = 0;
+  private static final int CREATED_AT = 1;
+  private static final int TYPE = 2;
+  private static final int TARGET = 3;
+  private static final int DEVICE = 4;
+  private static final int SEARCH = 5;
+  private static final int BLOCKS = 6;
+  // magic, version, rows + 블록마다 (offset long, compressed int, raw int)
+  private static final int HEADER_SIZE = 12 + BLOCKS * 16;
+
+  /** 문자열 컬럼. */
+  public enum Column {
+    TYPE(ActivitySegment.TYPE),
+    TARGET(ActivitySegment.TARGET),
+    DEVICE(ActivitySegment.DEVICE),
+    SEARCH(ActivitySegment.SEARCH);
+
+    private final int block;
+
+    Column(int block) {
+      this.block = block;
+    }
+  }
+
+  private final int rows;
+  private final MappedByteBuffer data;
+  private final long[] offsets = new long[BLOCKS];
+  private final int[] compressedSizes = new int[BLOCKS];
+  private final int[] rawSizes = new int[BLOCKS];
+  private String[] dictionary;
+
+  private ActivitySegment(MappedByteBuffer data) throws IOException {
+    this.data = data;
+    if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+      throw new IOException("Not an activity segment");
+    }
+    if (data.getInt(4) != VERSION) {
+      throw new IOException("Unsupported activity segment version " + data.getInt(4));
+    }
+    this.rows = data.getInt(8);
+    for (int block = 0; block < BLOCKS; block++) {
+      int at = 12 + block * 16;
+      offsets[block] = data.getLong(at);
+      compressedSizes[block] = data.getInt(at + 8);
+      rawSizes[block] = data.getInt(at + 12);
+      if (offsets[block] + compressedSizes[block] > data.capacity()) {
+        throw new IOException("Truncated activity segment");
+      }
+    }
+  }
+
+  /** 파일을 읽기 전용으로 매핑한다. 매핑은 객체가 GC될 때 해제된다. */
+  public static ActivitySegment open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new ActivitySegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  /** 사전과 모든 컬럼 블록을 풀어 헤더의 행 수와 맞는지 확인한다. 행이 없거나 맞지 않으면 IOException. */
+  public void verify() throws IOException {
+    if (rows <= 0) {
+      throw new IOException("Empty activity segment");
+    }
+    createdAt();
+    for (Column column : Column.values()) {
+      codes(column);
+    }
+  }
+
+  /** 시각 컬럼 (epoch millis). */
+  public long[] createdAt() throws IOException {
+    ByteBuffer in = ByteBuffer.wrap(inflate(CREATED_AT));
+    long[] values = new long[rows];
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      long raw = readVarLong(in, CREATED_AT);
+      previous += (raw >>> 1) ^ -(raw & 1);
+      values[i] = previous;
+    }
+    expectEnd(in, CREATED_AT);
+    return values;
+  }
+
+  /** 문자열 컬럼의 사전 번호 (0은 null, 그 외 {@link #dictionary()}[번호 - 1]). */
+  public int[] codes(Column column) throws IOException {
+    ByteBuffer in = ByteBuffer.wrap(inflate(column.block));
+    int size = dictionary().length;
+    int[] codes = new int[rows];
+    for (int i = 0; i < rows; i++) {
+      long code = readVarLong(in, column.block);
+      if (code > size) {
+        throw new IOException("Corrupted activity segment block " + column.block);
+      }
+      codes[i] = (int) code;
+    }
+    expectEnd(in, column.block);
+    return codes;
+  }
+
+  public synchronized String[] dictionary() throws IOException {
+    if (dictionary == null) {
+      ByteBuffer in = ByteBuffer.wrap(inflate(DICTIONARY));
+      long size = readVarLong(in, DICTIONARY);
+      // 값마다 길이 varint가 최소 1바이트
+      if (size > in.remaining()) {
+        throw new IOException("Corrupted activity segment block " + DICTIONARY);
+      }
+      String[] values = new String[(int) size];
+      for (int i = 0; i < values.length; i++) {
+        long length = readVarLong(in, DICTIONARY);
+        if (length > in.remaining()) {
+          throw new IOException("Corrupted activity segment block " + DICTIONARY);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.get(bytes);
+        values[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+      expectEnd(in, DICTIONARY);
+      dictionary = values;
+    }
+    return dictionary;
+  }
+
+  private byte[] inflate(int block) throws IOException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data.slice((int) offsets[block], compressedSizes[block]));
+      byte[] raw = new byte[rawSizes[block]];
+      int read = 0;
+      while (read < raw.length && !inflater.finished()) {
+        int n = inflater.inflate(raw, read, raw.length - read);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += n;
+      }
+      if (read != raw.length) {
+        throw new IOException("Corrupted activity segment block " + block);
+      }
+      return raw;
+    } catch (DataFormatException ex) {
+      throw new IOException("Corrupted activity segment block " + block, ex);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static long readVarLong(ByteBuffer in, int block) throws IOException {
+    long value = 0;
+    try {
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = in.get();
+        value |= (long) (b & 0x7f) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    } catch (BufferUnderflowException ex) {
+      // 블록이 행 수보다 짧다
+    }
+    throw new IOException("Corrupted activity segment block " + block);
+  }
+
+  // 행 수만큼 읽고 남는 바이트가 있으면 헤더의 행 수와 블록이 맞지 않는 것이다
+  private static void expectEnd(ByteBuffer in, int block) throws IOException {
+    if (in.hasRemaining()) {
+      throw new IOException("Corrupted activity segment block " + block);
+    }
+  }
+
+  /** 행을 모아 파일 하나로 쓴다. 메모리에는 컬럼별 원시 배열과 사전만 둔다. */
+  public static final class Writer {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private long[] createdAt = new long[1024];
+    private int[][] columns = new int[4][1024];
+    private int rows;
+
+    public void add(
+        long createdAtMillis, String type, String target, String device, String search) {
+      if (rows == createdAt.length) {
+        createdAt = Arrays.copyOf(createdAt, rows * 2);
+        for (int c = 0; c < columns.length; c++) {
+          columns[c] = Arrays.copyOf(columns[c], rows * 2);
+        }
+      }
+      createdAt[rows] = createdAtMillis;
+      columns[0][rows] = code(type);
+      columns[1][rows] = code(target);
+      columns[2][rows] = code(device);
+      columns[3][rows] = code(search);
+      rows++;
+    }
+
+    public int rows() {
+      return rows;
+    }
+
+    /** 파일의 모든 블록을 풀어 이 writer에 모은 값과 같은지 확인한다. 원본을 지우기 전에 쓴다. */
+    public boolean matches(ActivitySegment segment) throws IOException {
+      if (segment.rows() != rows
+          || !Arrays.equals(segment.dictionary(), dictionary.toArray(new String[0]))
+          || !Arrays.equals(segment.createdAt(), Arrays.copyOf(createdAt, rows))) {
+        return false;
+      }
+      for (Column column : Column.values()) {
+        int[] expected = Arrays.copyOf(columns[column.block - TYPE], rows);
+        if (!Arrays.equals(segment.codes(column), expected)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int code(String value) {
+      if (value == null) {
+        return 0;
+      }
+      return codes.computeIfAbsent(
+          value,
+          v -> {
+            dictionary.add(v);
+            return dictionary.size();
+          });
+    }
+
+    /** 같은 디렉터리의 임시 파일에 쓰고 디스크에 반영(fsync)한 뒤 이름을 바꾼다. 쓰다 멈추면 파일이 생기지 않는다. */
+    public void writeTo(Path file) throws IOException {
+      byte[][] raw = new byte[BLOCKS][];
+      Encoder dict = new Encoder();
+      dict.varLong(dictionary.size());
+      for (String value : dictionary) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dict.varLong(bytes.length);
+        dict.write(bytes);
+      }
+      raw[DICTIONARY] = dict.toByteArray();
+
+      Encoder times = new Encoder();
+      long previous = 0;
+      for (int i = 0; i < rows; i++) {
+        long delta = createdAt[i] - previous;
+        times.varLong((delta << 1) ^ (delta >> 63));
+        previous = createdAt[i];
+      }
+      raw[CREATED_AT] = times.toByteArray();
+
+      for (int c = 0; c < columns.length; c++) {
+        Encoder column = new Encoder();
+        for (int i = 0; i < rows; i++) {
+          column.varLong(columns[c][i]);
+        }
+        raw[TYPE + c] = column.toByteArray();
+      }
+
+      byte[][] compressed = new byte[BLOCKS][];
+      for (int block = 0; block < BLOCKS; block++) {
+        compressed[block] = deflate(raw[block]);
+      }
+
+      Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "segment", ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+          out.writeInt(MAGIC);
+          out.writeInt(VERSION);
+          out.writeInt(rows);
+          long offset = HEADER_SIZE;
+          for (int block = 0; block < BLOCKS; block++) {
+            out.writeLong(offset);
+            out.writeInt(compressed[block].length);
+            out.writeInt(raw[block].length);
+            offset += compressed[block].length;
+          }
+          for (byte[] block : compressed) {
+            out.write(block);
+          }
+          out.flush();
+          channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+      Deflater deflater = new Deflater();
+      try {
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+          out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+      } finally {
+        deflater.end();
+      }
+    }
+  }
+
+  private static final class Encoder extends ByteArrayOutputStream {
+
+    void varLong(long value) {
+      while ((value & ~0x7fL) != 0) {
+        write((int) ((value & 0x7f) | 0x80));
+        value >>>= 7;
+      }
+      write((int) value);
+    }
+  }
+}
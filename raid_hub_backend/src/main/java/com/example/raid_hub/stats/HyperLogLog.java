@@ -0,0 +1,111 @@
+package com.example.raid_hub.stats;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 서로 다른 값의 개수를 고정 크기(2^precision 바이트)로 추정하는 HyperLogLog.
+ *
+ * <p>표준 오차는 약 1.04 / sqrt(2^precision)이다. (precision 12 = 4KB, 약 1.6%) 같은 precision끼리는 레지스터 최댓값으로
+ * 정확히 합칠 수 있다. 동기화하지 않으므로 호출하는 쪽에서 잠가야 한다.
+ */
+public final class HyperLogLog {
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog(int precision) {
+    if (precision < 4 || precision > 16) {
+      throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16");
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  public int precision() {
+    return precision;
+  }
+
+  public void add(String value) {
+    long hash = hash64(value);
+    int index = (int) (hash >>> (64 - precision));
+    // 남은 비트의 선행 0 개수 + 1 (남은 비트가 모두 0이면 최댓값)
+    int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+    if (registers[index] < rank) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException("Cannot merge HyperLogLog of different precision");
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] < other.registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    // 값이 적을 때는 빈 레지스터 비율로 추정하는 편이 정확하다 (linear counting)
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public void clear() {
+    Arrays.fill(registers, (byte) 0);
+  }
+
+  /** 스냅샷 저장용 레지스터 복사본. */
+  public byte[] toByteArray() {
+    return registers.clone();
+  }
+
+  /** {@link #toByteArray()}로 저장한 레지스터에서 복원한다. precision은 길이로 정해진다. */
+  public static HyperLogLog fromByteArray(byte[] bytes) {
+    int precision = Integer.numberOfTrailingZeros(bytes.length);
+    if (bytes.length != 1 << precision) {
+      throw new IllegalArgumentException("HyperLogLog registers must be a power of two");
+    }
+    HyperLogLog sketch = new HyperLogLog(precision);
+    System.arraycopy(bytes, 0, sketch.registers, 0, bytes.length);
+    return sketch;
+  }
+
+  private static double alpha(int m) {
+    return switch (m) {
+      case 16 -> 0.673;
+      case 32 -> 0.697;
+      case 64 -> 0.709;
+      default -> 0.7213 / (1 + 1.079 / m);
+    };
+  }
+
+  // FNV-1a 64 + MurmurHash3 finalizer (짧은 문자열도 비트가 고르게 퍼지도록)
+  static long hash64(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
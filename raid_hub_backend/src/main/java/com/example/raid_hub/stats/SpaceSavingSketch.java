@@ -0,0 +1,87 @@
+package com.example.raid_hub.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K 추정기.
+ *
+ * <p>최대 capacity개의 값만 세며, 자리가 없으면 가장 작은 카운터를 새 값에 넘겨준다. 넘겨받은 값은 이전 카운터 값만큼 과대 추정될 수 있고 그 상한을 error로
+ * 기록한다. 빈도가 N/capacity보다 큰 값은 반드시 남는다. 동기화하지 않으므로 호출하는 쪽에서 잠가야 한다.
+ */
+public final class SpaceSavingSketch {
+
+  /**
+   * @param count 추정 빈도 (실제 빈도 이상)
+   * @param error 과대 추정 상한 (count - error 이상은 확실)
+   */
+  public record Counter(String key, long count, long error) {}
+
+  private static final Comparator<Counter> BY_COUNT_DESC =
+      Comparator.comparingLong(Counter::count).reversed().thenComparing(Counter::key);
+
+  private final int capacity;
+  // [count, error]
+  private final Map<String, long[]> counters;
+
+  public SpaceSavingSketch(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Space-Saving capacity must be >= 1");
+    }
+    this.capacity = capacity;
+    this.counters = new HashMap<>(capacity * 2);
+  }
+
+  public void add(String key) {
+    add(key, 1, 0);
+  }
+
+  /** 스냅샷 복원이나 병합처럼 이미 센 값을 넣을 때 사용한다. */
+  public void add(String key, long count, long error) {
+    long[] counter = counters.get(key);
+    if (counter != null) {
+      counter[0] += count;
+      counter[1] += error;
+      return;
+    }
+    if (counters.size() < capacity) {
+      counters.put(key, new long[] {count, error});
+      return;
+    }
+    // 가장 작은 카운터를 넘겨받는다 (capacity가 작아 선형 탐색으로 충분)
+    String minKey = null;
+    long[] min = null;
+    for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+      if (min == null || entry.getValue()[0] < min[0]) {
+        minKey = entry.getKey();
+        min = entry.getValue();
+      }
+    }
+    counters.remove(minKey);
+    counters.put(key, new long[] {min[0] + count, min[0] + error});
+  }
+
+  public int size() {
+    return counters.size();
+  }
+
+  /** 빈도 높은 순으로 전체 카운터. */
+  public List<Counter> counters() {
+    List<Counter> result = new ArrayList<>(counters.size());
+    counters.forEach((key, counter) -> result.add(new Counter(key, counter[0], counter[1])));
+    result.sort(BY_COUNT_DESC);
+    return result;
+  }
+
+  public List<Counter> top(int k) {
+    List<Counter> all = counters();
+    return all.size() <= k ? all : List.copyOf(all.subList(0, k));
+  }
+
+  public void clear() {
+    counters.clear();
+  }
+}
@@ -0,0 +1,262 @@
+package com.example.raid_hub.youtube;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * YouTube Data API 호출 전용 클라이언트.
+ *
+ * <ul>
+ *   <li>연결/요청 타임아웃
+ *   <li>동시 호출 수 제한(bulkhead): 자리가 나기를 잠깐만 기다리고, 그래도 없으면 503
+ *   <li>5xx, 429, 네트워크 오류는 지터를 섞은 지수 backoff로 재시도
+ *   <li>연속 실패가 임계값을 넘으면 서킷을 열어 일정 시간 업스트림 호출을 막는다
+ * </ul>
+ *
+ * 업스트림이 느려져도 서블릿 스레드가 무한정 묶이지 않도록 하는 것이 목적이다.
+ */
+@Slf4j
+@Component
+public class YouTubeApiClient {
+
+  private final HttpClient httpClient;
+  private final Duration requestTimeout;
+  private final Semaphore permits;
+  private final Duration acquireTimeout;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
+
+  public YouTubeApiClient(
+      MeterRegistry meterRegistry,
+      @Value("${youtube.client.connect-timeout:3s}") Duration connectTimeout,
+      @Value("${youtube.client.request-timeout:10s}") Duration requestTimeout,
+      @Value("${youtube.client.max-concurrent-calls:8}") int maxConcurrentCalls,
+      @Value("${youtube.client.acquire-timeout:200ms}") Duration acquireTimeout,
+      @Value("${youtube.client.max-attempts:3}") int maxAttempts,
+      @Value("${youtube.client.retry-backoff:200ms}") Duration retryBackoff,
+      @Value("${youtube.client.circuit.failure-threshold:5}") int failureThreshold,
+      @Value("${youtube.client.circuit.open-duration:30s}") Duration openDuration) {
+    if (maxConcurrentCalls < 1 || maxAttempts < 1 || failureThreshold < 1) {
+      throw new IllegalArgumentException(
+          "youtube.client max-concurrent-calls, max-attempts and failure-threshold must be >= 1");
+    }
+    this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+    this.requestTimeout = requestTimeout;
+    this.permits = new Semaphore(maxConcurrentCalls);
+    this.acquireTimeout = acquireTimeout;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoff = retryBackoff;
+    this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+    this.meterRegistry = meterRegistry;
+
+    Gauge.builder("youtube.api.in_flight", permits, p -> maxConcurrentCalls - p.availablePermits())
+        .register(meterRegistry);
+    Gauge.builder("youtube.api.circuit.open", circuitBreaker, cb -> cb.isOpen() ? 1 : 0)
+        .register(meterRegistry);
+  }
+
+  /** 응답 본문을 스트림으로 읽어 변환한다. 본문은 호출이 끝나면 닫힌다. */
+  @FunctionalInterface
+  public interface BodyReader<T> {
+    T read(InputStream body) throws IOException;
+  }
+
+  public <T> T get(URI uri, BodyReader<T> reader) {
+    return getIfModified(uri, null, reader)
+        .orElseThrow(() -> new IllegalStateException("Unexpected 304 without If-None-Match"));
+  }
+
+  /**
+   * etag가 있으면 If-None-Match로 조건부 요청을 보낸다. 304(변경 없음)이면 빈 값을 반환한다.
+   *
+   * <p>304 응답도 성공 호출로 집계한다.
+   */
+  public <T> Optional<T> getIfModified(URI uri, String etag, BodyReader<T> reader) {
+    if (!circuitBreaker.tryAcquire()) {
+      count("short_circuited");
+      throw new YouTubeUnavailableException(
+          HttpStatus.SERVICE_UNAVAILABLE, "YouTube API is temporarily unavailable");
+    }
+
+    RuntimeException lastFailure = null;
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      try {
+        if (attempt > 1) {
+          sleepBeforeRetry(attempt);
+        }
+        T result = sendOnce(uri, etag, reader);
+        circuitBreaker.onSuccess();
+        count(result == null ? "not_modified" : "success");
+        return Optional.ofNullable(result);
+      } catch (RetryableException ex) {
+        lastFailure = ex;
+        log.debug("YouTube API attempt {}/{} failed: {}", attempt, maxAttempts, ex.getMessage());
+      } catch (YouTubeUnavailableException ex) {
+        // bulkhead 거절이나 인터럽트는 업스트림 상태와 무관하다
+        circuitBreaker.release();
+        throw ex;
+      } catch (ResponseStatusException ex) {
+        // 4xx 등 재시도해도 결과가 같은 오류는 업스트림 장애로 보지 않는다
+        circuitBreaker.onSuccess();
+        count("client_error");
+        throw ex;
+      } catch (RuntimeException ex) {
+        circuitBreaker.release();
+        throw ex;
+      }
+    }
+
+    circuitBreaker.onFailure();
+    count("failure");
+    throw new YouTubeUnavailableException(
+        HttpStatus.BAD_GATEWAY, "YouTube API request failed", lastFailure);
+  }
+
+  // 304이면 null
+  private <T> T sendOnce(URI uri, String etag, BodyReader<T> reader) {
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new YouTubeUnavailableException(
+          HttpStatus.SERVICE_UNAVAILABLE, "YouTube API request interrupted", ex);
+    }
+    if (!acquired) {
+      count("rejected");
+      throw new YouTubeUnavailableException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent YouTube API requests");
+    }
+
+    try {
+      HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET();
+      if (etag != null && !etag.isBlank()) {
+        builder.header("If-None-Match", etag);
+      }
+      HttpRequest request = builder.build();
+      HttpResponse<InputStream> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      try (InputStream body = response.body()) {
+        int status = response.statusCode();
+        if (status == 200) {
+          return reader.read(body);
+        }
+        if (status == 304 && etag != null) {
+          return null;
+        }
+        if (status == 429 || status >= 500) {
+          throw new RetryableException("YouTube API error: HTTP " + status, null);
+        }
+        throw new ResponseStatusException(
+            HttpStatus.BAD_GATEWAY, "YouTube API error: HTTP " + status);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new YouTubeUnavailableException(
+          HttpStatus.SERVICE_UNAVAILABLE, "YouTube API request interrupted", ex);
+    } catch (IOException ex) {
+      // 연결 실패, 타임아웃(HttpTimeoutException), 본문 파싱 실패
+      throw new RetryableException(ex.getMessage(), ex);
+    } finally {
+      permits.release();
+    }
+  }
+
+  // full jitter: [0, backoff * 2^(attempt-2)] 사이에서 무작위로 기다린다
+  private void sleepBeforeRetry(int attempt) {
+    long maxDelay = retryBackoff.toMillis() << Math.min(attempt - 2, 10);
+    long delay = ThreadLocalRandom.current().nextLong(maxDelay + 1);
+    try {
+      Thread.sleep(delay);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new YouTubeUnavailableException(
+          HttpStatus.SERVICE_UNAVAILABLE, "YouTube API request interrupted", ex);
+    }
+  }
+
+  private void count(String result) {
+    meterRegistry.counter("youtube.api.calls", "result", result).increment();
+  }
+
+  private static final class RetryableException extends RuntimeException {
+    private RetryableException(String message, Throwable cause) {
+      super(message, cause);
+    }
+  }
+
+  /**
+   * 연속 실패 횟수 기반 서킷 브레이커.
+   *
+   * <p>open 상태가 openDuration 동안 유지된 뒤에는 한 번의 시험 호출(half-open)만 통과시키고, 그 결과에 따라 닫거나 다시 연다.
+   */
+  static final class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean open;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+      this.failureThreshold = failureThreshold;
+      this.openNanos = openDuration.toNanos();
+    }
+
+    synchronized boolean tryAcquire() {
+      if (!open) {
+        return true;
+      }
+      if (trialInFlight || System.nanoTime() - openedAt < openNanos) {
+        return false;
+      }
+      trialInFlight = true;
+      return true;
+    }
+
+    synchronized void onSuccess() {
+      consecutiveFailures = 0;
+      open = false;
+      trialInFlight = false;
+    }
+
+    // 결과를 판단할 수 없는 호출이 끝났을 때 시험 호출 자리만 돌려준다
+    synchronized void release() {
+      trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+      trialInFlight = false;
+      consecutiveFailures++;
+      if (open || consecutiveFailures >= failureThreshold) {
+        if (!open) {
+          log.warn("YouTube API circuit opened after {} consecutive failures", consecutiveFailures);
+        }
+        open = true;
+        openedAt = System.nanoTime();
+      }
+    }
+
+    synchronized boolean isOpen() {
+      return open;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.example.raid_hub.youtube;
+
+import java.util.Map;
+
+/** 여러 재생목록을 한 번에 조회한 결과. 요청한 순서대로 담기며, 실패한 재생목록은 errors에 사유와 함께 들어간다. */
+public record YouTubePlaylistBatchResponse(
+    Map<String, YouTubePlaylistItemsResponse> playlists, Map<String, String> errors) {}
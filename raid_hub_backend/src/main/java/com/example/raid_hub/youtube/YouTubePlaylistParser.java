@@ -1,13 +1,63 @@
 package com.example.raid_hub.youtube;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class YouTubePlaylistParser {
 
+  private final ObjectMapper objectMapper;
+
+  /** 응답 본문과 함께 보낸 페이지 etag. 다음 요청의 If-None-Match에 사용한다. */
+  public record ParsedPage(String etag, YouTubePlaylistItemsResponse response) {}
+
+  /**
+   * 응답 본문을 토큰 단위로 읽어 바로 {@link YouTubePlaylistItem}을 만든다.
+   *
+   * <p>본문 문자열이나 JsonNode 트리를 만들지 않으며, 결과는 {@link #parse(JsonNode, String)}와 동일하다 (같은 키가 반복되면 마지막 값
+   * 우선, 빈 문자열은 null, 정수가 아닌 숫자는 null).
+   */
+  public YouTubePlaylistItemsResponse parse(InputStream body, String playlistId)
+      throws IOException {
+    return parsePage(body, playlistId).response();
+  }
+
+  /** {@link #parse(InputStream, String)}와 같고, 최상위 etag도 함께 읽는다. */
+  public ParsedPage parsePage(InputStream body, String playlistId) throws IOException {
+    String etag = null;
+    String nextPageToken = null;
+    Integer totalResults = null;
+    List<YouTubePlaylistItem> items = new ArrayList<>();
+
+    try (JsonParser p = objectMapper.createParser(body)) {
+      if (p.nextToken() == JsonToken.START_OBJECT) {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+          String field = p.currentName();
+          p.nextToken();
+          switch (field) {
+            case "etag" -> etag = readText(p);
+            case "nextPageToken" -> nextPageToken = readText(p);
+            case "pageInfo" -> totalResults = readPageInfo(p);
+            case "items" -> items = readItems(p);
+            default -> p.skipChildren();
+          }
+        }
+      }
+    }
+
+    return new ParsedPage(
+        etag, new YouTubePlaylistItemsResponse(playlistId, nextPageToken, totalResults, items));
+  }
+
   public YouTubePlaylistItemsResponse parse(JsonNode root, String playlistId) {
     String nextPageToken = getText(root, "nextPageToken").orElse(null);
     Integer totalResults = getInt(root.path("pageInfo"), "totalResults");
@@ -70,4 +120,180 @@ public class YouTubePlaylistParser {
     }
     return valueNode.isInt() ? valueNode.asInt() : null;
   }
+
+  // ---- 스트리밍 파싱 (각 메서드는 값의 첫 토큰에서 시작해 값의 마지막 토큰에서 끝난다) ----
+
+  private List<YouTubePlaylistItem> readItems(JsonParser p) throws IOException {
+    List<YouTubePlaylistItem> items = new ArrayList<>();
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      p.skipChildren();
+      return items;
+    }
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      items.add(readItem(p));
+    }
+    return items;
+  }
+
+  private YouTubePlaylistItem readItem(JsonParser p) throws IOException {
+    Snippet snippet = Snippet.EMPTY;
+    String contentDetailsVideoId = null;
+
+    // 객체가 아닌 원소도 트리 파서와 마찬가지로 빈 항목으로 취급한다
+    if (p.currentToken() == JsonToken.START_OBJECT) {
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        p.nextToken();
+        switch (field) {
+          case "snippet" -> snippet = readSnippet(p);
+          case "contentDetails" -> contentDetailsVideoId = readTextField(p, "videoId");
+          default -> p.skipChildren();
+        }
+      }
+    } else {
+      p.skipChildren();
+    }
+
+    String videoId = contentDetailsVideoId != null ? contentDetailsVideoId : snippet.resourceId;
+    return new YouTubePlaylistItem(
+        videoId,
+        snippet.title,
+        snippet.channelTitle,
+        snippet.thumbnails.preferred(),
+        snippet.position,
+        snippet.publishedAt);
+  }
+
+  private Snippet readSnippet(JsonParser p) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return Snippet.EMPTY;
+    }
+    Snippet snippet = new Snippet();
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      switch (field) {
+        case "title" -> snippet.title = readText(p);
+        case "channelTitle" -> snippet.channelTitle = readText(p);
+        case "position" -> snippet.position = readInt(p);
+        case "publishedAt" -> snippet.publishedAt = readText(p);
+        case "resourceId" -> snippet.resourceId = readTextField(p, "videoId");
+        case "thumbnails" -> snippet.thumbnails = readThumbnails(p);
+        default -> p.skipChildren();
+      }
+    }
+    return snippet;
+  }
+
+  private Thumbnails readThumbnails(JsonParser p) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return Thumbnails.EMPTY;
+    }
+    Thumbnails thumbnails = new Thumbnails();
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      switch (field) {
+        case "high" -> thumbnails.high = readTextField(p, "url");
+        case "medium" -> thumbnails.medium = readTextField(p, "url");
+        case "default" -> thumbnails.defaultUrl = readTextField(p, "url");
+        default -> p.skipChildren();
+      }
+    }
+    return thumbnails;
+  }
+
+  private Integer readPageInfo(JsonParser p) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return null;
+    }
+    Integer totalResults = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if ("totalResults".equals(field)) {
+        totalResults = readInt(p);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return totalResults;
+  }
+
+  /** 현재 값이 객체이면 그 안의 문자열 필드 하나를 읽는다. */
+  private String readTextField(JsonParser p, String name) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return null;
+    }
+    String value = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if (name.equals(field)) {
+        value = readText(p);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return value;
+  }
+
+  /** {@link #getText(JsonNode, String)}와 같은 규칙: null/빈 문자열/객체/배열은 null, 그 외 스칼라는 asText 값. */
+  private String readText(JsonParser p) throws IOException {
+    JsonToken token = p.currentToken();
+    String value;
+    if (token == JsonToken.VALUE_STRING) {
+      value = p.getText();
+    } else if (token == JsonToken.VALUE_NULL) {
+      return null;
+    } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      p.skipChildren();
+      return null;
+    } else {
+      // 숫자/불리언은 드물기 때문에 트리 노드와 동일한 문자열 표현을 얻기 위해 노드로 읽는다
+      JsonNode node = p.readValueAsTree();
+      value = node.asText();
+    }
+    return value == null || value.isBlank() ? null : value;
+  }
+
+  /** {@link #getInt(JsonNode, String)}와 같은 규칙: int 범위의 정수만 인정한다. */
+  private Integer readInt(JsonParser p) throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NUMBER_INT
+        && p.getNumberType() == JsonParser.NumberType.INT) {
+      return p.getIntValue();
+    }
+    p.skipChildren();
+    return null;
+  }
+
+  private static final class Snippet {
+    private static final Snippet EMPTY = new Snippet();
+
+    private String title;
+    private String channelTitle;
+    private Integer position;
+    private String publishedAt;
+    private String resourceId;
+    private Thumbnails thumbnails = Thumbnails.EMPTY;
+  }
+
+  private static final class Thumbnails {
+    private static final Thumbnails EMPTY = new Thumbnails();
+
+    private String high;
+    private String medium;
+    private String defaultUrl;
+
+    private String preferred() {
+      if (high != null) {
+        return high;
+      }
+      return medium != null ? medium : defaultUrl;
+    }
+  }
 }
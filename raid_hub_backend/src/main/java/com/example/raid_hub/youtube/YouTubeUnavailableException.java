@@ -0,0 +1,20 @@
+package com.example.raid_hub.youtube;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * YouTube API를 일시적으로 사용할 수 없을 때 발생한다. (재시도 소진, 서킷 open, 동시 호출 한도 초과)
+ *
+ * <p>요청 자체가 잘못된 경우(4xx)와 구분되므로, 호출하는 쪽은 마지막으로 성공한 응답(stale)으로 대신할 수 있다.
+ */
+public class YouTubeUnavailableException extends ResponseStatusException {
+
+  public YouTubeUnavailableException(HttpStatusCode status, String reason) {
+    super(status, reason);
+  }
+
+  public YouTubeUnavailableException(HttpStatusCode status, String reason, Throwable cause) {
+    super(status, reason, cause);
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.raid_hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItem;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactRedisSerializerTest {
+
+  private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+  private final CompactRedisSerializer compact = new CompactRedisSerializer(1024);
+
+  @Test
+  void playlistResponseRoundTrips() {
+    YouTubePlaylistItemsResponse response =
+        new YouTubePlaylistItemsResponse(
+            "PL1",
+            null,
+            3,
+            List.of(
+                new YouTubePlaylistItem("v1", "카멘 하드 1관문", "채널", "https://i/1.jpg", 0, null),
+                new YouTubePlaylistItem(null, null, null, null, null, "2024-01-01T00:00:00Z"),
+                new YouTubePlaylistItem("v3", "", "채널", null, -1, "2024-01-02T00:00:00Z")));
+
+    assertThat(compact.deserialize(compact.serialize(response))).isEqualTo(response);
+  }
+
+  @Test
+  void largePlaylistIsCompressedAndRoundTrips() {
+    YouTubePlaylistItemsResponse response = playlist(500);
+
+    byte[] bytes = compact.serialize(response);
+
+    assertThat(compact.deserialize(bytes)).isEqualTo(response);
+    assertThat(bytes.length).isLessThan(PlaylistBinaryCodec.encode(response).length);
+  }
+
+  @Test
+  void otherValuesFallBackToJson() {
+    Map<String, Object> value = new HashMap<>();
+    value.put("count", 3);
+    value.put("name", "raid");
+
+    assertThat(compact.deserialize(compact.serialize(value))).isEqualTo(value);
+  }
+
+  @Test
+  void readsEntriesWrittenByJsonSerializer() {
+    YouTubePlaylistItemsResponse response = playlist(5);
+
+    assertThat(compact.deserialize(json.serialize(response))).isEqualTo(response);
+  }
+
+  /** 캐시 값 크기를 기존 JSON 직렬화기와 비교한다. */
+  @Test
+  void binaryEntriesAreSmallerThanJson() {
+    YouTubePlaylistItemsResponse response = playlist(2000);
+
+    assertThat(compact.serialize(response).length).isLessThan(json.serialize(response).length / 3);
+  }
+
+  /** 디코딩 시간을 기존 JSON 직렬화기와 비교한다. ./gradlew benchmark로 실행한다. */
+  @Test
+  @Tag("benchmark")
+  void binaryEntriesDecodeFasterThanJson() {
+    YouTubePlaylistItemsResponse response = playlist(2000);
+    byte[] jsonBytes = json.serialize(response);
+    byte[] compactBytes = compact.serialize(response);
+
+    // 워밍업
+    for (int i = 0; i < 50; i++) {
+      json.deserialize(jsonBytes);
+      compact.deserialize(compactBytes);
+    }
+    long jsonNanos = timeDecode(json::deserialize, jsonBytes);
+    long compactNanos = timeDecode(compact::deserialize, compactBytes);
+
+    System.out.printf(
+        "playlist(2000) json=%d bytes %.2f ms, compact=%d bytes %.2f ms%n",
+        jsonBytes.length, jsonNanos / 1e6, compactBytes.length, compactNanos / 1e6);
+    assertThat(compactNanos).isLessThan(jsonNanos);
+  }
+
+  @Test
+  void rejectsItemCountLargerThanRemainingBytes() {
+    // version=1, playlistId/nextPageToken/totalResults=null, count=Integer.MAX_VALUE
+    byte[] bytes = {1, 0, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+
+    assertThatThrownBy(() -> PlaylistBinaryCodec.decode(bytes, 0, bytes.length))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsCompressedEntriesClaimingOversizedLength() {
+    byte[] bytes = compact.serialize(playlist(500));
+    bytes[2] = 0x7F;
+
+    assertThatThrownBy(() -> compact.deserialize(bytes)).isInstanceOf(SerializationException.class);
+  }
+
+  private static long timeDecode(Function<byte[], Object> decoder, byte[] bytes) {
+    int rounds = 50;
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      decoder.apply(bytes);
+    }
+    return (System.nanoTime() - start) / rounds;
+  }
+
+  private static YouTubePlaylistItemsResponse playlist(int size) {
+    List<YouTubePlaylistItem> items = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      items.add(
+          new YouTubePlaylistItem(
+              "video" + i,
+              "에키드나 하드 " + (i % 2 + 1) + "관문 공략 #" + i,
+              "Raid Hub",
+              "https://i.ytimg.com/vi/video" + i + "/hqdefault.jpg",
+              i,
+              "2024-05-" + String.format("%02d", i % 28 + 1) + "T12:00:00Z"));
+    }
+    return new YouTubePlaylistItemsResponse("PL" + size, null, size, items);
+  }
+}
@@ -0,0 +1,116 @@
+package com.example.raid_hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+class RedisCacheInvalidationPublisherTest {
+
+  private static final String CHANNEL = "cache-invalidation";
+
+  private final List<String> published = new ArrayList<>();
+  private StringRedisTemplate redisTemplate;
+  private TwoLevelCacheManager cacheManager;
+  private RedisCacheInvalidationPublisher nodeA;
+  private RedisCacheInvalidationPublisher nodeB;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+    when(redisTemplate.convertAndSend(eq(CHANNEL), anyString()))
+        .thenAnswer(
+            invocation -> {
+              published.add(invocation.getArgument(1));
+              return 1L;
+            });
+    cacheManager = mock(TwoLevelCacheManager.class);
+
+    nodeA = new RedisCacheInvalidationPublisher(redisTemplate, CHANNEL);
+    nodeB = new RedisCacheInvalidationPublisher(redisTemplate, CHANNEL);
+    nodeA.setCacheManager(cacheManager);
+    nodeB.setCacheManager(cacheManager);
+  }
+
+  @Test
+  void evictionIsEncodedAsNodeCacheAndKey() {
+    nodeA.evict("youtubePlaylist", "PL1");
+
+    assertThat(published).hasSize(1);
+    String[] parts = published.get(0).split("\\|");
+    assertThat(parts).hasSize(3);
+    assertThat(parts[1]).isEqualTo("youtubePlaylist");
+    assertThat(parts[2]).isEqualTo("PL1");
+
+    nodeB.onMessage(message(published.get(0)), null);
+    verify(cacheManager).onRemoteInvalidation("youtubePlaylist", "PL1");
+  }
+
+  @Test
+  void keysContainingSeparatorArriveIntact() {
+    nodeA.evict("youtubePlaylist", "PL1|50|a|b");
+
+    nodeB.onMessage(message(published.get(0)), null);
+
+    verify(cacheManager).onRemoteInvalidation("youtubePlaylist", "PL1|50|a|b");
+  }
+
+  @Test
+  void clearHasEmptyKeyAndInvalidatesWholeCache() {
+    nodeA.clear("youtubePlaylist");
+
+    assertThat(published.get(0)).endsWith("|youtubePlaylist|");
+    nodeB.onMessage(message(published.get(0)), null);
+    verify(cacheManager).onRemoteInvalidation("youtubePlaylist", null);
+  }
+
+  @Test
+  void ownMessagesAreIgnored() {
+    nodeA.evict("youtubePlaylist", "PL1");
+    nodeA.clear("youtubePlaylist");
+
+    for (String body : published) {
+      nodeA.onMessage(message(body), null);
+    }
+
+    verify(cacheManager, never()).onRemoteInvalidation(anyString(), any());
+  }
+
+  @Test
+  void malformedMessagesAreIgnored() {
+    nodeB.onMessage(message("no-separator"), null);
+    nodeB.onMessage(message("node|cacheOnly"), null);
+
+    verify(cacheManager, never()).onRemoteInvalidation(anyString(), any());
+  }
+
+  @Test
+  void publishFailureDoesNotPropagate() {
+    doThrow(new IllegalStateException("redis down"))
+        .when(redisTemplate)
+        .convertAndSend(eq(CHANNEL), anyString());
+
+    nodeA.evict("youtubePlaylist", "PL1");
+  }
+
+  private static Message message(String body) {
+    return new DefaultMessage(
+        CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+  }
+}
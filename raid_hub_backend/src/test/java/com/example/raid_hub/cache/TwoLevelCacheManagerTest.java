@@ -0,0 +1,115 @@
+package com.example.raid_hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/** Redis 대신 공유 ConcurrentMapCacheManager(L2)와 메모리 메시지 버스(pub/sub)를 사용해 두 노드를 흉내 낸다. */
+class TwoLevelCacheManagerTest {
+
+  private final ConcurrentMapCacheManager sharedRemote = new ConcurrentMapCacheManager();
+  private final List<TwoLevelCacheManager> nodes = new ArrayList<>();
+  private SimpleMeterRegistry meterRegistry;
+  private TwoLevelCacheManager nodeA;
+  private TwoLevelCacheManager nodeB;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    nodeA = createNode();
+    nodeB = createNode();
+  }
+
+  @Test
+  void warmHitIsServedLocallyWithoutRemoteLookup() {
+    nodeA.getCache("playlist").put("PL1", "v1");
+
+    assertThat(nodeB.getCache("playlist").get("PL1", String.class)).isEqualTo("v1");
+    // Redis에서 값이 사라져도 로컬 캐시에서 응답한다
+    sharedRemote.getCache("playlist").evict("PL1");
+    assertThat(nodeB.getCache("playlist").get("PL1", String.class)).isEqualTo("v1");
+
+    assertThat(
+            meterRegistry
+                .counter("cache.remote.gets", "cache", "playlist", "result", "hit")
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void putOnOneNodeInvalidatesOtherNodesLocalCopy() {
+    Cache cacheA = nodeA.getCache("playlist");
+    Cache cacheB = nodeB.getCache("playlist");
+    cacheA.put("PL1", "v1");
+    assertThat(cacheB.get("PL1", String.class)).isEqualTo("v1");
+
+    cacheA.put("PL1", "v2");
+
+    assertThat(cacheB.get("PL1", String.class)).isEqualTo("v2");
+  }
+
+  @Test
+  void evictAndClearPropagateToOtherNodes() {
+    Cache cacheA = nodeA.getCache("playlist");
+    Cache cacheB = nodeB.getCache("playlist");
+    cacheA.put("PL1", "v1");
+    cacheA.put("PL2", "v2");
+    cacheB.get("PL1");
+    cacheB.get("PL2");
+
+    cacheA.evict("PL1");
+    assertThat(cacheB.get("PL1")).isNull();
+    assertThat(cacheB.get("PL2", String.class)).isEqualTo("v2");
+
+    cacheA.clear();
+    assertThat(cacheB.get("PL2")).isNull();
+  }
+
+  @Test
+  void valueLoaderRunsOnceAcrossNodes() {
+    String first = nodeA.getCache("playlist").get("PL1", () -> "loaded");
+    String second = nodeB.getCache("playlist").get("PL1", () -> "should not load");
+
+    assertThat(first).isEqualTo("loaded");
+    assertThat(second).isEqualTo("loaded");
+  }
+
+  private TwoLevelCacheManager createNode() {
+    BusPublisher publisher = new BusPublisher();
+    TwoLevelCacheManager manager =
+        new TwoLevelCacheManager(
+            sharedRemote, publisher, meterRegistry, 1_000, Duration.ofMinutes(10));
+    publisher.self = manager;
+    nodes.add(manager);
+    return manager;
+  }
+
+  private final class BusPublisher implements CacheInvalidationPublisher {
+    private TwoLevelCacheManager self;
+
+    @Override
+    public void evict(String cacheName, Object key) {
+      deliver(cacheName, String.valueOf(key));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+      deliver(cacheName, null);
+    }
+
+    private void deliver(String cacheName, String key) {
+      for (TwoLevelCacheManager node : nodes) {
+        if (node != self) {
+          node.onRemoteInvalidation(cacheName, key);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.raid_hub.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.service.CheatSheetStorage;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import com.example.raid_hub.service.ImageMetadataCache;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class CheatSheetImageControllerTest {
+
+  @TempDir Path tempDir;
+
+  private CheatSheetStorage storage;
+  private CheatSheetImageController controller;
+
+  @BeforeEach
+  void setUp() {
+    storage =
+        new CheatSheetStorage(
+            mock(CheatSheetRepository.class), tempDir.resolve("cheatsheets").toString());
+    controller = new CheatSheetImageController(storage, new ImageMetadataCache(storage, 100));
+  }
+
+  @Test
+  void contentAddressedImageIsImmutableAndRevalidatesWith304() throws IOException {
+    StoredImage image =
+        storage.storeImage(
+            new ByteArrayInputStream("GIF89a0123".getBytes(StandardCharsets.US_ASCII)), 1024);
+    String url = storage.urlFor(image.path());
+
+    MockHttpServletResponse full = serve(get(url));
+    assertThat(full.getStatus()).isEqualTo(200);
+    assertThat(full.getContentAsString()).isEqualTo("GIF89a0123");
+    assertThat(full.getContentType()).isEqualTo("image/gif");
+    assertThat(full.getHeader("ETag")).isEqualTo("\"" + image.hash() + "\"");
+    assertThat(full.getHeader("Cache-Control")).contains("immutable");
+
+    MockHttpServletRequest conditional = get(url);
+    conditional.addHeader("If-None-Match", full.getHeader("ETag"));
+    MockHttpServletResponse notModified = serve(conditional);
+    assertThat(notModified.getStatus()).isEqualTo(304);
+    assertThat(notModified.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void servesSingleByteRange() throws IOException {
+    StoredImage image =
+        storage.storeImage(
+            new ByteArrayInputStream("GIF89a0123".getBytes(StandardCharsets.US_ASCII)), 1024);
+    String url = storage.urlFor(image.path());
+
+    MockHttpServletRequest request = get(url);
+    request.addHeader("Range", "bytes=2-5");
+    MockHttpServletResponse partial = serve(request);
+    assertThat(partial.getStatus()).isEqualTo(206);
+    assertThat(partial.getContentAsString()).isEqualTo("F89a");
+    assertThat(partial.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+
+    MockHttpServletRequest suffix = get(url);
+    suffix.addHeader("Range", "bytes=-3");
+    assertThat(serve(suffix).getContentAsString()).isEqualTo("123");
+
+    MockHttpServletRequest outOfRange = get(url);
+    outOfRange.addHeader("Range", "bytes=10-");
+    MockHttpServletResponse unsatisfiable = serve(outOfRange);
+    assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+    assertThat(unsatisfiable.getHeader("Content-Range")).isEqualTo("bytes */10");
+  }
+
+  @Test
+  void legacyFileGetsContentEtagButNoImmutable() throws IOException {
+    Files.writeString(storage.getRoot().resolve("legacy-upload.jpg"), "old");
+
+    MockHttpServletResponse response =
+        serve(get(CheatSheetStorage.URL_PREFIX + "legacy-upload.jpg"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader("ETag")).matches("\"[0-9a-f]{64}\"");
+    assertThat(response.getHeader("Cache-Control")).doesNotContain("immutable");
+  }
+
+  @Test
+  void missingOrEscapingPathIs404() throws IOException {
+    assertThat(serve(get(CheatSheetStorage.URL_PREFIX + "nope.png")).getStatus()).isEqualTo(404);
+    assertThat(serve(get(CheatSheetStorage.URL_PREFIX + "../secret.png")).getStatus())
+        .isEqualTo(404);
+  }
+
+  private MockHttpServletRequest get(String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.setServletPath(path);
+    return request;
+  }
+
+  private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    controller.serve(request, response);
+    return response;
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.raid_hub.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 10, 12, 30, 0, 123000);
+
+  private record Row(long id, LocalDateTime createdAt) {}
+
+  @Test
+  void encodedCursorDecodesToSameKey() {
+    KeysetCursor cursor = KeysetCursor.of(CREATED_AT, 42L);
+
+    String encoded = cursor.encode();
+
+    assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+  }
+
+  @Test
+  void blankCursorMeansFirstPageAndGarbageIsRejected() {
+    assertThat(KeysetCursor.decode(null)).isNull();
+    assertThat(KeysetCursor.decode(" ")).isNull();
+
+    String noSeparator =
+        Base64.getUrlEncoder().encodeToString("2026-01-10T12:30".getBytes(StandardCharsets.UTF_8));
+    assertThatThrownBy(() -> KeysetCursor.decode(noSeparator))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> KeysetCursor.decode("%%%"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rowsWithSameCreatedAtAreSplitByIdAcrossPages() {
+    // 같은 시각에 만들어진 행이 페이지 경계에 걸쳐 있다
+    List<Row> rows =
+        List.of(new Row(9, CREATED_AT), new Row(7, CREATED_AT), new Row(5, CREATED_AT));
+
+    CursorPage<Row> page =
+        CursorPage.of(rows, 2, row -> KeysetCursor.of(row.createdAt(), row.id()));
+
+    assertThat(page.items()).extracting(Row::id).containsExactly(9L, 7L);
+    // 다음 페이지는 createdAt이 같아도 id < 7 인 행부터 이어진다
+    assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(KeysetCursor.of(CREATED_AT, 7L));
+  }
+
+  @Test
+  void lastPageHasNoCursorAndSizeIsClamped() {
+    List<Row> rows = List.of(new Row(5, CREATED_AT));
+
+    CursorPage<Row> page =
+        CursorPage.of(rows, 2, row -> KeysetCursor.of(row.createdAt(), row.id()));
+
+    assertThat(page.items()).hasSize(1);
+    assertThat(page.nextCursor()).isNull();
+    assertThat(CursorPage.limit(null)).isEqualTo(CursorPage.DEFAULT_SIZE);
+    assertThat(CursorPage.limit(0)).isEqualTo(1);
+    assertThat(CursorPage.limit(1000)).isEqualTo(CursorPage.MAX_SIZE);
+  }
+}
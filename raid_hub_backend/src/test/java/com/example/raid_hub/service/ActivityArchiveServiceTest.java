@@ -0,0 +1,133 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.dto.ActivityMonthStats;
+import com.example.raid_hub.dto.ActivityMonthStats.Count;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.stats.ActivitySegment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ActivityArchiveServiceTest {
+
+  private static final LocalDateTime JANUARY = LocalDateTime.of(2026, 1, 1, 0, 0);
+  private static final LocalDateTime FEBRUARY = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+  @TempDir Path dir;
+
+  private final UserActivityRepository repository = mock(UserActivityRepository.class);
+  private final UserActivityRollupService rollupService = mock(UserActivityRollupService.class);
+  private ActivityArchiveService service;
+
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2026-06-15T00:00:00Z"), ZoneOffset.UTC);
+    // 보관 기간 90일 -> 2026-02까지 통째로 지난 달
+    service =
+        new ActivityArchiveService(
+            repository, rollupService, clock, dir, Duration.ofDays(90), 2, 12, true);
+    when(rollupService.isBackfilled()).thenReturn(true);
+    when(repository.findOldestCreatedAt()).thenReturn(JANUARY.plusDays(9));
+  }
+
+  @Test
+  void archivesExpiredMonthsAndServesHistoryFromSegments() throws IOException {
+    when(repository.findArchivePage(eq(JANUARY), eq(FEBRUARY), eq(0L), any()))
+        .thenReturn(
+            List.of(
+                activity(1, "VIDEO_CLICK", "발탄 하드", null, "PC"),
+                activity(2, "VIDEO_CLICK", "발탄 하드", null, "MOBILE")));
+    when(repository.findArchivePage(eq(JANUARY), eq(FEBRUARY), eq(2L), any()))
+        .thenReturn(List.of(activity(3, "SEARCH", null, "카멘", "PC")));
+    when(repository.deleteArchived(JANUARY, FEBRUARY, 3)).thenReturn(3);
+
+    assertThat(service.archiveExpired()).isEqualTo(3);
+    assertThat(dir.resolve("activities-2026-01-1-3.seg")).exists();
+    verify(repository, never()).deleteArchived(eq(FEBRUARY), any(), anyLong());
+
+    List<ActivityMonthStats> history =
+        service.history(YearMonth.of(2026, 1), YearMonth.of(2026, 2));
+
+    assertThat(history)
+        .extracting(ActivityMonthStats::source)
+        .containsExactly("archive", "database");
+    ActivityMonthStats january = history.get(0);
+    assertThat(january.totalActivities()).isEqualTo(3);
+    assertThat(january.devices()).containsExactly(new Count("PC", 2), new Count("MOBILE", 1));
+    assertThat(january.topVideos()).containsExactly(new Count("발탄 하드", 2));
+    assertThat(january.topSearches()).containsExactly(new Count("카멘", 1));
+  }
+
+  @Test
+  void resumesAfterSegmentWrittenButRowsNotDeleted() throws IOException {
+    ActivitySegment.Writer writer = new ActivitySegment.Writer();
+    for (int i = 0; i < 3; i++) {
+      writer.add(1_767_225_600_000L + i, "VIDEO_CLICK", "발탄 하드", "PC", null);
+    }
+    writer.writeTo(dir.resolve("activities-2026-01-1-3.seg"));
+
+    service.archiveExpired();
+
+    // 이미 보관한 id까지 먼저 지우고 그 뒤 id부터 읽는다
+    verify(repository).deleteArchived(JANUARY, FEBRUARY, 3);
+    verify(repository).findArchivePage(eq(JANUARY), eq(FEBRUARY), eq(3L), any());
+  }
+
+  @Test
+  void unreadableSegmentIsQuarantinedInsteadOfTrusted() throws IOException {
+    Path segment = Files.createFile(dir.resolve("activities-2026-01-1-3.seg"));
+
+    service.archiveExpired();
+
+    verify(repository, never()).deleteArchived(any(), any(), anyLong());
+    verify(repository).findArchivePage(eq(JANUARY), eq(FEBRUARY), eq(0L), any());
+    assertThat(segment).doesNotExist();
+    assertThat(dir.resolve("activities-2026-01-1-3.seg.bad")).exists();
+    assertThat(service.history(YearMonth.of(2026, 1), YearMonth.of(2026, 1)))
+        .extracting(ActivityMonthStats::source)
+        .containsExactly("database");
+  }
+
+  @Test
+  void skipsUntilRollupsAreBackfilledAndLimitsHistoryRange() throws IOException {
+    when(rollupService.isBackfilled()).thenReturn(false);
+
+    assertThat(service.archiveExpired()).isZero();
+    verify(repository, never()).findArchivePage(any(), any(), anyLong(), any());
+    assertThatThrownBy(() -> service.history(YearMonth.of(2024, 1), YearMonth.of(2026, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static UserActivity activity(
+      long id, String type, String target, String query, String device) {
+    return UserActivity.builder()
+        .id(id)
+        .activityType(type)
+        .targetTitle(target)
+        .searchQuery(query)
+        .deviceType(device)
+        .createdAt(JANUARY.plusDays(9))
+        .build();
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.raid_hub.dto.ActivityWindowStats;
+import com.example.raid_hub.dto.ActivityWindowStats.Count;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.service.ActivityWindowCounters.Window;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class ActivityWindowCountersTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:30:00Z"));
+
+  @Test
+  void emptyUntilCountersCoverPreviousWindow() {
+    ActivityWindowCounters counters =
+        new ActivityWindowCounters(clock, new SimpleMeterRegistry(), 64);
+    record(counters, "VIDEO_CLICK", "발탄", "PC", 1);
+
+    assertThat(counters.stats(Window.HOUR)).isEmpty();
+    clock.advance(Duration.ofHours(2));
+    assertThat(counters.stats(Window.HOUR)).isPresent();
+    assertThat(counters.stats(Window.DAY)).isEmpty();
+  }
+
+  @Test
+  void countsCurrentAndPreviousWindowAndExpiresOldBuckets() {
+    ActivityWindowCounters counters =
+        new ActivityWindowCounters(clock, new SimpleMeterRegistry(), 64);
+    clock.advance(Duration.ofHours(2));
+    record(counters, "VIDEO_CLICK", "발탄", "PC", 2);
+    record(counters, "VIDEO_CLICK", "카멘", "PC", 1);
+    clock.advance(Duration.ofMinutes(61));
+    record(counters, "VIDEO_CLICK", "발탄", "MOBILE", 3);
+    record(counters, "SEARCH", "에키드나", "MOBILE", 1);
+
+    ActivityWindowStats hour = counters.stats(Window.HOUR).orElseThrow();
+
+    assertThat(hour.source()).isEqualTo("memory");
+    assertThat(hour.totalActivities()).isEqualTo(4);
+    assertThat(hour.previousTotalActivities()).isEqualTo(3);
+    assertThat(hour.devices()).containsExactly(Count.of("MOBILE", 4, 0), Count.of("PC", 0, 3));
+    assertThat(hour.topVideos()).containsExactly(Count.of("발탄", 3, 2));
+    assertThat(hour.topSearches()).containsExactly(Count.of("에키드나", 1, 0));
+
+    clock.advance(Duration.ofMinutes(120));
+    ActivityWindowStats later = counters.stats(Window.HOUR).orElseThrow();
+    assertThat(later.totalActivities()).isZero();
+    assertThat(later.previousTotalActivities()).isZero();
+    assertThat(counters.stats(Window.HOUR).orElseThrow().topVideos()).isEmpty();
+  }
+
+  @Test
+  void evictsLeastCountedValuesWhenDictionaryIsFull() {
+    ActivityWindowCounters counters =
+        new ActivityWindowCounters(clock, new SimpleMeterRegistry(), 8);
+    clock.advance(Duration.ofHours(2));
+    record(counters, "VIDEO_CLICK", "발탄", "PC", 5);
+    for (int i = 0; i < 6; i++) {
+      record(counters, "SEARCH", "long-tail-" + i, "PC", 1);
+    }
+    clock.advance(Duration.ofMinutes(1));
+    record(counters, "SEARCH", "카멘", "PC", 2);
+
+    ActivityWindowStats hour = counters.stats(Window.HOUR).orElseThrow();
+
+    assertThat(hour.totalActivities()).isEqualTo(13);
+    assertThat(hour.topVideos()).containsExactly(Count.of("발탄", 5, 0));
+    assertThat(hour.topSearches()).contains(Count.of("카멘", 2, 0)).hasSizeLessThan(7);
+  }
+
+  private void record(
+      ActivityWindowCounters counters, String type, String key, String device, int times) {
+    for (int i = 0; i < times; i++) {
+      UserActivity.UserActivityBuilder activity =
+          UserActivity.builder().activityType(type).deviceType(device);
+      if ("SEARCH".equals(type)) {
+        activity.searchQuery(key);
+      } else {
+        activity.targetTitle(key);
+      }
+      counters.record(activity.build());
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
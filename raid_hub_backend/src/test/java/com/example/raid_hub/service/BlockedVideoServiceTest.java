@@ -0,0 +1,36 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.entity.BlockedVideo;
+import com.example.raid_hub.repository.BlockedVideoRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class BlockedVideoServiceTest {
+
+  private final BlockedVideoRepository repository = mock(BlockedVideoRepository.class);
+  private final BlockedVideoService service =
+      new BlockedVideoService(repository, mock(ApplicationEventPublisher.class));
+
+  @Test
+  void periodicRefreshPicksUpBlocksCommittedOnOtherNodes() {
+    service.refresh();
+    verify(repository, never()).findAll();
+
+    when(repository.findAll()).thenReturn(List.of());
+    assertThat(service.getBlockedVideoIdSet()).isEmpty();
+
+    // 다른 노드가 차단을 커밋함
+    when(repository.findAll())
+        .thenReturn(List.of(BlockedVideo.builder().videoId("v1").reason("spoiler").build()));
+    service.refresh();
+
+    assertThat(service.getBlockedVideoIdSet()).containsExactly("v1");
+  }
+}
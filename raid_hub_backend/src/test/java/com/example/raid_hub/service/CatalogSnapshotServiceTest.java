@@ -0,0 +1,69 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.entity.RaidVideo;
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.repository.RaidVideoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogSnapshotServiceTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private RaidVideoRepository videoRepository;
+  private CatalogSnapshotService snapshots;
+
+  @BeforeEach
+  void setUp() {
+    videoRepository = mock(RaidVideoRepository.class);
+    snapshots =
+        new CatalogSnapshotService(videoRepository, mock(CheatSheetRepository.class), objectMapper);
+  }
+
+  @Test
+  void servesSingleVideoFromByIdIndexWithoutQueryingAgain() throws IOException {
+    when(videoRepository.findAll())
+        .thenReturn(List.of(video(1L, "카멘", "1관문"), video(2L, "카멘", "2관문")));
+
+    JsonNode second = objectMapper.readTree(snapshots.getVideoJson(2L).orElseThrow());
+
+    assertThat(second.get("id").asLong()).isEqualTo(2L);
+    assertThat(second.get("gate").asText()).isEqualTo("2관문");
+    assertThat(snapshots.getVideoJson(3L)).isEmpty();
+    assertThat(objectMapper.readTree(snapshots.getVideosJson("카멘", "1관문"))).hasSize(1);
+    verify(videoRepository, times(1)).findAll();
+  }
+
+  @Test
+  void byIdIndexFollowsCommittedWrites() {
+    when(videoRepository.findAll()).thenReturn(List.of(video(1L, "카멘", "1관문")));
+    assertThat(snapshots.getVideoJson(1L)).isPresent();
+
+    when(videoRepository.findAll()).thenReturn(List.of());
+    snapshots.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Catalog.VIDEOS));
+
+    assertThat(snapshots.getVideoJson(1L)).isEmpty();
+  }
+
+  private static RaidVideo video(Long id, String raidName, String gate) {
+    return RaidVideo.builder()
+        .id(id)
+        .title("공략 " + id)
+        .youtubeUrl("https://youtu.be/" + id)
+        .uploaderName("raid hub")
+        .raidName(raidName)
+        .difficulty("하드")
+        .gate(gate)
+        .build();
+  }
+}
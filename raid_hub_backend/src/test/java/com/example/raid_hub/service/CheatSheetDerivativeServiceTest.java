@@ -0,0 +1,132 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.entity.CheatSheet.DerivativeStatus;
+import com.example.raid_hub.repository.CheatSheetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+class CheatSheetDerivativeServiceTest {
+
+  @TempDir Path tempDir;
+
+  private Path uploadDir;
+  private CheatSheetRepository repository;
+  private CheatSheetDerivativeService service;
+
+  @BeforeEach
+  void setUp() {
+    uploadDir = tempDir.resolve("cheatsheets");
+    repository = mock(CheatSheetRepository.class);
+    service =
+        new CheatSheetDerivativeService(
+            repository,
+            new CheatSheetStorage(repository, uploadDir.toString()),
+            mock(ApplicationEventPublisher.class),
+            new SimpleMeterRegistry(),
+            1,
+            1,
+            3_000_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void createsThumbnailAndMediumVariantsKeepingAspectRatio() throws IOException {
+    Path original = writePng("guide.png", 2400, 1200);
+
+    service.generate(1L, original);
+
+    verify(repository)
+        .updateDerivatives(
+            1L,
+            "/uploads/cheatsheets/guide_thumb.jpg",
+            "/uploads/cheatsheets/guide_medium.jpg",
+            DerivativeStatus.READY);
+    BufferedImage thumbnail = ImageIO.read(uploadDir.resolve("guide_thumb.jpg").toFile());
+    assertThat(thumbnail.getWidth()).isEqualTo(320);
+    assertThat(thumbnail.getHeight()).isEqualTo(160);
+    BufferedImage medium = ImageIO.read(uploadDir.resolve("guide_medium.jpg").toFile());
+    assertThat(medium.getWidth()).isEqualTo(1080);
+    assertThat(medium.getHeight()).isEqualTo(540);
+  }
+
+  @Test
+  void smallImagesReuseTheOriginalForLargerVariants() throws IOException {
+    Path original = writePng("small.png", 800, 600);
+
+    service.generate(2L, original);
+
+    verify(repository)
+        .updateDerivatives(
+            2L,
+            "/uploads/cheatsheets/small_thumb.jpg",
+            "/uploads/cheatsheets/small.png",
+            DerivativeStatus.READY);
+    assertThat(Files.exists(uploadDir.resolve("small_medium.jpg"))).isFalse();
+  }
+
+  @Test
+  void unreadableImagesAreSkipped() throws IOException {
+    Path original = Files.write(uploadDir.resolve("anim.webp"), new byte[] {1, 2, 3});
+
+    service.generate(3L, original);
+
+    verify(repository).updateDerivatives(3L, null, null, DerivativeStatus.SKIPPED);
+  }
+
+  @Test
+  void imagesAbovePixelLimitAreSkippedWithoutDecoding() throws IOException {
+    Path original = writePng("huge.png", 3000, 1001);
+
+    service.generate(4L, original);
+
+    verify(repository).updateDerivatives(4L, null, null, DerivativeStatus.SKIPPED);
+    assertThat(Files.exists(uploadDir.resolve("huge_thumb.jpg"))).isFalse();
+  }
+
+  @Test
+  void requeuesPendingCheatSheetsOnStartup() throws IOException {
+    writePng("pending.png", 800, 600);
+    when(repository.findIdAndImageUrlByDerivativeStatus(DerivativeStatus.PENDING))
+        .thenReturn(
+            List.of(
+                new Object[] {5L, "/uploads/cheatsheets/pending.png"},
+                new Object[] {6L, "/uploads/cheatsheets/missing.png"}));
+
+    service.requeuePending();
+
+    verify(repository, timeout(5000)).updateDerivatives(6L, null, null, DerivativeStatus.FAILED);
+    verify(repository, timeout(5000))
+        .updateDerivatives(
+            5L,
+            "/uploads/cheatsheets/pending_thumb.jpg",
+            "/uploads/cheatsheets/pending.png",
+            DerivativeStatus.READY);
+  }
+
+  private Path writePng(String name, int width, int height) throws IOException {
+    Path path = uploadDir.resolve(name);
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    ImageIO.write(image, "png", path.toFile());
+    return path;
+  }
+}
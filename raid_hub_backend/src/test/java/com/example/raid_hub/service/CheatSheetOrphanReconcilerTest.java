@@ -0,0 +1,116 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheatSheetOrphanReconcilerTest {
+
+  private static final String GIF_HEADER = "GIF89a";
+  private static final Instant NOW = Instant.parse("2026-01-10T00:00:00Z");
+  private static final Instant OLD = NOW.minus(Duration.ofDays(3));
+
+  @TempDir Path tempDir;
+
+  private CheatSheetRepository repository;
+  private CheatSheetStorage storage;
+  private SimpleMeterRegistry meterRegistry;
+  private CheatSheetOrphanReconciler reconciler;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(CheatSheetRepository.class);
+    storage = new CheatSheetStorage(repository, tempDir.resolve("cheatsheets").toString());
+    meterRegistry = new SimpleMeterRegistry();
+    reconciler =
+        new CheatSheetOrphanReconciler(
+            repository,
+            storage,
+            new ImageMetadataCache(storage, 100),
+            meterRegistry,
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            true,
+            Duration.ofDays(1),
+            1_000,
+            2);
+  }
+
+  @Test
+  void deletesOnlyUnreferencedFilesPastGracePeriod() throws IOException {
+    StoredImage referenced = store("kept", OLD);
+    StoredImage orphan = store("orphan", OLD);
+    StoredImage recent = store("just uploaded", NOW.minus(Duration.ofMinutes(5)));
+    Path orphanThumbnail = CheatSheetStorage.derivativesOf(orphan.path()).get(0);
+    write(orphanThumbnail, "thumb", OLD);
+    Path legacyReferenced = write(storage.getRoot().resolve("legacy-kept.png"), "a", OLD);
+    Path legacyOrphan = write(storage.getRoot().resolve("legacy-orphan.png"), "bb", OLD);
+
+    when(repository.findReferencedContentHashes(anyCollection()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                    .filter(referenced.hash()::equals)
+                    .toList());
+    List<Object[]> legacyRows = new ArrayList<>();
+    legacyRows.add(new Object[] {storage.urlFor(legacyReferenced), null, null});
+    when(repository.findReferencedImageUrls(anyCollection())).thenReturn(legacyRows);
+
+    int deleted = reconciler.runOnce();
+
+    assertThat(deleted).isEqualTo(3);
+    assertThat(referenced.path()).exists();
+    assertThat(recent.path()).exists();
+    assertThat(legacyReferenced).exists();
+    assertThat(orphan.path()).doesNotExist();
+    assertThat(orphanThumbnail).doesNotExist();
+    assertThat(legacyOrphan).doesNotExist();
+    assertThat(meterRegistry.counter("cheatsheet.storage.reclaimed.files").count()).isEqualTo(3);
+    assertThat(meterRegistry.counter("cheatsheet.storage.reclaimed.bytes").count())
+        .isEqualTo(GIF_HEADER.length() + "orphan".length() + "thumb".length() + "bb".length());
+  }
+
+  @Test
+  void removesStaleIncomingTempFiles() throws IOException {
+    Path stale = write(storage.getIncoming().resolve("upload-1.png"), "partial", OLD);
+    Path active = write(storage.getIncoming().resolve("upload-2.png"), "partial", NOW);
+
+    reconciler.runOnce();
+
+    assertThat(stale).doesNotExist();
+    assertThat(active).exists();
+  }
+
+  private StoredImage store(String content, Instant modifiedAt) throws IOException {
+    byte[] gif = (GIF_HEADER + content).getBytes(StandardCharsets.US_ASCII);
+    StoredImage image = storage.storeImage(new ByteArrayInputStream(gif), 1024);
+    Files.setLastModifiedTime(image.path(), FileTime.from(modifiedAt));
+    return image;
+  }
+
+  private Path write(Path path, String content, Instant modifiedAt) throws IOException {
+    Files.writeString(path, content);
+    Files.setLastModifiedTime(path, FileTime.from(modifiedAt));
+    return path;
+  }
+}
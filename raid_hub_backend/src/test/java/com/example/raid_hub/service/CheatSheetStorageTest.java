@@ -0,0 +1,176 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class CheatSheetStorageTest {
+
+  private static final String GIF_HEADER = "GIF89a";
+
+  @TempDir Path tempDir;
+
+  private CheatSheetRepository repository;
+  private CheatSheetStorage storage;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(CheatSheetRepository.class);
+    storage = new CheatSheetStorage(repository, tempDir.resolve("cheatsheets").toString());
+  }
+
+  @Test
+  void storesUnderShardedContentAddressedPath() throws IOException {
+    StoredImage image = store("guide");
+
+    String hash = image.hash();
+    assertThat(hash).hasSize(64);
+    assertThat(image.path())
+        .isEqualTo(
+            storage
+                .getRoot()
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash + ".gif"));
+    assertThat(Files.readString(image.path())).isEqualTo(GIF_HEADER + "guide");
+    assertThat(storage.urlFor(image.path()))
+        .isEqualTo(
+            "/uploads/cheatsheets/"
+                + hash.substring(0, 2)
+                + "/"
+                + hash.substring(2, 4)
+                + "/"
+                + hash
+                + ".gif");
+    assertThat(storage.resolve(storage.urlFor(image.path()))).isEqualTo(image.path());
+  }
+
+  @Test
+  void identicalContentIsStoredOnce() throws IOException {
+    StoredImage first = store("guide");
+    StoredImage second = store("guide");
+    StoredImage other = store("other guide");
+
+    assertThat(first.deduplicated()).isFalse();
+    assertThat(second.deduplicated()).isTrue();
+    assertThat(second.path()).isEqualTo(first.path());
+    assertThat(other.path()).isNotEqualTo(first.path());
+    // 임시 파일은 남지 않는다
+    try (var incoming = Files.list(tempDir.resolve("cheatsheets-incoming"))) {
+      assertThat(incoming).isEmpty();
+    }
+  }
+
+  @Test
+  void fileIsDeletedOnlyAfterLastReferenceIsReleased() throws IOException {
+    StoredImage image = store("guide");
+    String url = storage.urlFor(image.path());
+    Path thumbnail = CheatSheetStorage.derivativesOf(image.path()).get(0);
+    Files.writeString(thumbnail, "thumb");
+
+    age(image.path());
+
+    when(repository.countByImageUrl(url)).thenReturn(1L);
+    storage.onImageReleased(new CheatSheetImageReleasedEvent(image.hash(), url));
+    assertThat(image.path()).exists();
+
+    when(repository.countByImageUrl(url)).thenReturn(0L);
+    storage.onImageReleased(new CheatSheetImageReleasedEvent(image.hash(), url));
+    assertThat(image.path()).doesNotExist();
+    assertThat(thumbnail).doesNotExist();
+  }
+
+  @Test
+  void recentlyReusedFileIsKeptUntilRegistrationCommits() throws IOException {
+    StoredImage image = store("guide");
+    String url = storage.urlFor(image.path());
+    age(image.path());
+    // 다른 업로드가 같은 파일을 재사용했지만 아직 등록되지 않음
+    assertThat(store("guide").deduplicated()).isTrue();
+
+    when(repository.countByImageUrl(url)).thenReturn(0L);
+    storage.onImageReleased(new CheatSheetImageReleasedEvent(image.hash(), url));
+
+    assertThat(image.path()).exists();
+  }
+
+  @Test
+  void reconcilerDeleteRechecksModifiedTimeAfterReuse() throws IOException {
+    StoredImage image = store("guide");
+    age(image.path());
+    Instant cutoff = Instant.now().minus(CheatSheetStorage.REUSE_HOLD);
+    // 정리 작업이 고아로 판단한 뒤 같은 내용이 다시 업로드됨
+    store("guide");
+
+    assertThat(storage.deleteIfModifiedBefore(image.path(), cutoff)).isEqualTo(-1);
+    assertThat(image.path()).exists();
+
+    age(image.path());
+    assertThat(storage.deleteIfModifiedBefore(image.path(), cutoff))
+        .isEqualTo((GIF_HEADER + "guide").length());
+    assertThat(image.path()).doesNotExist();
+  }
+
+  @Test
+  void urlsOutsideTheStorageRootAreIgnored() {
+    assertThat(storage.resolve("/uploads/cheatsheets/../../etc/passwd")).isNull();
+    assertThat(storage.resolve("https://example.com/a.png")).isNull();
+  }
+
+  @Test
+  void storeImageUsesExtensionOfDetectedFormat() throws IOException {
+    byte[] gif = "GIF89a-body".getBytes(StandardCharsets.US_ASCII);
+
+    StoredImage image = storage.storeImage(new ByteArrayInputStream(gif), 1024);
+
+    assertThat(image.path().getFileName().toString()).endsWith(".gif");
+    assertThat(Files.readAllBytes(image.path())).isEqualTo(gif);
+  }
+
+  @Test
+  void storeImageRejectsNonImagesAndOversizedBodiesWithoutLeavingFiles() throws IOException {
+    byte[] text = "<html>not an image</html>".getBytes(StandardCharsets.US_ASCII);
+    assertThatThrownBy(() -> storage.storeImage(new ByteArrayInputStream(text), 1024))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    byte[] png = new byte[4096];
+    System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 0, png, 0, 8);
+    assertThatThrownBy(() -> storage.storeImage(new ByteArrayInputStream(png), 1024))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+
+    try (var incoming = Files.list(tempDir.resolve("cheatsheets-incoming"))) {
+      assertThat(incoming).isEmpty();
+    }
+    try (var stored = Files.walk(storage.getRoot())) {
+      assertThat(stored.filter(Files::isRegularFile)).isEmpty();
+    }
+  }
+
+  private static void age(Path path) throws IOException {
+    Instant old = Instant.now().minus(CheatSheetStorage.REUSE_HOLD).minusSeconds(60);
+    Files.setLastModifiedTime(path, FileTime.from(old));
+  }
+
+  private StoredImage store(String content) throws IOException {
+    byte[] gif = (GIF_HEADER + content).getBytes(StandardCharsets.US_ASCII);
+    return storage.storeImage(new ByteArrayInputStream(gif), 1024);
+  }
+}
@@ -0,0 +1,188 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.dto.UploadSessionRequest;
+import com.example.raid_hub.dto.UploadSessionStatus;
+import com.example.raid_hub.entity.CheatSheet;
+import com.example.raid_hub.repository.CheatSheetRepository;
+import com.example.raid_hub.service.CheatSheetStorage.StoredImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class CheatSheetUploadSessionServiceTest {
+
+  private static final int CHUNK_SIZE = 16;
+
+  @TempDir Path tempDir;
+
+  private CheatSheetStorage storage;
+  private CheatSheetService cheatSheetService;
+  private CheatSheetDerivativeService derivativeService;
+  private CheatSheetUploadSessionService service;
+
+  @BeforeEach
+  void setUp() {
+    storage =
+        new CheatSheetStorage(
+            mock(CheatSheetRepository.class), tempDir.resolve("cheatsheets").toString());
+    cheatSheetService = mock(CheatSheetService.class);
+    when(cheatSheetService.registerCheatSheet(any(), any(), any(), any(), any()))
+        .thenReturn(CheatSheet.builder().title("guide").build());
+    derivativeService = mock(CheatSheetDerivativeService.class);
+    service =
+        new CheatSheetUploadSessionService(
+            storage,
+            cheatSheetService,
+            derivativeService,
+            Clock.systemUTC(),
+            1024,
+            CHUNK_SIZE,
+            5,
+            Duration.ofHours(1));
+  }
+
+  @Test
+  void chunksArriveOutOfOrderAndOnlyMissingOnesAreResent() throws Exception {
+    byte[] image = pngBytes(40); // 조각 3개: 16 + 16 + 8
+    UploadSessionStatus created = service.create(request(image, sha256(image)));
+    String id = created.uploadId();
+    assertThat(created.totalChunks()).isEqualTo(3);
+
+    put(id, image, 2);
+    UploadSessionStatus status = put(id, image, 0);
+    assertThat(status.missingChunks()).containsExactly(1);
+    assertThatThrownBy(() -> service.commit(id))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+    assertThat(put(id, image, 1).missingChunks()).isEmpty();
+    service.commit(id);
+
+    ArgumentCaptor<StoredImage> stored = ArgumentCaptor.forClass(StoredImage.class);
+    verify(cheatSheetService)
+        .registerCheatSheet(eq("guide"), eq("raid"), eq("1"), eq("admin"), stored.capture());
+    assertThat(stored.getValue().hash()).isEqualTo(sha256(image));
+    assertThat(stored.getValue().path().getFileName().toString()).endsWith(".png");
+    assertThat(Files.readAllBytes(stored.getValue().path())).isEqualTo(image);
+    assertThatThrownBy(() -> service.status(id)).isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void checksumMismatchDiscardsUpload() throws Exception {
+    byte[] image = pngBytes(20);
+    String id = service.create(request(image, sha256(pngBytes(21)))).uploadId();
+    put(id, image, 0);
+    put(id, image, 1);
+
+    assertThatThrownBy(() -> service.commit(id))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    assertThatThrownBy(() -> service.status(id)).isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void firstChunkThatIsNotAnImageAbortsSession() throws Exception {
+    byte[] text = new byte[20];
+    Arrays.fill(text, (byte) 'a');
+    String id = service.create(request(text, sha256(text))).uploadId();
+
+    assertThatThrownBy(() -> put(id, text, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.status(id)).isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void chunksAndAbortAreRejectedWhileCommitting() throws Exception {
+    byte[] image = pngBytes(20);
+    String id = service.create(request(image, sha256(image))).uploadId();
+    put(id, image, 0);
+    put(id, image, 1);
+    CountDownLatch committing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              committing.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(derivativeService)
+        .ensureCapacity();
+
+    CompletableFuture<CheatSheet> commit =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return service.commit(id);
+              } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+              }
+            });
+    assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> put(id, pngBytes(20), 1))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    assertThatThrownBy(() -> service.abort(id))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+    release.countDown();
+    assertThat(commit.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("guide");
+  }
+
+  private UploadSessionStatus put(String id, byte[] content, int chunk) throws IOException {
+    int start = chunk * CHUNK_SIZE;
+    int end = Math.min(start + CHUNK_SIZE, content.length);
+    return service.writeChunk(
+        id,
+        "bytes " + start + "-" + (end - 1) + "/" + content.length,
+        new ByteArrayInputStream(Arrays.copyOfRange(content, start, end)));
+  }
+
+  private UploadSessionRequest request(byte[] content, String sha256) {
+    return new UploadSessionRequest("guide", "raid", "1", "admin", content.length, sha256);
+  }
+
+  private static byte[] pngBytes(int length) {
+    byte[] bytes = new byte[length];
+    byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    System.arraycopy(signature, 0, bytes, 0, signature.length);
+    for (int i = signature.length; i < length; i++) {
+      bytes[i] = (byte) i;
+    }
+    return bytes;
+  }
+
+  private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
+}
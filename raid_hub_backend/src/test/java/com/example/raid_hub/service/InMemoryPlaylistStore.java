@@ -0,0 +1,40 @@
+package com.example.raid_hub.service;
+
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** DB 없이 동작하는 테스트용 재생목록 저장소. 저장된 페이지는 modified=false로 돌려준다. */
+class InMemoryPlaylistStore extends YouTubePlaylistStore {
+
+  private final Map<String, List<StoredPage>> playlists = new ConcurrentHashMap<>();
+
+  InMemoryPlaylistStore() {
+    super(null, null);
+  }
+
+  @Override
+  public List<StoredPage> loadPages(String playlistId) {
+    return playlists.getOrDefault(playlistId, List.of());
+  }
+
+  @Override
+  public Optional<YouTubePlaylistItemsResponse> findPlaylist(String playlistId) {
+    List<StoredPage> pages = loadPages(playlistId);
+    return pages.isEmpty() ? Optional.empty() : Optional.of(assemble(playlistId, pages));
+  }
+
+  @Override
+  public void saveChanges(String playlistId, List<StoredPage> pages) {
+    playlists.put(
+        playlistId,
+        pages.stream()
+            .map(
+                p ->
+                    new StoredPage(
+                        p.pageIndex(), p.pageToken(), p.maxResults(), p.etag(), p.page(), false))
+            .toList());
+  }
+}
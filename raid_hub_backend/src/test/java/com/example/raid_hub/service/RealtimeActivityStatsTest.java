@@ -0,0 +1,79 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.raid_hub.entity.UserActivity;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RealtimeActivityStatsTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-01T10:30:00Z");
+
+  @TempDir Path dir;
+
+  @Test
+  void ranksTopTargetsAndCountsDistinctSearches() {
+    RealtimeActivityStats stats = create(NOW);
+    record(stats, "VIDEO_CLICK", "발탄 하드", 3);
+    record(stats, "VIDEO_CLICK", "카멘 노말", 1);
+    record(stats, "CHEATSHEET_CLICK", "에키드나", 2);
+    record(stats, "SEARCH", "발탄", 2);
+    record(stats, "SEARCH", "카멘", 1);
+
+    Map<String, Object> result = stats.getStats();
+
+    assertThat(result.get("topVideos"))
+        .isEqualTo(
+            List.of(Map.of("title", "발탄 하드", "count", 3L), Map.of("title", "카멘 노말", "count", 1L)));
+    assertThat(result.get("topSearches"))
+        .isEqualTo(List.of(Map.of("query", "발탄", "count", 2L), Map.of("query", "카멘", "count", 1L)));
+    assertThat(result.get("distinctSearches")).isEqualTo(2L);
+    assertThat(result.get("distinctTargets")).isEqualTo(3L);
+    assertThat(result.get("totalActivities")).isEqualTo(9L);
+  }
+
+  @Test
+  void restoresSnapshotAndDropsPanesOutsideWindow() throws IOException {
+    RealtimeActivityStats stats = create(NOW);
+    record(stats, "VIDEO_CLICK", "발탄 하드", 2);
+    stats.saveSnapshot();
+
+    Map<String, Object> restored = create(NOW.plus(Duration.ofHours(2))).getStats();
+    Map<String, Object> expired = create(NOW.plus(Duration.ofHours(25))).getStats();
+
+    assertThat(restored.get("topVideos")).isEqualTo(List.of(Map.of("title", "발탄 하드", "count", 2L)));
+    assertThat(expired.get("topVideos")).isEqualTo(List.of());
+    assertThat(expired.get("totalActivities")).isEqualTo(0L);
+  }
+
+  private RealtimeActivityStats create(Instant now) {
+    return new RealtimeActivityStats(
+        Clock.fixed(now, ZoneOffset.UTC),
+        Duration.ofHours(1),
+        24,
+        50,
+        12,
+        dir.resolve("realtime-stats.bin"));
+  }
+
+  private static void record(RealtimeActivityStats stats, String type, String key, int times) {
+    for (int i = 0; i < times; i++) {
+      UserActivity.UserActivityBuilder activity = UserActivity.builder().activityType(type);
+      if ("SEARCH".equals(type)) {
+        activity.searchQuery(key);
+      } else {
+        activity.targetTitle(key);
+      }
+      stats.record(activity.build());
+    }
+  }
+}
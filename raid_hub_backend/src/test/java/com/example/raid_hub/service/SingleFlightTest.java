@@ -0,0 +1,96 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlight<String, String> singleFlight =
+      new SingleFlight<>("test.calls", meterRegistry);
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentCallsForSameKeyShareOneExecution() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> leader =
+        executor.submit(
+            () ->
+                singleFlight.execute(
+                    "PL",
+                    () -> {
+                      executions.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "result";
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    List<Future<String>> followers = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      followers.add(
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "PL",
+                      () -> {
+                        executions.incrementAndGet();
+                        return "duplicate";
+                      })));
+    }
+    // 모든 follower가 대기 상태에 들어갈 때까지 기다린 뒤 leader를 끝낸다
+    while (meterRegistry.counter("test.calls", "result", "coalesced").count() < 5) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    for (Future<String> follower : followers) {
+      assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+    assertThat(executions).hasValue(1);
+    assertThat(meterRegistry.counter("test.calls", "result", "leader").count()).isEqualTo(1);
+  }
+
+  @Test
+  void failureIsPropagatedAndKeyIsReleased() {
+    assertThatThrownBy(
+            () ->
+                singleFlight.execute(
+                    "PL",
+                    () -> {
+                      throw new IllegalStateException("upstream down");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(singleFlight.execute("PL", () -> "recovered")).isEqualTo("recovered");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
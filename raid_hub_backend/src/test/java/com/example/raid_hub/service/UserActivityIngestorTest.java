@@ -0,0 +1,152 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.UserActivityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class UserActivityIngestorTest {
+
+  private final UserActivityRepository repository = mock(UserActivityRepository.class);
+  private final UserActivityRollupService rollupService = mock(UserActivityRollupService.class);
+  private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+  private final List<UserActivity> saved = Collections.synchronizedList(new ArrayList<>());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private UserActivityIngestor ingestor;
+
+  @AfterEach
+  void tearDown() {
+    if (ingestor != null) {
+      ingestor.shutdown();
+    }
+  }
+
+  @Test
+  void writesInBatchesOfFlushSize() {
+    recordSaves(null);
+    ingestor =
+        new UserActivityIngestor(
+            repository,
+            rollupService,
+            meterRegistry,
+            100,
+            10,
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(5));
+
+    for (int i = 0; i < 25; i++) {
+      assertThat(ingestor.offer(activity("v" + i))).isTrue();
+    }
+    ingestor.shutdown();
+
+    assertThat(saved).hasSize(25);
+    // writer가 첫 건을 먼저 가져갈 수 있어 첫 batch 크기는 정해져 있지 않다
+    assertThat(batchSizes).allMatch(size -> size <= 10).hasSizeGreaterThanOrEqualTo(3);
+    assertThat(saved).allMatch(activity -> activity.getCreatedAt() != null);
+  }
+
+  @Test
+  void shedsLoadWhenQueueIsFullAndRejectsAfterShutdown() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    recordSaves(release);
+    ingestor =
+        new UserActivityIngestor(
+            repository,
+            rollupService,
+            meterRegistry,
+            2,
+            1,
+            Duration.ofMillis(10),
+            Duration.ofSeconds(5));
+
+    // writer가 첫 건 저장에서 멈춰 있는 동안 큐(2칸)를 채운다
+    assertThat(ingestor.offer(activity("first"))).isTrue();
+    waitUntil(() -> meterRegistry.get("stats.ingest.queued").gauge().value() == 0);
+    assertThat(ingestor.offer(activity("a"))).isTrue();
+    assertThat(ingestor.offer(activity("b"))).isTrue();
+    assertThat(ingestor.offer(activity("c"))).isFalse();
+
+    release.countDown();
+    ingestor.shutdown();
+
+    assertThat(saved).extracting(UserActivity::getTargetTitle).containsExactly("first", "a", "b");
+    assertThat(ingestor.offer(activity("late"))).isFalse();
+    assertThat(meterRegistry.counter("stats.ingest.events", "result", "dropped").count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void rejectsInvalidEventsAndStampsReceiveTime() {
+    recordSaves(null);
+    ingestor =
+        new UserActivityIngestor(
+            repository,
+            rollupService,
+            meterRegistry,
+            100,
+            10,
+            Duration.ofMillis(10),
+            Duration.ofSeconds(5));
+    UserActivity backdated = activity("v");
+    backdated.setCreatedAt(LocalDateTime.of(2020, 1, 1, 0, 0));
+
+    assertThatThrownBy(() -> ingestor.offer(null)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ingestor.offer(new UserActivity()))
+        .isInstanceOf(IllegalArgumentException.class);
+    UserActivity unknown = activity("v");
+    unknown.setActivityType("DROP_TABLE");
+    assertThatThrownBy(() -> ingestor.offer(unknown)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(ingestor.offer(backdated)).isTrue();
+    ingestor.shutdown();
+
+    assertThat(saved).hasSize(1);
+    assertThat(saved.get(0).getCreatedAt()).isAfter(LocalDateTime.of(2020, 1, 2, 0, 0));
+    assertThat(meterRegistry.counter("stats.ingest.events", "result", "rejected").count())
+        .isEqualTo(3);
+  }
+
+  private void recordSaves(CountDownLatch release) {
+    doAnswer(
+            invocation -> {
+              if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+              }
+              List<UserActivity> batch = invocation.getArgument(0);
+              batchSizes.add(batch.size());
+              saved.addAll(batch);
+              return null;
+            })
+        .when(rollupService)
+        .saveWithRollups(anyList());
+  }
+
+  private static UserActivity activity(String target) {
+    return UserActivity.builder()
+        .activityType("VIDEO_CLICK")
+        .targetTitle(target)
+        .deviceType("PC")
+        .build();
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.entity.StatsRollupState;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.StatsRollupStateRepository;
+import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.repository.UserActivityRollupRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class UserActivityRollupServiceTest {
+
+  private static final LocalDateTime TEN = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+  private final UserActivityRepository activityRepository = mock(UserActivityRepository.class);
+  private final UserActivityRollupRepository rollupRepository =
+      mock(UserActivityRollupRepository.class);
+  private final StatsRollupStateRepository stateRepository = mock(StatsRollupStateRepository.class);
+  private final UserActivityRollupService service =
+      new UserActivityRollupService(activityRepository, rollupRepository, stateRepository);
+
+  @Test
+  void savesBatchAndUpsertsOneRowPerKeyInOrder() {
+    List<UserActivity> batch =
+        List.of(
+            activity("VIDEO_CLICK", "b", null, "PC", TEN.plusMinutes(5)),
+            activity("VIDEO_CLICK", "b", null, "PC", TEN.plusMinutes(50)),
+            activity("VIDEO_CLICK", "a", null, null, TEN.plusMinutes(1)),
+            activity("SEARCH", "ignored", "발탄", "MOBILE", TEN.plusHours(1)));
+
+    service.saveWithRollups(batch);
+
+    verify(activityRepository).saveAll(batch);
+    InOrder order = inOrder(rollupRepository);
+    order.verify(rollupRepository).upsert("SEARCH", "발탄", "MOBILE", TEN.plusHours(1), 1);
+    order.verify(rollupRepository).upsert("VIDEO_CLICK", "a", "", TEN, 1);
+    order.verify(rollupRepository).upsert("VIDEO_CLICK", "b", "PC", TEN, 2);
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  void backfillsOnlyOnceUpToWatermark() {
+    StatsRollupState state =
+        new StatsRollupState(UserActivityRollupService.HOURLY_BACKFILL, 42L, null);
+    when(stateRepository.findForUpdate(UserActivityRollupService.HOURLY_BACKFILL))
+        .thenReturn(Optional.of(state));
+
+    assertThat(service.backfill()).isTrue();
+    assertThat(service.backfill()).isFalse();
+
+    verify(rollupRepository).backfill(42L);
+    assertThat(state.getCompletedAt()).isNotNull();
+    assertThat(service.isBackfilled()).isTrue();
+  }
+
+  private static UserActivity activity(
+      String type, String target, String query, String device, LocalDateTime createdAt) {
+    return UserActivity.builder()
+        .activityType(type)
+        .targetTitle(target)
+        .searchQuery(query)
+        .deviceType(device)
+        .createdAt(createdAt)
+        .build();
+  }
+}
@@ -0,0 +1,145 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.raid_hub.dto.ActivityWindowStats;
+import com.example.raid_hub.entity.UserActivity;
+import com.example.raid_hub.repository.UserActivityRepository;
+import com.example.raid_hub.repository.UserActivityRollupRepository;
+import com.example.raid_hub.service.ActivityWindowCounters.Window;
+import com.example.raid_hub.service.ActivityWindowCounters.WindowRange;
+import com.example.raid_hub.service.UserActivityService.LogBatchResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class UserActivityServiceTest {
+
+  private final UserActivityIngestor ingestor = mock(UserActivityIngestor.class);
+  private final UserActivityRepository repository = mock(UserActivityRepository.class);
+  private final UserActivityRollupRepository rollupRepository =
+      mock(UserActivityRollupRepository.class);
+  private final UserActivityRollupService rollupService = mock(UserActivityRollupService.class);
+  private final ActivityWindowCounters windowCounters = mock(ActivityWindowCounters.class);
+  private final List<UserActivity> offered = new ArrayList<>();
+  private UserActivityService service;
+
+  @BeforeEach
+  void setUp() {
+    service =
+        new UserActivityService(
+            repository,
+            rollupRepository,
+            rollupService,
+            ingestor,
+            mock(RealtimeActivityStats.class),
+            windowCounters,
+            mock(ActivityArchiveService.class),
+            new ObjectMapper());
+    ReflectionTestUtils.setField(service, "maxBatchSize", 3);
+    when(ingestor.offer(any()))
+        .thenAnswer(
+            invocation -> {
+              offered.add(invocation.getArgument(0));
+              return true;
+            });
+  }
+
+  @Test
+  void readsJsonArrayAndNdjson() throws IOException {
+    LogBatchResult array =
+        service.logActivities(
+            body(
+                "[{\"activityType\":\"VIDEO_CLICK\",\"targetTitle\":\"a\"},"
+                    + "{\"activityType\":\"SEARCH\",\"searchQuery\":\"b\"}]"),
+            () -> true);
+    LogBatchResult ndjson =
+        service.logActivities(
+            body("{\"activityType\":\"VIDEO_CLICK\"}\n{\"activityType\":\"SEARCH\"}\n"),
+            () -> true);
+
+    assertThat(array).isEqualTo(new LogBatchResult(2, 0, false));
+    assertThat(ndjson).isEqualTo(new LogBatchResult(2, 0, false));
+    assertThat(offered)
+        .extracting(UserActivity::getActivityType)
+        .containsExactly("VIDEO_CLICK", "SEARCH", "VIDEO_CLICK", "SEARCH");
+    assertThat(offered.get(0).getTargetTitle()).isEqualTo("a");
+  }
+
+  @Test
+  void stopsAtRateLimitAndBatchSize() throws IOException {
+    AtomicInteger tokens = new AtomicInteger(1);
+    LogBatchResult limited =
+        service.logActivities(
+            body("[{\"activityType\":\"A\"},{\"activityType\":\"B\"}]"),
+            () -> tokens.getAndDecrement() > 0);
+    LogBatchResult capped =
+        service.logActivities(
+            body(
+                "{\"activityType\":\"A\"}{\"activityType\":\"B\"}"
+                    + "{\"activityType\":\"C\"}{\"activityType\":\"D\"}"),
+            () -> true);
+
+    assertThat(limited).isEqualTo(new LogBatchResult(1, 0, true));
+    assertThat(capped).isEqualTo(new LogBatchResult(3, 0, true));
+  }
+
+  @Test
+  void rejectsMalformedBody() {
+    assertThatThrownBy(() -> service.logActivities(body("[{\"activityType\":"), () -> true))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsNullEventAfterQueueingEarlierOnes() {
+    doThrow(new IllegalArgumentException("invalid")).when(ingestor).offer(isNull());
+
+    assertThatThrownBy(
+            () -> service.logActivities(body("[{\"activityType\":\"SEARCH\"},null]"), () -> true))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("1건 처리 후 중단");
+    assertThat(offered).extracting(UserActivity::getActivityType).containsExactly("SEARCH");
+  }
+
+  private static InputStream body(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void windowsNotCoveredByCountersReadRollupsExceptTheHourWindow() {
+    Instant to = Instant.parse("2026-03-10T12:00:00Z");
+    for (Window window : Window.values()) {
+      when(windowCounters.range(window))
+          .thenReturn(new WindowRange(to.minus(Duration.ofHours(2)), to.minusSeconds(3600), to));
+    }
+    when(rollupService.isBackfilled()).thenReturn(true);
+    when(rollupRepository.countBetween(any(), any())).thenReturn(7L);
+
+    List<ActivityWindowStats> stats = service.getWindowStats();
+
+    assertThat(stats)
+        .extracting(ActivityWindowStats::source)
+        .containsExactly("database", "rollup", "rollup");
+    assertThat(stats.get(2).totalActivities()).isEqualTo(7);
+    // 24시간/7일 구간은 원본 로그를 훑지 않는다
+    verify(repository, times(2)).countBetween(any(), any());
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.example.raid_hub.youtube.YouTubeApiStub;
+import com.example.raid_hub.youtube.YouTubePlaylistBatchResponse;
+import com.example.raid_hub.youtube.YouTubePlaylistParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class YouTubePlaylistBatchServiceTest {
+
+  private YouTubeApiStub stub;
+  private YouTubePlaylistService playlistService;
+  private YouTubePlaylistBatchService batchService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new YouTubeApiStub(3);
+    playlistService =
+        new YouTubePlaylistService(
+            new YouTubePlaylistParser(new ObjectMapper()),
+            YouTubeApiStub.client(),
+            new InMemoryPlaylistStore(),
+            mock(BlockedVideoService.class),
+            new ConcurrentMapCacheManager(),
+            new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(playlistService, "apiKey", "test-key");
+    ReflectionTestUtils.setField(playlistService, "apiBaseUrl", stub.baseUrl());
+    batchService =
+        new YouTubePlaylistBatchService(
+            playlistService, mock(YouTubePlaylistRefresher.class), 4, 3, Duration.ofSeconds(10), 8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    batchService.shutdown();
+    stub.close();
+  }
+
+  @Test
+  void fetchesEachDistinctPlaylistInRequestOrder() {
+    YouTubePlaylistBatchResponse response =
+        batchService.fetchAll(List.of("PL_B", "PL_A", "PL_B", " "), 2, false);
+
+    assertThat(response.playlists()).containsOnlyKeys("PL_B", "PL_A");
+    assertThat(response.playlists().keySet()).containsExactly("PL_B", "PL_A");
+    assertThat(response.playlists().get("PL_A").items()).hasSize(3);
+    assertThat(response.errors()).isEmpty();
+  }
+
+  @Test
+  void failedPlaylistsAreReportedWithoutFailingTheBatch() {
+    stub.setStatusCode(404);
+
+    YouTubePlaylistBatchResponse response = batchService.fetchAll(List.of("PL_A"), 2, false);
+
+    assertThat(response.playlists()).isEmpty();
+    assertThat(response.errors()).containsEntry("PL_A", "YouTube API error: HTTP 404");
+  }
+
+  @Test
+  void rejectsTooManyPlaylists() {
+    assertThatThrownBy(() -> batchService.fetchAll(List.of("A", "B", "C", "D"), null, false))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,189 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.example.raid_hub.youtube.YouTubeApiStub;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import com.example.raid_hub.youtube.YouTubePlaylistParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class YouTubePlaylistRefresherTest {
+
+  private static final String PLAYLIST_ID = "PL_REFRESH";
+
+  private YouTubeApiStub stub;
+  private MutableClock clock;
+  private Cache cache;
+  private final Map<String, Duration> remainingTtls = new HashMap<>();
+  private YouTubePlaylistRefresher refresher;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new YouTubeApiStub(3);
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    YouTubePlaylistService service =
+        new YouTubePlaylistService(
+            new YouTubePlaylistParser(new ObjectMapper()),
+            YouTubeApiStub.client(),
+            new InMemoryPlaylistStore(),
+            mock(BlockedVideoService.class),
+            cacheManager,
+            new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(service, "apiKey", "test-key");
+    ReflectionTestUtils.setField(service, "apiBaseUrl", stub.baseUrl());
+
+    cache = cacheManager.getCache(YouTubePlaylistService.YOUTUBE_PLAYLIST_CACHE);
+
+    refresher =
+        new YouTubePlaylistRefresher(
+            service,
+            cacheManager,
+            clock,
+            remainingTtls::get,
+            true,
+            Duration.ofHours(3),
+            Duration.ofMinutes(15),
+            Duration.ofHours(6),
+            2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    refresher.shutdown();
+    stub.close();
+  }
+
+  @Test
+  void refreshesHotPlaylistAndReplacesCachedValue() {
+    cache.put(PLAYLIST_ID, new YouTubePlaylistItemsResponse(PLAYLIST_ID, null, 0, List.of()));
+    refresher.recordAccess(PLAYLIST_ID, 2);
+
+    clock.advance(Duration.ofMinutes(165)); // 만료 15분 전
+    awaitAll(refresher.refreshDueEntries());
+
+    YouTubePlaylistItemsResponse cached =
+        cache.get(PLAYLIST_ID, YouTubePlaylistItemsResponse.class);
+    assertThat(cached).isNotNull();
+    assertThat(cached.items()).hasSize(3);
+    assertThat(cached.items().get(0).title()).isEqualTo("video 0 v1");
+    // maxResults=2 이므로 2페이지
+    assertThat(stub.requestCount()).isEqualTo(2);
+  }
+
+  @Test
+  void refreshesOnlyWithinLeadTimeOfExpiry() {
+    // 처음 hot이 된 조회가 캐시를 채웠으므로 바로 다시 가져오지 않는다
+    refresher.recordAccess(PLAYLIST_ID, 50);
+    assertThat(refresher.refreshDueEntries()).isEmpty();
+
+    stub.setVersion(2);
+    clock.advance(Duration.ofHours(1));
+    refresher.recordAccess(PLAYLIST_ID, 50);
+    assertThat(refresher.refreshDueEntries()).isEmpty();
+
+    clock.advance(Duration.ofMinutes(106)); // 만료 14분 전
+    awaitAll(refresher.refreshDueEntries());
+
+    assertThat(stub.requestCount()).isEqualTo(1);
+    YouTubePlaylistItemsResponse cached =
+        cache.get(PLAYLIST_ID, YouTubePlaylistItemsResponse.class);
+    assertThat(cached.items().get(0).title()).isEqualTo("video 0 v2");
+
+    // 다음 갱신은 새 값의 만료 lead-time 전
+    clock.advance(Duration.ofHours(1));
+    refresher.recordAccess(PLAYLIST_ID, 50);
+    assertThat(refresher.refreshDueEntries()).isEmpty();
+  }
+
+  @Test
+  void firstRefreshFollowsRemainingTtlOfEntryFilledElsewhere() {
+    // 다른 노드가 2시간 40분 전에 채운 항목: 20분 뒤 만료된다
+    cache.put(PLAYLIST_ID, new YouTubePlaylistItemsResponse(PLAYLIST_ID, null, 0, List.of()));
+    remainingTtls.put(PLAYLIST_ID, Duration.ofMinutes(20));
+    refresher.recordAccess(PLAYLIST_ID, 50);
+    assertThat(refresher.refreshDueEntries()).isEmpty();
+
+    clock.advance(Duration.ofMinutes(5)); // 만료 15분 전
+    awaitAll(refresher.refreshDueEntries());
+
+    assertThat(stub.requestCount()).isEqualTo(1);
+    assertThat(cache.get(PLAYLIST_ID, YouTubePlaylistItemsResponse.class).items()).hasSize(3);
+  }
+
+  @Test
+  void stopsRefreshingPlaylistsThatAreNoLongerAccessed() {
+    refresher.recordAccess(PLAYLIST_ID, 50);
+    clock.advance(Duration.ofMinutes(165));
+    awaitAll(refresher.refreshDueEntries());
+
+    clock.advance(Duration.ofHours(7));
+
+    assertThat(refresher.refreshDueEntries()).isEmpty();
+    assertThat(stub.requestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void keepsExistingValueWhenUpstreamFails() {
+    YouTubePlaylistItemsResponse previous =
+        new YouTubePlaylistItemsResponse(PLAYLIST_ID, null, 0, List.of());
+    cache.put(PLAYLIST_ID, previous);
+    stub.setStatusCode(500);
+    refresher.recordAccess(PLAYLIST_ID, 50);
+
+    clock.advance(Duration.ofMinutes(165));
+    awaitAll(refresher.refreshDueEntries());
+
+    assertThat(cache.get(PLAYLIST_ID, YouTubePlaylistItemsResponse.class)).isEqualTo(previous);
+  }
+
+  private void awaitAll(List<CompletableFuture<Void>> futures) {
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
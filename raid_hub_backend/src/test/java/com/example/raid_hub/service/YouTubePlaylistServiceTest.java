@@ -0,0 +1,102 @@
+package com.example.raid_hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.example.raid_hub.youtube.YouTubeApiStub;
+import com.example.raid_hub.youtube.YouTubePlaylistItemsResponse;
+import com.example.raid_hub.youtube.YouTubePlaylistParser;
+import com.example.raid_hub.youtube.YouTubeUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class YouTubePlaylistServiceTest {
+
+  private static final String PLAYLIST_ID = "PL_PAGES";
+
+  private YouTubeApiStub stub;
+  private YouTubePlaylistService service;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new YouTubeApiStub(5);
+    service =
+        new YouTubePlaylistService(
+            new YouTubePlaylistParser(new ObjectMapper()),
+            YouTubeApiStub.client(),
+            new InMemoryPlaylistStore(),
+            mock(BlockedVideoService.class),
+            new ConcurrentMapCacheManager(),
+            new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(service, "apiKey", "test-key");
+    ReflectionTestUtils.setField(service, "apiBaseUrl", stub.baseUrl());
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.close();
+  }
+
+  @Test
+  void repeatedPageRequestIsServedFromCache() {
+    YouTubePlaylistItemsResponse first = service.fetchPlaylistItems(PLAYLIST_ID, 2, "2");
+    YouTubePlaylistItemsResponse second = service.fetchPlaylistItems(PLAYLIST_ID, 2, "2");
+
+    assertThat(second).isEqualTo(first);
+    assertThat(stub.requestCount()).isEqualTo(1);
+    // maxResults가 다르면 다른 페이지다
+    service.fetchPlaylistItems(PLAYLIST_ID, 3, "2");
+    assertThat(stub.requestCount()).isEqualTo(2);
+  }
+
+  @Test
+  void fullCrawlWarmsPageCache() {
+    service.loadAllPlaylistItems(PLAYLIST_ID, 2);
+    assertThat(stub.requestCount()).isEqualTo(3);
+
+    YouTubePlaylistItemsResponse firstPage = service.fetchPlaylistItems(PLAYLIST_ID, 2, null);
+    YouTubePlaylistItemsResponse lastPage = service.fetchPlaylistItems(PLAYLIST_ID, 2, "4");
+
+    assertThat(firstPage.nextPageToken()).isEqualTo("2");
+    assertThat(lastPage.items()).hasSize(1);
+    assertThat(stub.requestCount()).isEqualTo(3);
+  }
+
+  @Test
+  void resyncSkipsUnchangedPagesAndAppliesChanges() {
+    YouTubePlaylistItemsResponse first = service.loadAllPlaylistItems(PLAYLIST_ID, 2);
+
+    YouTubePlaylistItemsResponse unchanged = service.loadAllPlaylistItems(PLAYLIST_ID, 2);
+    assertThat(unchanged).isEqualTo(first);
+    assertThat(stub.notModifiedCount()).isEqualTo(3);
+
+    // 재생목록이 늘어나면 바뀐 페이지를 다시 받고 새 페이지를 추가한다
+    stub.setItemCount(7);
+    YouTubePlaylistItemsResponse grown = service.loadAllPlaylistItems(PLAYLIST_ID, 2);
+    assertThat(grown.items()).hasSize(7);
+    assertThat(grown.items().subList(0, 4)).isEqualTo(first.items().subList(0, 4));
+    assertThat(grown.totalResults()).isEqualTo(7);
+  }
+
+  @Test
+  void servesLastGoodResponseWhenUpstreamIsUnavailable() {
+    YouTubePlaylistItemsResponse full = service.loadAllPlaylistItems(PLAYLIST_ID, 2);
+    stub.setStatusCode(500);
+
+    assertThat(service.fallbackToStale(PLAYLIST_ID, unavailable())).isEqualTo(full);
+    assertThatThrownBy(() -> service.fetchPlaylistItems(PLAYLIST_ID, 3, null))
+        .isInstanceOf(YouTubeUnavailableException.class);
+  }
+
+  private static YouTubeUnavailableException unavailable() {
+    return new YouTubeUnavailableException(HttpStatus.SERVICE_UNAVAILABLE, "down");
+  }
+}
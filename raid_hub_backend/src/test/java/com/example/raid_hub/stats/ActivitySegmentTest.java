@@ -0,0 +1,86 @@
+package com.example.raid_hub.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.raid_hub.stats.ActivitySegment.Column;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ActivitySegmentTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void roundTripsColumnsThroughDictionary() throws IOException {
+    ActivitySegment.Writer writer = new ActivitySegment.Writer();
+    long start = 1_767_225_600_000L;
+    for (int i = 0; i < 10_000; i++) {
+      boolean search = i % 3 == 0;
+      writer.add(
+          start + i * 1_000L,
+          search ? "SEARCH" : "VIDEO_CLICK",
+          search ? null : "영상 " + (i % 50),
+          i % 2 == 0 ? "PC" : null,
+          search ? "발탄" : null);
+    }
+    // 시각이 앞 행보다 이를 수도 있다
+    writer.add(start - 5_000, "PAGE_VIEW", null, "MOBILE", null);
+    Path file = dir.resolve("segment.seg");
+    writer.writeTo(file);
+
+    ActivitySegment segment = ActivitySegment.open(file);
+    String[] dictionary = segment.dictionary();
+    long[] createdAt = segment.createdAt();
+    int[] types = segment.codes(Column.TYPE);
+    int[] targets = segment.codes(Column.TARGET);
+    int[] devices = segment.codes(Column.DEVICE);
+    int[] searches = segment.codes(Column.SEARCH);
+
+    assertThat(segment.rows()).isEqualTo(10_001);
+    assertThat(createdAt[1]).isEqualTo(start + 1_000);
+    assertThat(createdAt[10_000]).isEqualTo(start - 5_000);
+    assertThat(dictionary[types[0] - 1]).isEqualTo("SEARCH");
+    assertThat(targets[0]).isZero();
+    assertThat(dictionary[searches[0] - 1]).isEqualTo("발탄");
+    assertThat(dictionary[targets[1] - 1]).isEqualTo("영상 1");
+    assertThat(devices[1]).isZero();
+    assertThat(dictionary[devices[10_000] - 1]).isEqualTo("MOBILE");
+    // 반복되는 값이라 원본 문자열보다 훨씬 작다
+    assertThat(Files.size(file)).isLessThan(5_000);
+  }
+
+  @Test
+  void detectsBlocksThatDisagreeWithHeader() throws IOException {
+    ActivitySegment.Writer writer = new ActivitySegment.Writer();
+    for (int i = 0; i < 100; i++) {
+      writer.add(1_000L * i, "VIDEO_CLICK", "영상 " + i, "PC", null);
+    }
+    Path file = dir.resolve("segment.seg");
+    writer.writeTo(file);
+    assertThat(writer.matches(ActivitySegment.open(file))).isTrue();
+
+    // 헤더의 행 수만 바꾸면 헤더만 보는 확인은 통과하지만 블록을 풀면 맞지 않는다
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(8, 99);
+    Files.write(file, bytes);
+    ActivitySegment tampered = ActivitySegment.open(file);
+
+    assertThat(tampered.rows()).isEqualTo(99);
+    assertThatThrownBy(tampered::createdAt).isInstanceOf(IOException.class);
+    assertThatThrownBy(() -> tampered.codes(Column.TARGET)).isInstanceOf(IOException.class);
+    assertThat(writer.matches(tampered)).isFalse();
+  }
+
+  @Test
+  void rejectsOtherFiles() throws IOException {
+    Path file = dir.resolve("other.seg");
+    Files.write(file, new byte[256]);
+
+    assertThatThrownBy(() -> ActivitySegment.open(file)).isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.raid_hub.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+  @Test
+  void estimatesDistinctCountWithinErrorAndIgnoresDuplicates() {
+    HyperLogLog sketch = new HyperLogLog(12);
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 50_000; i++) {
+        sketch.add("target-" + i);
+      }
+    }
+
+    // 표준 오차 약 1.6%, 넉넉하게 5% 이내
+    assertThat((double) sketch.estimate()).isCloseTo(50_000, within(2_500.0));
+  }
+
+  @Test
+  void mergeEqualsSketchOfUnionAndSurvivesRoundTrip() {
+    HyperLogLog left = new HyperLogLog(10);
+    HyperLogLog right = new HyperLogLog(10);
+    HyperLogLog union = new HyperLogLog(10);
+    for (int i = 0; i < 3_000; i++) {
+      (i % 2 == 0 ? left : right).add("q" + i);
+      union.add("q" + i);
+    }
+
+    left.merge(HyperLogLog.fromByteArray(right.toByteArray()));
+
+    assertThat(left.toByteArray()).isEqualTo(union.toByteArray());
+    assertThat(new HyperLogLog(10).estimate()).isZero();
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.raid_hub.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.raid_hub.stats.SpaceSavingSketch.Counter;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingSketchTest {
+
+  @Test
+  void keepsHeavyHittersWithinFixedCapacity() {
+    SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+    for (int i = 0; i < 10_000; i++) {
+      sketch.add(i % 4 == 0 ? "발탄" : i % 5 == 0 ? "비아키스" : "long-tail-" + i);
+    }
+
+    assertThat(sketch.size()).isEqualTo(10);
+    assertThat(sketch.top(2)).extracting(Counter::key).containsExactly("발탄", "비아키스");
+    Counter top = sketch.top(1).get(0);
+    // 실제 빈도 2500은 [count - error, count] 안에 있다
+    assertThat(top.count() - top.error()).isLessThanOrEqualTo(2_500);
+    assertThat(top.count()).isGreaterThanOrEqualTo(2_500);
+  }
+}
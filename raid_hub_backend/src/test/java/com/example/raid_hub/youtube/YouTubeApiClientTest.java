@@ -0,0 +1,79 @@
+package com.example.raid_hub.youtube;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class YouTubeApiClientTest {
+
+  private YouTubeApiStub stub;
+  private URI uri;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new YouTubeApiStub(3);
+    uri = URI.create(stub.baseUrl() + "/playlistItems?playlistId=PL1");
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.close();
+  }
+
+  @Test
+  void retriesServerErrorsUntilSuccess() {
+    YouTubeApiClient client = YouTubeApiStub.client(3, 5, Duration.ofSeconds(30));
+    stub.failNext(2);
+
+    String body = client.get(uri, in -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+
+    assertThat(body).contains("vid0");
+    assertThat(stub.requestCount()).isEqualTo(3);
+  }
+
+  @Test
+  void clientErrorsAreNotRetried() {
+    YouTubeApiClient client = YouTubeApiStub.client(3, 5, Duration.ofSeconds(30));
+    stub.setStatusCode(404);
+
+    assertThatThrownBy(() -> client.get(uri, in -> "ok"))
+        .isInstanceOf(ResponseStatusException.class)
+        .isNotInstanceOf(YouTubeUnavailableException.class);
+    assertThat(stub.requestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void circuitOpensAfterConsecutiveFailuresAndRecoversAfterTrialCall() throws Exception {
+    YouTubeApiClient client = YouTubeApiStub.client(1, 2, Duration.ofMillis(200));
+    stub.setStatusCode(500);
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> client.get(uri, in -> "ok"))
+          .isInstanceOf(YouTubeUnavailableException.class);
+    }
+    // open 상태에서는 업스트림을 호출하지 않는다
+    assertThatThrownBy(() -> client.get(uri, in -> "ok"))
+        .isInstanceOfSatisfying(
+            YouTubeUnavailableException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(stub.requestCount()).isEqualTo(2);
+
+    stub.setStatusCode(200);
+    Thread.sleep(250);
+
+    String halfOpen = client.get(uri, in -> "ok");
+    String closed = client.get(uri, in -> "ok");
+    assertThat(halfOpen).isEqualTo("ok");
+    assertThat(closed).isEqualTo("ok");
+    assertThat(stub.requestCount()).isEqualTo(4);
+  }
+}
@@ -0,0 +1,164 @@
+package com.example.raid_hub.youtube;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 로컬 YouTube Data API 스텁. /playlistItems 요청에 페이지 단위 응답을 돌려준다.
+ *
+ * <p>재생목록은 itemCount개의 영상으로 이루어지며, 각 영상 제목에 version이 들어가므로 갱신 여부를 확인할 수 있다.
+ */
+public class YouTubeApiStub implements AutoCloseable {
+
+  private final HttpServer server;
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private final AtomicInteger notModifiedCount = new AtomicInteger();
+  private volatile int itemCount;
+  private volatile int version = 1;
+  private volatile int statusCode = 200;
+  private final AtomicInteger failuresRemaining = new AtomicInteger();
+
+  public YouTubeApiStub(int itemCount) throws IOException {
+    this.itemCount = itemCount;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/playlistItems", this::handle);
+    this.server.start();
+  }
+
+  /** 테스트용 클라이언트. 재시도 없이 한 번만 호출한다. */
+  public static YouTubeApiClient client() {
+    return client(1, 5, Duration.ofSeconds(30));
+  }
+
+  public static YouTubeApiClient client(
+      int maxAttempts, int failureThreshold, Duration openDuration) {
+    return new YouTubeApiClient(
+        new SimpleMeterRegistry(),
+        Duration.ofSeconds(2),
+        Duration.ofSeconds(5),
+        4,
+        Duration.ofMillis(100),
+        maxAttempts,
+        Duration.ofMillis(10),
+        failureThreshold,
+        openDuration);
+  }
+
+  public String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  public int requestCount() {
+    return requestCount.get();
+  }
+
+  /** If-None-Match가 일치해 304로 응답한 횟수 */
+  public int notModifiedCount() {
+    return notModifiedCount.get();
+  }
+
+  public void setVersion(int version) {
+    this.version = version;
+  }
+
+  public void setItemCount(int itemCount) {
+    this.itemCount = itemCount;
+  }
+
+  public void setStatusCode(int statusCode) {
+    this.statusCode = statusCode;
+  }
+
+  /** 다음 count번의 요청에만 503을 돌려준다. */
+  public void failNext(int count) {
+    failuresRemaining.set(count);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+    if (failuresRemaining.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+    if (statusCode != 200) {
+      exchange.sendResponseHeaders(statusCode, -1);
+      exchange.close();
+      return;
+    }
+
+    int pageSize = Integer.parseInt(query.getOrDefault("maxResults", "50"));
+    int start = Integer.parseInt(query.getOrDefault("pageToken", "0"));
+    int end = Math.min(start + pageSize, itemCount);
+
+    // 페이지 내용(버전, 범위, 전체 개수)이 같으면 etag도 같다
+    String etag = "v" + version + "-" + start + "-" + end + "-" + itemCount;
+    if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      notModifiedCount.incrementAndGet();
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+
+    StringBuilder json = new StringBuilder("{\"etag\":\"").append(etag).append("\",\"items\":[");
+    for (int i = start; i < end; i++) {
+      if (i > start) {
+        json.append(',');
+      }
+      json.append("{\"snippet\":{\"title\":\"video ")
+          .append(i)
+          .append(" v")
+          .append(version)
+          .append("\",\"position\":")
+          .append(i)
+          .append("},\"contentDetails\":{\"videoId\":\"vid")
+          .append(i)
+          .append("\"}}");
+    }
+    json.append("],\"pageInfo\":{\"totalResults\":").append(itemCount).append('}');
+    if (end < itemCount) {
+      json.append(",\"nextPageToken\":\"").append(end).append('"');
+    }
+    json.append('}');
+
+    byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> params = new HashMap<>();
+    if (rawQuery == null) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      if (eq > 0) {
+        params.put(
+            pair.substring(0, eq),
+            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return params;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.raid_hub.youtube;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class YouTubePlaylistParserTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final YouTubePlaylistParser parser = new YouTubePlaylistParser(objectMapper);
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "playlist-page-first.json",
+        "playlist-page-last.json",
+        "playlist-page-edge-cases.json",
+        "playlist-page-no-items.json"
+      })
+  void streamingParseMatchesTreeParse(String fixture) throws IOException {
+    YouTubePlaylistItemsResponse expected;
+    try (InputStream in = open(fixture)) {
+      expected = parser.parse(objectMapper.readTree(in), "PL_TEST");
+    }
+
+    YouTubePlaylistItemsResponse actual;
+    try (InputStream in = open(fixture)) {
+      actual = parser.parse(in, "PL_TEST");
+    }
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  void parsesRegularPage() throws IOException {
+    YouTubePlaylistItemsResponse response;
+    try (InputStream in = open("playlist-page-first.json")) {
+      response = parser.parse(in, "PL_TEST");
+    }
+
+    assertThat(response.nextPageToken()).isEqualTo("EAAaBlBUOkNESQ");
+    assertThat(response.totalResults()).isEqualTo(3);
+    assertThat(response.items())
+        .containsExactly(
+            new YouTubePlaylistItem(
+                "dQw4w9WgXcQ",
+                "[카멘] 하드 4관문 공략 | 패턴 총정리",
+                "레이드 공략 채널",
+                "https://i.ytimg.com/vi/dQw4w9WgXcQ/hqdefault.jpg",
+                0,
+                "2025-01-14T09:12:33Z"),
+            new YouTubePlaylistItem(
+                "9bZkp7q19f0",
+                "(1막)에기르 노말 1관문 \"기믹\" 정리",
+                "레이드 공략 채널",
+                "https://i.ytimg.com/vi/9bZkp7q19f0/mqdefault.jpg",
+                1,
+                "2025-01-15T20:45:00Z"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "[]", "null", "\"text\""})
+  void nonObjectRootMatchesTreeParse(String body) throws IOException {
+    YouTubePlaylistItemsResponse expected = parser.parse(objectMapper.readTree(body), "PL_TEST");
+    YouTubePlaylistItemsResponse actual =
+        parser.parse(
+            new java.io.ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "PL_TEST");
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private InputStream open(String fixture) {
+    InputStream in = getClass().getResourceAsStream("/youtube/" + fixture);
+    assertThat(in).as("fixture %s", fixture).isNotNull();
+    return in;
+  }
+}
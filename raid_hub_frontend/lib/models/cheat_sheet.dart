@@ -7,6 +7,8 @@ class CheatSheet {
   final String gate;
   final String uploaderName;
   final String imageUrl;
+  final String? thumbnailUrl; // 목록용 축소 이미지 (생성 전이면 null)
+  final String? mediumUrl; // 상세 보기용 중간 크기 이미지
   final DateTime? createdAt; // 추가
 
   CheatSheet({
@@ -16,6 +18,8 @@ class CheatSheet {
     required this.gate,
     required this.uploaderName,
     required this.imageUrl,
+    this.thumbnailUrl,
+    this.mediumUrl,
     this.createdAt,
   });
 
@@ -27,6 +31,8 @@ class CheatSheet {
       gate: json['gate'] ?? '',
       uploaderName: json['uploaderName'] ?? '알 수 없음',
       imageUrl: json['imageUrl'] ?? '',
+      thumbnailUrl: json['thumbnailUrl'],
+      mediumUrl: json['mediumUrl'],
       createdAt: json['createdAt'] != null
           ? DateTime.parse(json['createdAt'])
           : null,
@@ -38,4 +44,10 @@ class CheatSheet {
     final baseUrl = dotenv.env['API_BASE_URL'] ?? 'http://localhost:8080';
     return '$baseUrl$imageUrl';
   }
+
+  // 카드 목록에서는 썸네일, 없으면 원본
+  String get cardImageUrl {
+    final baseUrl = dotenv.env['API_BASE_URL'] ?? 'http://localhost:8080';
+    return '$baseUrl${thumbnailUrl ?? imageUrl}';
+  }
 }
@@ -1,3 +1,4 @@
+import 'dart:async';
 import 'dart:convert';
 import 'package:flutter/foundation.dart';
 import 'package:http/http.dart' as http;
@@ -61,22 +62,18 @@ class ApiService {
     required String fileName,
   }) async {
     try {
-      var request = http.MultipartRequest(
-        'POST',
-        Uri.parse('$_apiBaseUrl/cheatsheets'),
-      );
-      request.fields['title'] = title;
-      request.fields['raidName'] = raidName;
-      request.fields['gate'] = gate;
-      request.fields['uploaderName'] = uploaderName; // Added
-
-      // 파일 추가
-      var multipartFile = http.MultipartFile.fromBytes(
-        'file',
-        fileBytes,
-        filename: fileName,
+      // 이미지 바이트를 본문 그대로 보낸다 (서버가 multipart 임시 파일 없이 바로 저장)
+      final uri = Uri.parse('$_apiBaseUrl/cheatsheets/stream').replace(
+        queryParameters: {
+          'title': title,
+          'raidName': raidName,
+          'gate': gate,
+          'uploaderName': uploaderName,
+        },
       );
-      request.files.add(multipartFile);
+      var request = http.Request('POST', uri);
+      request.headers['Content-Type'] = 'application/octet-stream';
+      request.bodyBytes = fileBytes;
 
       // 브라우저 클라이언트 설정 (쿠키/자격증명 전송을 위함)
       if (_client is BrowserClient) {
@@ -350,34 +347,56 @@ class ApiService {
   }
 
   // --- Statistics & Insights APIs ---
+  // 활동 로그는 모아서 한 번에 보낸다 (클릭마다 요청하지 않도록)
+  static const int _logFlushSize = 20;
+  static const Duration _logFlushDelay = Duration(seconds: 5);
+  static final List<Map<String, dynamic>> _pendingLogs = [];
+  static Timer? _logFlushTimer;
+
   Future<void> logActivity({
     required String activityType,
     String? targetTitle,
     String? searchQuery,
   }) async {
-    try {
-      // 기기 유형 판별 (기본적으로 PC, 모바일 플랫폼이면 MOBILE)
-      String deviceType = 'PC';
-      
-      if (!kIsWeb) {
+    // 기기 유형 판별 (기본적으로 PC, 모바일 플랫폼이면 MOBILE)
+    String deviceType = 'PC';
+
+    if (!kIsWeb) {
+      deviceType = 'MOBILE';
+    } else {
+      // 웹 환경에서 모바일 기기인지 체크
+      if (defaultTargetPlatform == TargetPlatform.iOS ||
+          defaultTargetPlatform == TargetPlatform.android) {
         deviceType = 'MOBILE';
-      } else {
-        // 웹 환경에서 모바일 기기인지 체크
-        if (defaultTargetPlatform == TargetPlatform.iOS || 
-            defaultTargetPlatform == TargetPlatform.android) {
-          deviceType = 'MOBILE';
-        }
       }
+    }
 
+    _pendingLogs.add({
+      'activityType': activityType,
+      'targetTitle': targetTitle,
+      'searchQuery': searchQuery,
+      'deviceType': deviceType,
+    });
+
+    if (_pendingLogs.length >= _logFlushSize) {
+      await flushActivityLogs();
+    } else {
+      _logFlushTimer ??= Timer(_logFlushDelay, flushActivityLogs);
+    }
+  }
+
+  Future<void> flushActivityLogs() async {
+    _logFlushTimer?.cancel();
+    _logFlushTimer = null;
+    if (_pendingLogs.isEmpty) return;
+
+    final batch = List<Map<String, dynamic>>.of(_pendingLogs);
+    _pendingLogs.clear();
+    try {
       await _client.post(
-        Uri.parse('$_apiBaseUrl/stats/log'),
+        Uri.parse('$_apiBaseUrl/stats/log/batch'),
         headers: {'Content-Type': 'application/json'},
-        body: jsonEncode({
-          'activityType': activityType,
-          'targetTitle': targetTitle,
-          'searchQuery': searchQuery,
-          'deviceType': deviceType,
-        }),
+        body: jsonEncode(batch),
       );
     } catch (e) {
       debugPrint('Silent log error: $e');
@@ -40,7 +40,7 @@ class CheatSheetCard extends StatelessWidget {
               children: [
                 Expanded(
                   child: Image.network(
-                    cheatSheet.fullImageUrl,
+                    cheatSheet.cardImageUrl,
                     fit: BoxFit.cover,
                     errorBuilder: (ctx, _, __) =>
                         const Center(child: Icon(Icons.broken_image, size: 50)),